@@ -112,6 +112,10 @@ public class DefaultUserAccountService
 
     tenantRepo.save(tenant);
 
+    if (userIsPresent) {
+      eventPublisher.publishEvent(new AppEvent(this, userId, EventType.USER_MODIFIED));
+    }
+
     return userIsPresent;
   }
 
@@ -330,7 +334,9 @@ public class DefaultUserAccountService
       User user = create(username, provider, subject, isTechnicalUser);
       TenantUser tenantUser = TenantUser.createTenantUser(tenant, userRoles);
       user.addTenantUser(tenantUser);
-      return userRepository.save(user);
+      User savedUser = userRepository.save(user);
+      eventPublisher.publishEvent(new AppEvent(this, username, EventType.USER_ADDED));
+      return savedUser;
     }
   }
 
@@ -345,7 +351,9 @@ public class DefaultUserAccountService
     roles.forEach(role -> userRoles.removeIf(e -> role == e.getRole()));
     user.setRoles(tenantId, userRoles);
 
-    return userRepository.save(user);
+    User savedUser = userRepository.save(user);
+    eventPublisher.publishEvent(new AppEvent(this, userName, EventType.USER_MODIFIED));
+    return savedUser;
   }
 
   @Override
@@ -383,6 +391,7 @@ public class DefaultUserAccountService
   @Override
   public void saveUser(User user) {
     this.userRepository.save(user);
+    eventPublisher.publishEvent(new AppEvent(this, user.getUsername(), EventType.USER_MODIFIED));
   }
 
   @Override
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.actuator;
+
+import java.util.Arrays;
+import java.util.Collection;
+import org.eclipse.vorto.repository.core.impl.JcrSessionPool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the usage of the pool of JCR read sessions on the metrics endpoint
+ */
+@Component
+public class JcrSessionPoolMetrics implements PublicMetrics {
+
+  private static final String PREFIX = "repository.sessionPool.";
+
+  private JcrSessionPool sessionPool;
+
+  public JcrSessionPoolMetrics(@Autowired JcrSessionPool sessionPool) {
+    this.sessionPool = sessionPool;
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    JcrSessionPool.Statistics statistics = sessionPool.getStatistics();
+    return Arrays.asList(new Metric<Integer>(PREFIX + "idle", statistics.getIdle()),
+        new Metric<Integer>(PREFIX + "active", statistics.getActive()),
+        new Metric<Long>(PREFIX + "hits", statistics.getHits()),
+        new Metric<Long>(PREFIX + "misses", statistics.getMisses()),
+        new Metric<Long>(PREFIX + "evictions", statistics.getEvictions()));
+  }
+}
@@ -12,6 +12,8 @@
  */
 package org.eclipse.vorto.repository.backup;
 
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.function.Predicate;
 import org.eclipse.vorto.repository.domain.Tenant;
@@ -25,6 +27,16 @@ public interface IBackupRestoreService {
    * @return a byte array for a zip file that contains the backup
    */
   byte[] createBackup(Predicate<Tenant> tenantFilter);
+
+  /**
+   * Writes a zipped backup for tenants who passed the tenantFilter to the given stream. The
+   * tenants are exported one after the other straight into the zip, so the backup is never held
+   * in memory. The stream is not closed.
+   * 
+   * @param tenantFilter a predicate that determines who among the tenants are placed in the backup
+   * @param out the stream to write the zip file to, e.g. a file or the response of a request
+   */
+  void createBackup(Predicate<Tenant> tenantFilter, OutputStream out);
   
   /**
    * Restores the given backup file to its tenants
@@ -35,4 +47,16 @@ public interface IBackupRestoreService {
    * @return collection of tenants restored
    */
   Collection<Tenant> restoreRepository(byte[] backupFile, Predicate<Tenant> tenantFilter);
+
+  /**
+   * Restores the given backup file to its tenants. The backup of each tenant is read from the file
+   * while it is imported, and tenants are restored concurrently. Only the models of the restored
+   * tenants are reindexed.
+   * 
+   * @param backupFile the zipped backup file
+   * @param tenantFilter a filter for which tenants to restore. If you want to restore to all tenants, 
+   * pass a predicate that returns true
+   * @return collection of tenants restored
+   */
+  Collection<Tenant> restoreRepository(Path backupFile, Predicate<Tenant> tenantFilter);
 }
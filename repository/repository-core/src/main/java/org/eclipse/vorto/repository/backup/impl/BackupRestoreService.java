@@ -12,20 +12,34 @@
  */
 package org.eclipse.vorto.repository.backup.impl;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.repository.backup.IBackupRestoreService;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
@@ -33,11 +47,12 @@ import org.eclipse.vorto.repository.core.IRepositoryManager;
 import org.eclipse.vorto.repository.domain.Tenant;
 import org.eclipse.vorto.repository.search.IIndexingService;
 import org.eclipse.vorto.repository.tenant.ITenantService;
-import org.eclipse.vorto.repository.utils.ZipUtils;
 import org.eclipse.vorto.repository.web.GenericApplicationException;
-import org.modeshape.common.collection.ImmutableMapEntry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import com.google.common.base.Preconditions;
@@ -48,6 +63,8 @@ public class BackupRestoreService implements IBackupRestoreService {
 
   private static Logger logger = Logger.getLogger(BackupRestoreService.class);
   
+  private static final int DEFAULT_RESTORE_PARALLELISM = 2;
+  
   private static Function<Tenant, String> tenantSignature = (tenant) -> 
     tenant.getNamespaces().iterator().next().getName();
   
@@ -56,6 +73,12 @@ public class BackupRestoreService implements IBackupRestoreService {
   private ITenantService tenantService;
   
   private IIndexingService indexingService;
+
+  @Value("${repo.backup.compressionLevel:-1}")
+  private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+  @Value("${repo.backup.restoreParallelism:2}")
+  private int restoreParallelism = DEFAULT_RESTORE_PARALLELISM;
   
   private Supplier<Authentication> authSupplier = 
       () -> SecurityContextHolder.getContext().getAuthentication();
@@ -69,108 +92,249 @@ public class BackupRestoreService implements IBackupRestoreService {
   
   @Override
   public byte[] createBackup(Predicate<Tenant> tenantFilter) {
-    return createZippedInputStream(createBackups(tenantFilter));
-  }
-  
-  private Map<String, byte[]> createBackups(Predicate<Tenant> tenantFilter) {
-    return createBackups(tenantService.getTenants()
-        .stream()
-        .filter(tenantFilter)
-        .collect(Collectors.toList()));
-  }
-  
-  private Map<String, byte[]> createBackups(Collection<Tenant> tenants) {
-  return tenants.stream()
-      .map(tenant -> 
-        new ImmutableMapEntry<String, byte[]>(
-            tenantSignature.apply(tenant), 
-            modelRepositoryFactory.getRepositoryManager(tenant.getTenantId(), authSupplier.get()).backup())
-      ).collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue()));
-  }
-  
-  private byte[] createZippedInputStream(Map<String, byte[]> backups) {
     ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    ZipOutputStream zos = new ZipOutputStream(baos);
+    createBackup(tenantFilter, baos);
+    return baos.toByteArray();
+  }
 
-    try {
-      for(Map.Entry<String, byte[]> entry : backups.entrySet()) {
-        ZipEntry zipEntry = new ZipEntry(entry.getKey() + ".xml");
-        zos.putNextEntry(zipEntry);
-        zos.write(entry.getValue());
+  @Override
+  public void createBackup(Predicate<Tenant> tenantFilter, OutputStream out) {
+    Collection<Tenant> tenants =
+        tenantService.getTenants().stream().filter(tenantFilter).collect(Collectors.toList());
+    Authentication authentication = authSupplier.get();
+
+    try (ZipOutputStream zos = new ZipOutputStream(new CloseShieldOutputStream(out))) {
+      zos.setLevel(compressionLevel);
+      for (Tenant tenant : tenants) {
+        logger.info("Creating backup for '" + tenant.getTenantId() + "'");
+        zos.putNextEntry(new ZipEntry(tenantSignature.apply(tenant) + ".xml"));
+        modelRepositoryFactory.getRepositoryManager(tenant.getTenantId(), authentication)
+            .backup(zos);
         zos.closeEntry();
       }
-
-      zos.close();
-      baos.close();
-
-      return baos.toByteArray();
-
-    } catch (Exception ex) {
+      zos.finish();
+      out.flush();
+    } catch (IOException ex) {
       throw new GenericApplicationException("Error while generating zip file.", ex);
     }
   }
-  
+
   @Override
   public Collection<Tenant> restoreRepository(byte[] backupFile, Predicate<Tenant> tenantFilter) {
     Preconditions.checkNotNull(backupFile, "backupFile must not be null");
+    Path file = null;
     try {
-      Collection<Tenant> tenantsRestored = Lists.newArrayList();
-      Map<String, byte[]> backups = getBackups(backupFile);
+      file = Files.createTempFile("vorto-backup-", ".zip");
+      Files.write(file, backupFile);
+      return restoreRepository(file, tenantFilter);
+    } catch (IOException e) {
+      throw new GenericApplicationException("Problem while reading zip file during restore", e);
+    } finally {
+      deleteTempFile(file);
+    }
+  }
+
+  @Override
+  public Collection<Tenant> restoreRepository(Path backupFile, Predicate<Tenant> tenantFilter) {
+    Preconditions.checkNotNull(backupFile, "backupFile must not be null");
+    Authentication authentication = authSupplier.get();
+    
+    try (ZipFile zipFile = new ZipFile(backupFile.toFile())) {
+      Map<ZipEntry, Tenant> backups = getBackups(zipFile, tenantFilter);
+      if (backups.isEmpty()) {
+        return Collections.emptyList();
+      }
       
-      backups.forEach((namespace, backup) -> {
-        logger.info("Restoring backup for '" + namespace + "'");
-        Optional<Tenant> tenant = tenantService.getTenantFromNamespace(namespace);
-        if (tenant.isPresent() && tenantFilter.test(tenant.get())) {
+      ExecutorService executor =
+          restoreExecutor(Math.min(restoreParallelism, backups.size()), authentication);
+      Map<Tenant, Future<Boolean>> tasks = new LinkedHashMap<>();
+      try {
+        backups.forEach((entry, tenant) -> tasks.put(tenant,
+            executor.submit(() -> restoreTenant(zipFile, entry, tenant, authentication))));
+        
+        Collection<Tenant> tenantsRestored = Lists.newArrayList();
+        for (Map.Entry<Tenant, Future<Boolean>> task : tasks.entrySet()) {
           try {
-            String tenantId = tenant.get().getTenantId();
-            IRepositoryManager repoMgr = modelRepositoryFactory.getRepositoryManager(tenantId, authSupplier.get()); 
-            
-            if (!repoMgr.isWorkspaceExist(tenantId)) {
-              repoMgr.createTenantWorkspace(tenantId);
-            } else {
-              repoMgr.removeTenantWorkspace(tenantId);
-              repoMgr.createTenantWorkspace(tenantId);
+            if (task.getValue().get()) {
+              tenantsRestored.add(task.getKey());
             }
-            
-            repoMgr.restore(backup);
-            this.modelRepositoryFactory.getPolicyManager(tenantId, SecurityContextHolder.getContext().getAuthentication()).restorePolicyEntries();
-            tenantsRestored.add(tenant.get());
-          } catch (Exception e) {
-            logger.error("Error in restoration of '" + namespace + "'", e);
+          } catch (ExecutionException e) {
+            logger.error("Error in restoration of '" + task.getKey().getTenantId() + "'",
+                e.getCause());
           }
-        } else {
-          logger.info("Skipping restoration of '" + namespace + "' either because the tenant could not be found, or is filtered.");
         }
-      });
-            
-      if (!tenantsRestored.isEmpty()) {
-        indexingService.reindexAllModels();
+        return tenantsRestored;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new GenericApplicationException("Interrupted while restoring backup", e);
+      } finally {
+        executor.shutdownNow();
       }
       
-      return tenantsRestored;
-      
     } catch (IOException e) {
       throw new GenericApplicationException("Problem while reading zip file during restore", e);
     }
   }
   
-  private Map<String, byte[]> getBackups(byte[] file) throws IOException {
-    Map<String, byte[]> backups = new HashMap<>();
+  /**
+   * @return the backup of each tenant in the zip file, which passed the tenantFilter
+   */
+  private Map<ZipEntry, Tenant> getBackups(ZipFile zipFile, Predicate<Tenant> tenantFilter) {
+    Map<ZipEntry, Tenant> backups = new LinkedHashMap<>();
     
-    ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(file));
-    ZipEntry entry = null;
-    
-    while ((entry = zis.getNextEntry()) != null) {
+    Enumeration<? extends ZipEntry> entries = zipFile.entries();
+    while (entries.hasMoreElements()) {
+      ZipEntry entry = entries.nextElement();
       if (!entry.isDirectory()
           && !entry.getName().substring(entry.getName().lastIndexOf("/") + 1).startsWith(".")) {
         String namespace = entry.getName().substring(entry.getName().lastIndexOf("/") + 1).replace(".xml", "");
-        backups.put(namespace, ZipUtils.copyStream(zis, entry));
+        Optional<Tenant> tenant = tenantService.getTenantFromNamespace(namespace);
+        if (tenant.isPresent() && backups.containsValue(tenant.get())) {
+          logger.warn("Skipping restoration of '" + namespace + "' because '"
+              + tenant.get().getTenantId() + "' has already been restored from another backup.");
+        } else if (tenant.isPresent() && tenantFilter.test(tenant.get())) {
+          backups.put(entry, tenant.get());
+        } else {
+          logger.info("Skipping restoration of '" + namespace + "' either because the tenant could not be found, or is filtered.");
+        }
       }
     }
     
     return backups;
   }
   
+  /**
+   * Replaces the workspace of the tenant with its backup, and reindexes the models of the tenant.
+   * If the backup cannot be restored, the previous content of the workspace is restored from a
+   * snapshot kept in a temporary file.
+   * 
+   * @return true, if the backup of the tenant was restored
+   */
+  private boolean restoreTenant(ZipFile zipFile, ZipEntry entry, Tenant tenant,
+      Authentication authentication) {
+    String tenantId = tenant.getTenantId();
+    logger.info("Restoring backup for '" + tenantId + "'");
+    IRepositoryManager repoMgr = modelRepositoryFactory.getRepositoryManager(tenantId, authentication);
+    
+    Path snapshot = null;
+    try {
+      if (!repoMgr.isWorkspaceExist(tenantId)) {
+        repoMgr.createTenantWorkspace(tenantId);
+      } else {
+        snapshot = Files.createTempFile("vorto-rollback-" + tenantId + "-", ".xml");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(snapshot))) {
+          repoMgr.backup(out);
+        }
+        repoMgr.removeTenantWorkspace(tenantId);
+        repoMgr.createTenantWorkspace(tenantId);
+      }
+      
+      try (InputStream in = new BufferedInputStream(zipFile.getInputStream(entry))) {
+        restoreWorkspace(repoMgr, tenantId, in, authentication);
+      } catch (Exception e) {
+        logger.error("Error in restoration of '" + tenantId + "'", e);
+        if (snapshot != null) {
+          rollback(repoMgr, tenantId, snapshot, authentication);
+        }
+        return false;
+      }
+    } catch (Exception e) {
+      logger.error("Error in restoration of '" + tenantId + "'", e);
+      return false;
+    } finally {
+      deleteTempFile(snapshot);
+    }
+    
+    reindexTenant(tenantId);
+    return true;
+  }
+  
+  private void restoreWorkspace(IRepositoryManager repoMgr, String tenantId, InputStream data,
+      Authentication authentication) {
+    // the workspace has just been created, its previous content is kept by restoreTenant
+    repoMgr.restoreWithoutSnapshot(data);
+    modelRepositoryFactory.getPolicyManager(tenantId, authentication).restorePolicyEntries();
+  }
+  
+  private void rollback(IRepositoryManager repoMgr, String tenantId, Path snapshot,
+      Authentication authentication) {
+    logger.info("Reverting '" + tenantId + "' to its previous content");
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(snapshot))) {
+      if (repoMgr.isWorkspaceExist(tenantId)) {
+        repoMgr.removeTenantWorkspace(tenantId);
+      }
+      repoMgr.createTenantWorkspace(tenantId);
+      restoreWorkspace(repoMgr, tenantId, in, authentication);
+      logger.info("Reverted '" + tenantId + "' succesfully");
+    } catch (Exception e) {
+      logger.error("Revert of '" + tenantId + "' unsuccesfull", e);
+    }
+  }
+  
+  /**
+   * Replaces the search index of the tenant with its restored models, so that the other tenants
+   * need not be reindexed.
+   */
+  private void reindexTenant(String tenantId) {
+    try {
+      int indexed = indexingService.reindexTenant(tenantId);
+      logger.info(String.format("Indexed %d restored models of tenant '%s'", indexed, tenantId));
+    } catch (RuntimeException e) {
+      logger.error("Error while indexing the restored models of '" + tenantId + "'", e);
+    }
+  }
+  
+  /**
+   * @return an executor running the restoration of tenants with the given authentication, which
+   *         is also used to reindex the restored models
+   */
+  private ExecutorService restoreExecutor(int parallelism, Authentication authentication) {
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(parallelism, 1), runnable -> {
+      Thread thread = new Thread(runnable, "restore-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+    securityContext.setAuthentication(authentication);
+    return new DelegatingSecurityContextExecutorService(executor, securityContext);
+  }
+  
+  private static void deleteTempFile(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      logger.warn("Could not delete temporary file " + file, e);
+    }
+  }
+  
+  public int getCompressionLevel() {
+    return compressionLevel;
+  }
+
+  /**
+   * @param compressionLevel the compression level of backups, from 0 (no compression) to 9 (best
+   *        compression), or -1 for the default level
+   */
+  public void setCompressionLevel(int compressionLevel) {
+    this.compressionLevel = compressionLevel;
+  }
+
+  public int getRestoreParallelism() {
+    return restoreParallelism;
+  }
+
+  /**
+   * @param restoreParallelism number of tenants restored concurrently
+   */
+  public void setRestoreParallelism(int restoreParallelism) {
+    Preconditions.checkArgument(restoreParallelism > 0, "restoreParallelism must be positive.");
+    this.restoreParallelism = restoreParallelism;
+  }
+
   public Supplier<Authentication> getAuthSupplier() {
     return authSupplier;
   }
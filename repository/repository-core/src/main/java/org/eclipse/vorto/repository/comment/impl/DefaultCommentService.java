@@ -15,7 +15,9 @@ package org.eclipse.vorto.repository.comment.impl;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.jcr.PathNotFoundException;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.account.IUserAccountService;
@@ -87,13 +89,12 @@ public class DefaultCommentService implements ICommentService {
       recipients.add(c.getAuthor());
     }
 
-    recipients.stream().filter(recipient -> !User.USER_ANONYMOUS.equalsIgnoreCase(recipient)).forEach(recipient -> { 
-      User user = accountService.getUser(recipient);
-      if (user != null) {
-        notificationService.sendNotification(
-            new CommentReplyMessage(user, model, comment.getContent()));
-      } 
-    });
+    List<User> users = recipients.stream()
+        .filter(recipient -> !User.USER_ANONYMOUS.equalsIgnoreCase(recipient))
+        .map(accountService::getUser).filter(Objects::nonNull).collect(Collectors.toList());
+
+    CommentReplyMessage.forRecipients(users, model, comment.getContent())
+        .forEach(notificationService::sendNotification);
   }
 
   public List<Comment> getCommentsforModelId(ModelId modelId) {
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.conversion;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.model.ModelContent;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.plugin.generator.adapter.ObjectMapperFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches resolved {@link ModelContent}s per model id and target platform key.
+ *
+ * Contents are kept in their serialized JSON form, which bounds the cache by size in bytes and
+ * hands out an independent copy on every lookup. Each entry remembers all models (dependencies
+ * and mappings) it was resolved from and is evicted as soon as a model event concerns one of
+ * them.
+ */
+@Component
+public class ModelContentCache implements ApplicationListener<AppEvent> {
+
+  private static Logger logger = Logger.getLogger(ModelContentCache.class);
+
+  private final Cache<String, CacheEntry> cache;
+
+  @Autowired
+  public ModelContentCache(@Value("${repo.cache.modelContent.maxBytes:52428800}") long maxBytes,
+      @Value("${repo.cache.modelContent.expireAfterSeconds:3600}") long expireAfterSeconds) {
+    this.cache = CacheBuilder.newBuilder().maximumWeight(maxBytes)
+        .weigher((String key, CacheEntry entry) -> entry.content.length)
+        .expireAfterWrite(expireAfterSeconds, TimeUnit.SECONDS).build();
+  }
+
+  public Optional<ModelContent> get(ModelId modelId, Optional<String> platformKey) {
+    CacheEntry entry = cache.getIfPresent(createKey(modelId, platformKey));
+    if (entry == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(ObjectMapperFactory.getInstance().readValue(entry.content,
+          ModelContent.class));
+    } catch (IOException e) {
+      logger.warn("Could not read cached model content of " + modelId.getPrettyFormat(), e);
+      cache.invalidate(createKey(modelId, platformKey));
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @param modelId the root model of the content
+   * @param platformKey target platform key the content was resolved for
+   * @param content the resolved content
+   * @param resolvedFrom all models that were used to resolve the content
+   */
+  public void put(ModelId modelId, Optional<String> platformKey, ModelContent content,
+      Collection<ModelId> resolvedFrom) {
+    try {
+      Set<String> modelIds = resolvedFrom.stream().map(ModelId::getPrettyFormat)
+          .collect(Collectors.toCollection(HashSet::new));
+      modelIds.add(modelId.getPrettyFormat());
+      cache.put(createKey(modelId, platformKey), new CacheEntry(
+          ObjectMapperFactory.getInstance().writeValueAsBytes(content), modelIds));
+    } catch (IOException e) {
+      logger.warn("Could not cache model content of " + modelId.getPrettyFormat(), e);
+    }
+  }
+
+  /**
+   * Evicts all contents that were resolved from the given model
+   *
+   * @param modelId
+   */
+  public void invalidate(ModelId modelId) {
+    final String prettyFormat = modelId.getPrettyFormat();
+    cache.asMap().values().removeIf(entry -> entry.resolvedFrom.contains(prettyFormat));
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    if (event.getEventType() == EventType.MODEL_CREATED
+        || event.getEventType() == EventType.MODEL_UPDATED
+        || event.getEventType() == EventType.MODEL_DELETED) {
+      Object subject = event.getSubject();
+      if (subject instanceof ModelInfo) {
+        // a new or changed model invalidates all contents it is part of as well as the contents
+        // of the models it references, e.g. a new mapping for one of them
+        ModelInfo modelInfo = (ModelInfo) subject;
+        invalidate(modelInfo.getId());
+        modelInfo.getReferences().forEach(this::invalidate);
+      } else if (subject instanceof ModelId) {
+        invalidate((ModelId) subject);
+      } else {
+        invalidateAll();
+      }
+    }
+  }
+
+  private static String createKey(ModelId modelId, Optional<String> platformKey) {
+    return modelId.getPrettyFormat() + "|" + platformKey.orElse("");
+  }
+
+  private static class CacheEntry {
+    private final byte[] content;
+    private final Set<String> resolvedFrom;
+
+    CacheEntry(byte[] content, Set<String> resolvedFrom) {
+      this.content = content;
+      this.resolvedFrom = resolvedFrom;
+    }
+  }
+}
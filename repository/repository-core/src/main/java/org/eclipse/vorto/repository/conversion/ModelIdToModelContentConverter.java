@@ -14,9 +14,9 @@ package org.eclipse.vorto.repository.conversion;
 
 import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.eclipse.vorto.core.api.model.ModelConversionUtils;
 import org.eclipse.vorto.core.api.model.datatype.Entity;
 import org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel;
@@ -35,7 +35,7 @@ import org.eclipse.vorto.repository.core.FileContent;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
-import org.eclipse.vorto.repository.core.impl.utils.DependencyManager;
+import org.eclipse.vorto.repository.core.impl.utils.ModelDependencyResolver;
 import org.eclipse.vorto.repository.web.core.ModelDtoFactory;
 import org.eclipse.vorto.utilities.reader.IModelWorkspace;
 import org.eclipse.vorto.utilities.reader.ModelWorkspaceReader;
@@ -44,10 +44,18 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,M
 
   private IModelRepositoryFactory repositoryFactory;
 
+  private ModelContentCache contentCache = null;
+
   public ModelIdToModelContentConverter(IModelRepositoryFactory repositoryFactory) {
     this.repositoryFactory = repositoryFactory;
   }
 
+  public ModelIdToModelContentConverter(IModelRepositoryFactory repositoryFactory,
+      ModelContentCache contentCache) {
+    this(repositoryFactory);
+    this.contentCache = contentCache;
+  }
+
   @Override
   public ModelContent convert(ModelId modelId, Optional<String> platformKey) {
     if ("latest".equalsIgnoreCase(modelId.getVersion())) {
@@ -57,20 +65,37 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,M
       throw new ModelNotFoundException("Model does not exist", null);
     }
 
-    ModelWorkspaceReader workspaceReader = getWorkspaceForModel(modelId);
+    if (contentCache != null) {
+      // cached contents are only handed out to users who are allowed to read the model
+      if (repositoryFactory.getRepositoryByModel(modelId).getById(modelId) == null) {
+        throw new ModelNotFoundException("Model does not exist", null);
+      }
+      Optional<ModelContent> cachedContent = contentCache.get(modelId, platformKey);
+      if (cachedContent.isPresent()) {
+        return cachedContent.get();
+      }
+    }
+
+    ModelDependencyResolver dependencyResolver = new ModelDependencyResolver(repositoryFactory);
+    List<ModelInfo> allModels = dependencyResolver.resolveSorted(modelId);
+    ModelWorkspaceReader workspaceReader = getWorkspaceForModel(allModels);
 
     ModelContent result = new ModelContent();
     result.setRoot(modelId);
 
+    List<ModelInfo> mappingResources = new ArrayList<>();
     if (platformKey.isPresent()) {
-      final List<ModelInfo> mappingResources = repositoryFactory.getRepositoryByModel(modelId).getMappingModelsForTargetPlatform(modelId, platformKey.get(),Optional.empty());
+      mappingResources = dependencyResolver.resolveMappings(
+          allModels.stream().map(ModelInfo::getId).collect(Collectors.toList()), platformKey.get(),
+          Optional.empty());
       if (!mappingResources.isEmpty()) {
+        final List<ModelInfo> mappings = mappingResources;
         // adding to workspace reader in order to resolve cross linking between mapping models correctly
-        mappingResources.forEach(mapping -> workspaceReader.addFile(new ByteArrayInputStream(repositoryFactory.getRepositoryByModel(mapping.getId()).getFileContent(mapping.getId(), Optional.empty()).get().getContent()), org.eclipse.vorto.model.ModelType.Mapping));
+        mappings.forEach(mapping -> workspaceReader.addFile(new ByteArrayInputStream(repositoryFactory.getRepositoryByModel(mapping.getId()).getFileContent(mapping.getId(), Optional.empty()).get().getContent()), org.eclipse.vorto.model.ModelType.Mapping));
 
         final IModelWorkspace workspace = workspaceReader.read();
         workspace.get().forEach(model -> {
-          Optional<MappingModel> mappingModel = getMappingModelForModel(mappingResources,model);
+          Optional<MappingModel> mappingModel = getMappingModelForModel(mappings,model);
           if (mappingModel.isPresent()) {
             AbstractModel createdModel = ModelDtoFactory.createResource(flattenHierarchy(model), mappingModel);
             createdModel.setTargetPlatformKey(platformKey.get());
@@ -96,6 +121,13 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,M
         result.getModels().put(new ModelId(model.getName(), model.getNamespace(), model.getVersion()),createdModel);
       });
     }
+
+    // only released models are immutable, contents of models in work are resolved each time
+    if (contentCache != null && allModels.stream().allMatch(ModelInfo::isReleased)) {
+      List<ModelId> resolvedFrom = allModels.stream().map(ModelInfo::getId).collect(Collectors.toList());
+      mappingResources.forEach(mapping -> resolvedFrom.add(mapping.getId()));
+      contentCache.put(modelId, platformKey, result, resolvedFrom);
+    }
     return result;
   }
 
@@ -114,13 +146,9 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,M
   }
 
 
-  private ModelWorkspaceReader getWorkspaceForModel(final ModelId modelId) {
-    List<ModelInfo> allModels = getModelWithAllDependencies(modelId);
-    DependencyManager dm = new DependencyManager(new HashSet<>(allModels));
-    allModels = dm.getSorted();
-
-    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
-    for (ModelInfo model : allModels) {
+  private ModelWorkspaceReader getWorkspaceForModel(final List<ModelInfo> sortedModels) {
+    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader().parallel();
+    for (ModelInfo model : sortedModels) {
       FileContent modelContent = repositoryFactory.getRepositoryByModel(model.getId())
           .getFileContent(model.getId(), Optional.of(model.getFileName())).get();
       workspaceReader.addFile(new ByteArrayInputStream(modelContent.getContent()), model.getType());
@@ -130,19 +158,6 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,M
   }
 
 
-  private List<ModelInfo> getModelWithAllDependencies(ModelId modelId) {
-    List<ModelInfo> modelInfos = new ArrayList<>();
-
-    ModelInfo modelResource = repositoryFactory.getRepositoryByModel(modelId).getById(modelId);
-    modelInfos.add(modelResource);
-
-    for (ModelId reference : modelResource.getReferences()) {
-      modelInfos.addAll(getModelWithAllDependencies(reference));
-    }
-
-    return modelInfos;
-  }
-
   private boolean isMappingForModel(MappingModel p, Model model) {
     final ModelId modelId = new ModelId(model.getName(),model.getNamespace(),model.getVersion());
     return matchesMappingForModel(p,model) && p.getReferences().stream().filter(reference -> ModelId.fromReference(reference.getImportedNamespace(), reference.getVersion()).equals(modelId)).count() > 0;
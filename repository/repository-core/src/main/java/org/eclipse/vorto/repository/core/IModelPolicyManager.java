@@ -13,6 +13,7 @@
 package org.eclipse.vorto.repository.core;
 
 import java.util.Collection;
+import java.util.Set;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.PolicyEntry.Permission;
 import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
@@ -55,6 +56,18 @@ public interface IModelPolicyManager {
    */
   boolean hasPermission(ModelId modelId, Permission permission);
 
+  /**
+   * checks for each of the given model IDs if the current user has the given permission. Models
+   * which do not exist or whose policies the current user may not read are left out. All models
+   * are checked in a single session, and the policies are read only for models whose permissions
+   * are not cached yet.
+   * 
+   * @param modelIds
+   * @param permission
+   * @return the model IDs the current user has the permission for, in the given order
+   */
+  Set<ModelId> getModelsWithPermission(Collection<ModelId> modelIds, Permission permission);
+
   /**
    * Copies the policy entries from source model to target model
    * @param oldModelId
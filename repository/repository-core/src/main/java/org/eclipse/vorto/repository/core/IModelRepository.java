@@ -12,10 +12,13 @@
  */
 package org.eclipse.vorto.repository.core;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.search.SearchPage;
+import org.eclipse.vorto.repository.search.SearchPageRequest;
 import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
 
 /**
@@ -36,6 +39,16 @@ public interface IModelRepository {
    */
   List<ModelInfo> search(String queryExpression);
 
+  /**
+   * Searches model resources for the given expression and returns a single page of the ordered
+   * result
+   *
+   * @param queryExpression
+   * @param pageRequest the page to return and its ordering
+   * @return
+   */
+  SearchPage search(String queryExpression, SearchPageRequest pageRequest);
+
   /**
    * Gets a very detailed model for the given model id, which includes resolving target platform mappings
    * If only basic meta - data is required, consider using {@link IModelRepository#getBasicInfo(ModelId)}
@@ -45,6 +58,16 @@ public interface IModelRepository {
    */
   ModelInfo getById(ModelId modelId) throws NotAuthorizedException;
 
+  /**
+   * Gets the models for the given model ids, using a single repository session. Models that do
+   * not exist are left out of the result.
+   *
+   * @param modelIds
+   * @return
+   * @throws NotAuthorizedException if current user is not allowed to access one of the models
+   */
+  List<ModelInfo> getByIds(Collection<ModelId> modelIds) throws NotAuthorizedException;
+
   /**
    * Gets the model ID of the latest (highest and released) version for the given model.
    * @param modelId - the ID of the model, version can be blank - it will be ignored
@@ -68,6 +91,14 @@ public interface IModelRepository {
    */
   List<ModelInfo> getModelsReferencing(ModelId modelId);
 
+  /**
+   * Get all models in this repository which are referencing any of the given modelIds
+   *
+   * @param modelIds the modelIds that are being referenced
+   * @return list of models referencing one of the modelIds
+   */
+  List<ModelInfo> getModelsReferencing(Collection<ModelId> modelIds);
+
   /**
    * Returns the actual model content for the given model id
    *
@@ -146,6 +177,19 @@ public interface IModelRepository {
   List<ModelInfo> getMappingModelsForTargetPlatform(ModelId modelId, String targetPlatform,
       Optional<String> version) throws NotAuthorizedException;;
 
+  /**
+   * Gets the mapping models of this repository for any of the given modelIds and the given target
+   * platform. Unlike {@link #getMappingModelsForTargetPlatform(ModelId, String, Optional)}, the
+   * dependencies of the given models are not followed.
+   *
+   * @param modelIds
+   * @param targetPlatform
+   * @param version of the mappings. If not specified, all versions are taken
+   * @return
+   */
+  List<ModelInfo> getMappingModelsForTargetPlatform(Collection<ModelId> modelIds,
+      String targetPlatform, Optional<String> version) throws NotAuthorizedException;
+
   /**
    * Removes the model for the given ModelID
    *
@@ -30,4 +30,13 @@ public interface IModelRetrievalService {
    * list of models referencing modelId
    */
   Map<String, List<ModelInfo>> getModelsReferencing(ModelId modelId);
+
+  /**
+   * Get all models across all repositories who are referencing modelId, either directly or by
+   * referencing another model which does so
+   * @param modelId the modelId that is being referenced
+   * @return a map entry with the key being the tenantId and the value being the 
+   * list of models depending on modelId
+   */
+  Map<String, List<ModelInfo>> getModelsReferencingTransitively(ModelId modelId);
 }
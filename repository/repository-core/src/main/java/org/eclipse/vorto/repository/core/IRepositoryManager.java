@@ -12,6 +12,9 @@
  */
 package org.eclipse.vorto.repository.core;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+
 public interface IRepositoryManager {
 
   /**
@@ -19,12 +22,39 @@ public interface IRepositoryManager {
    * @return backup which can be use to restore at a later time
    */
   byte[] backup();
+
+  /**
+   * Backs up the given repository, writing the backup to the given stream while it is exported,
+   * so that the backup is never held in memory as a whole. The stream is not closed.
+   * 
+   * @param out the stream to write the backup to
+   */
+  void backup(OutputStream out);
   
   /**
    * Restores a repository with the given data
    * @param data
    */
   void restore(byte[] data);
+
+  /**
+   * Restores a repository with the data read from the given stream, without holding the data in
+   * memory. The current content of the repository is kept in a temporary file while the data is
+   * imported, and is imported again if the restoration fails. The stream is not closed.
+   * 
+   * @param data the stream to read the backup from
+   */
+  void restore(InputStream data);
+
+  /**
+   * Restores a repository with the data read from the given stream, like
+   * {@link #restore(InputStream)}, but without keeping the current content for a revert, e.g. when
+   * the workspace has just been created or the caller keeps a snapshot of its own. The stream is
+   * not closed.
+   * 
+   * @param data the stream to read the backup from
+   */
+  void restoreWithoutSnapshot(InputStream data);
   
   /**
    * Creates a workspace with the given tenantId
@@ -47,4 +77,12 @@ public interface IRepositoryManager {
    * @return true if removal is successful
    */
   boolean removeTenantWorkspace(final String tenantId);
+
+  /**
+   * Stores the summary of the attachment tags on all models of the workspace which have been
+   * created before the summary was introduced
+   * 
+   * @return the number of migrated models
+   */
+  int migrateAttachmentTags();
 }
@@ -36,9 +36,22 @@ public class AbstractRepositoryOperation {
   private Supplier<RequestRepositorySessionHelper> repositorySessionHelperSupplier;
 
   public <ReturnType> ReturnType doInSession(SessionFunction<ReturnType> fn) {
+    return doInSession(fn, false);
+  }
+
+  /**
+   * Runs a read operation in a session, which is borrowed from the session pool if possible.
+   * Changes made by the operation are discarded.
+   */
+  public <ReturnType> ReturnType doInReadSession(SessionFunction<ReturnType> fn) {
+    return doInSession(fn, true);
+  }
+
+  private <ReturnType> ReturnType doInSession(SessionFunction<ReturnType> fn, boolean readOnly) {
+    RequestRepositorySessionHelper helper = repositorySessionHelperSupplier.get();
     Session session = null;
     try {
-      session = repositorySessionHelperSupplier.get().getSession();
+      session = readOnly ? helper.getReadSession() : helper.getSession();
       return fn.apply(session);
     } catch (PathNotFoundException e) {
       logger.error(e);
@@ -53,7 +66,11 @@ public class AbstractRepositoryOperation {
       throw new FatalModelRepositoryException("Cannot create repository session for user", ex);
     } finally {
       if (session != null) {
-        repositorySessionHelperSupplier.get().logoutSessionIfNotReusable(session);
+        if (readOnly) {
+          helper.releaseReadSession(session);
+        } else {
+          helper.logoutSessionIfNotReusable(session);
+        }
       }
     }
   }
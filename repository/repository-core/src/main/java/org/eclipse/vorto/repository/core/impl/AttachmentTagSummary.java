@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.PropertyType;
+import javax.jcr.RepositoryException;
+import javax.jcr.Value;
+
+/**
+ * Keeps the tags of all attachments of a model on the model folder node, so that flags like
+ * {@link org.eclipse.vorto.repository.core.ModelInfo#isHasImage()} are read with a single property
+ * read instead of loading the attachments of the model.
+ */
+final class AttachmentTagSummary {
+
+  static final String VORTO_ATTACHMENT_TAGS = "vorto:attachmentTags";
+
+  private static final String ATTACHMENTS_NODE = "attachments";
+
+  private static final String VORTO_TAGS = "vorto:tags";
+
+  private AttachmentTagSummary() {
+  }
+
+  /**
+   * Recomputes the summary from the attachments currently stored below the given model folder
+   * node. The caller is responsible for saving the session.
+   *
+   * @param modelFolderNode the folder node of the model
+   */
+  static void update(Node modelFolderNode) throws RepositoryException {
+    Set<String> tags = new LinkedHashSet<>();
+    if (modelFolderNode.hasNode(ATTACHMENTS_NODE)) {
+      NodeIterator attachments = modelFolderNode.getNode(ATTACHMENTS_NODE).getNodes();
+      while (attachments.hasNext()) {
+        Node attachment = attachments.nextNode();
+        if (attachment.hasProperty(VORTO_TAGS)) {
+          for (Value tag : attachment.getProperty(VORTO_TAGS).getValues()) {
+            tags.add(tag.getString());
+          }
+        }
+      }
+    }
+    modelFolderNode.setProperty(VORTO_ATTACHMENT_TAGS, tags.toArray(new String[tags.size()]),
+        PropertyType.STRING);
+  }
+
+  /**
+   * @param modelFolderNode the folder node of the model
+   * @return the tags of all attachments of the model, or empty if no summary has been stored for
+   *         the model yet
+   */
+  static Optional<Set<String>> read(Node modelFolderNode) throws RepositoryException {
+    if (!modelFolderNode.hasProperty(VORTO_ATTACHMENT_TAGS)) {
+      return Optional.empty();
+    }
+    Value[] values = modelFolderNode.getProperty(VORTO_ATTACHMENT_TAGS).getValues();
+    if (values.length == 0) {
+      return Optional.of(Collections.emptySet());
+    }
+    Set<String> tags = new LinkedHashSet<>();
+    for (Value value : values) {
+      tags.add(value.getString());
+    }
+    return Optional.of(tags);
+  }
+}
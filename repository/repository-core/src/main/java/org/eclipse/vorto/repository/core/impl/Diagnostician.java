@@ -35,7 +35,7 @@ public class Diagnostician extends AbstractRepositoryOperation implements IDiagn
 
   @Override
   public Collection<Diagnostic> diagnoseModel(ModelId modelId) {
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
       Node folderNode = session.getNode(modelIdHelper.getFullPath());
       return repoDiagnostics.diagnose(folderNode);
@@ -43,7 +43,7 @@ public class Diagnostician extends AbstractRepositoryOperation implements IDiagn
   }
 
   private <Result> Result doInRootNode(Function<Node, Result> fn) {
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       Node node = session.getRootNode();
       return fn.apply(node);
     });
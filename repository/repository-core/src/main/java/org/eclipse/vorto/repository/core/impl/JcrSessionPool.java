@@ -0,0 +1,401 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import javax.annotation.PreDestroy;
+import javax.jcr.Repository;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.security.SpringSecurityCredentials;
+import org.eclipse.vorto.repository.domain.Role;
+import org.eclipse.vorto.repository.domain.Tenant;
+import org.eclipse.vorto.repository.domain.UserRole;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pool of JCR sessions that are only used for reading, so that a read operation does not need to
+ * log in to the workspace every time.
+ *
+ * Sessions are pooled per workspace and per security context, i.e. the user name, whether the
+ * user is anonymous or a system administrator and the roles of the user in the tenant, as these
+ * are fixed for the lifetime of a session. A change of the roles of a user therefore never hands
+ * out a session with the old roles. A borrowed session is refreshed, so that it sees the latest
+ * persisted state of the workspace, and any changes left in a returned session are discarded.
+ *
+ * Idle sessions are logged out once they have not been used for the configured time, or if there
+ * are more idle sessions than allowed. Sessions which are used for writing are not taken from this
+ * pool.
+ */
+@Component
+public class JcrSessionPool implements ApplicationListener<AppEvent> {
+
+  private static Logger logger = Logger.getLogger(JcrSessionPool.class);
+
+  private final boolean enabled;
+
+  private final int maxIdlePerKey;
+
+  private final int maxIdle;
+
+  private final long maxIdleMillis;
+
+  private final Map<PoolKey, Deque<IdleSession>> idleSessions = new HashMap<>();
+
+  private final Map<Session, PoolKey> borrowedSessions = new IdentityHashMap<>();
+
+  private int idleCount = 0;
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  private final AtomicLong evictions = new AtomicLong();
+
+  @Autowired
+  public JcrSessionPool(@Value("${repo.sessionPool.enabled:true}") boolean enabled,
+      @Value("${repo.sessionPool.maxIdlePerKey:4}") int maxIdlePerKey,
+      @Value("${repo.sessionPool.maxIdle:200}") int maxIdle,
+      @Value("${repo.sessionPool.maxIdleSeconds:300}") long maxIdleSeconds) {
+    this.enabled = enabled;
+    this.maxIdlePerKey = maxIdlePerKey;
+    this.maxIdle = maxIdle;
+    this.maxIdleMillis = TimeUnit.SECONDS.toMillis(maxIdleSeconds);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Borrows a session of the given user for reading. The session must be handed back by
+   * {@link #release(Session)} and must not be used for writing.
+   *
+   * @param repository the repository to log in to, if there is no idle session
+   * @param workspace the workspace (tenant) of the session
+   * @param user the user of the session
+   * @param rolesInTenant the roles of the user in the tenant
+   * @return a live session, refreshed to the latest persisted state of the workspace
+   * @throws RepositoryException if a new session could not be logged in
+   */
+  public Session borrow(Repository repository, String workspace, Authentication user,
+      Set<Role> rolesInTenant) throws RepositoryException {
+    PoolKey key = new PoolKey(workspace, user, rolesInTenant);
+
+    IdleSession idleSession;
+    while ((idleSession = pollIdle(key)) != null) {
+      if (activate(idleSession.session)) {
+        hits.incrementAndGet();
+        markBorrowed(idleSession.session, key);
+        return idleSession.session;
+      }
+      evictions.incrementAndGet();
+      logout(idleSession.session);
+    }
+
+    misses.incrementAndGet();
+    Session session =
+        repository.login(new SpringSecurityCredentials(user, rolesInTenant), workspace);
+    markBorrowed(session, key);
+    return session;
+  }
+
+  /**
+   * Hands a borrowed session back to the pool. The session is logged out if it cannot be reused or
+   * the pool is full.
+   *
+   * @param session the session to hand back
+   * @return true, if the session was borrowed from this pool, otherwise it was left untouched
+   */
+  public boolean release(Session session) {
+    PoolKey key;
+    synchronized (this) {
+      key = borrowedSessions.remove(session);
+    }
+    if (key == null) {
+      return false;
+    }
+
+    if (!passivate(session)) {
+      evictions.incrementAndGet();
+      logout(session);
+      return true;
+    }
+
+    evictExpired();
+    boolean pooled;
+    synchronized (this) {
+      Deque<IdleSession> sessions = idleSessions.computeIfAbsent(key, k -> new ArrayDeque<>());
+      pooled = sessions.size() < maxIdlePerKey && idleCount < maxIdle;
+      if (pooled) {
+        sessions.offerFirst(new IdleSession(session, key, System.currentTimeMillis()));
+        idleCount++;
+      } else if (sessions.isEmpty()) {
+        idleSessions.remove(key);
+      }
+    }
+    if (!pooled) {
+      evictions.incrementAndGet();
+      logout(session);
+    }
+    return true;
+  }
+
+  /**
+   * Logs out all idle sessions which have not been used within the configured idle time
+   */
+  @Scheduled(fixedDelayString = "${repo.sessionPool.evictionIntervalMillis:60000}")
+  public void evictExpired() {
+    long expiredBefore = System.currentTimeMillis() - maxIdleMillis;
+    logoutEvicted(evictIdle(idleSession -> idleSession.lastUsed <= expiredBefore));
+  }
+
+  /**
+   * Logs out all idle sessions of the given workspace
+   */
+  public void invalidateWorkspace(String workspace) {
+    logoutEvicted(evictIdle(idleSession -> idleSession.key.workspace.equals(workspace)));
+  }
+
+  @PreDestroy
+  public void clear() {
+    logoutEvicted(evictIdle(idleSession -> true));
+  }
+
+  public synchronized Statistics getStatistics() {
+    return new Statistics(idleCount, borrowedSessions.size(), hits.get(), misses.get(),
+        evictions.get());
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    if (event.getEventType() == EventType.TENANT_DELETED
+        && event.getSubject() instanceof Tenant) {
+      invalidateWorkspace(((Tenant) event.getSubject()).getTenantId());
+    }
+  }
+
+  private synchronized IdleSession pollIdle(PoolKey key) {
+    Deque<IdleSession> sessions = idleSessions.get(key);
+    if (sessions == null) {
+      return null;
+    }
+    IdleSession idleSession = sessions.pollFirst();
+    if (sessions.isEmpty()) {
+      idleSessions.remove(key);
+    }
+    if (idleSession != null) {
+      idleCount--;
+    }
+    return idleSession;
+  }
+
+  private synchronized void markBorrowed(Session session, PoolKey key) {
+    borrowedSessions.put(session, key);
+  }
+
+  private synchronized List<Session> evictIdle(Predicate<IdleSession> filter) {
+    List<Session> evicted = new ArrayList<>();
+    Iterator<Map.Entry<PoolKey, Deque<IdleSession>>> entries =
+        idleSessions.entrySet().iterator();
+    while (entries.hasNext()) {
+      Map.Entry<PoolKey, Deque<IdleSession>> entry = entries.next();
+      Iterator<IdleSession> sessions = entry.getValue().iterator();
+      while (sessions.hasNext()) {
+        IdleSession idleSession = sessions.next();
+        if (filter.test(idleSession)) {
+          sessions.remove();
+          idleCount--;
+          evicted.add(idleSession.session);
+        }
+      }
+      if (entry.getValue().isEmpty()) {
+        entries.remove();
+      }
+    }
+    return evicted;
+  }
+
+  private void logoutEvicted(List<Session> sessions) {
+    evictions.addAndGet(sessions.size());
+    sessions.forEach(JcrSessionPool::logout);
+  }
+
+  /**
+   * Prepares an idle session for being borrowed
+   */
+  private static boolean activate(Session session) {
+    try {
+      if (!session.isLive()) {
+        return false;
+      }
+      session.refresh(false);
+      return true;
+    } catch (RepositoryException | RuntimeException e) {
+      logger.debug("Discarding pooled session that could not be refreshed", e);
+      return false;
+    }
+  }
+
+  /**
+   * Prepares a returned session for being idle
+   */
+  private static boolean passivate(Session session) {
+    try {
+      if (!session.isLive()) {
+        return false;
+      }
+      if (session.hasPendingChanges()) {
+        logger.warn("Discarding changes left in pooled read session of " + session.getUserID());
+        session.refresh(false);
+      }
+      return true;
+    } catch (RepositoryException | RuntimeException e) {
+      logger.debug("Discarding pooled session that could not be reset", e);
+      return false;
+    }
+  }
+
+  private static void logout(Session session) {
+    try {
+      if (session.isLive()) {
+        session.logout();
+      }
+    } catch (RuntimeException e) {
+      logger.debug("Error while logging out pooled session", e);
+    }
+  }
+
+  public static class Statistics {
+    private final int idle;
+    private final int active;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    Statistics(int idle, int active, long hits, long misses, long evictions) {
+      this.idle = idle;
+      this.active = active;
+      this.hits = hits;
+      this.misses = misses;
+      this.evictions = evictions;
+    }
+
+    /**
+     * @return number of sessions currently idle in the pool
+     */
+    public int getIdle() {
+      return idle;
+    }
+
+    /**
+     * @return number of sessions currently borrowed from the pool
+     */
+    public int getActive() {
+      return active;
+    }
+
+    /**
+     * @return number of borrows served by an idle session
+     */
+    public long getHits() {
+      return hits;
+    }
+
+    /**
+     * @return number of borrows which needed to log in a new session
+     */
+    public long getMisses() {
+      return misses;
+    }
+
+    /**
+     * @return number of sessions logged out by the pool
+     */
+    public long getEvictions() {
+      return evictions;
+    }
+  }
+
+  private static class IdleSession {
+    private final Session session;
+    private final PoolKey key;
+    private final long lastUsed;
+
+    IdleSession(Session session, PoolKey key, long lastUsed) {
+      this.session = session;
+      this.key = key;
+      this.lastUsed = lastUsed;
+    }
+  }
+
+  private static class PoolKey {
+    private final String workspace;
+    private final String username;
+    private final boolean anonymous;
+    private final boolean sysAdmin;
+    private final Set<Role> rolesInTenant;
+
+    PoolKey(String workspace, Authentication user, Set<Role> rolesInTenant) {
+      this.workspace = workspace;
+      this.username = user.getName();
+      this.anonymous = user instanceof AnonymousAuthenticationToken;
+      this.sysAdmin = user.getAuthorities().stream()
+          .anyMatch(authority -> UserRole.ROLE_SYS_ADMIN.equals(authority.getAuthority()));
+      this.rolesInTenant = rolesInTenant == null || rolesInTenant.isEmpty()
+          ? Collections.emptySet()
+          : EnumSet.copyOf(rolesInTenant);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(workspace, username, anonymous, sysAdmin, rolesInTenant);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (obj == null || getClass() != obj.getClass())
+        return false;
+      PoolKey other = (PoolKey) obj;
+      return anonymous == other.anonymous && sysAdmin == other.sysAdmin
+          && Objects.equals(workspace, other.workspace)
+          && Objects.equals(username, other.username)
+          && Objects.equals(rolesInTenant, other.rolesInTenant);
+    }
+  }
+}
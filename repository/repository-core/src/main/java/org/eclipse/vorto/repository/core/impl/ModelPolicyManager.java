@@ -16,6 +16,7 @@ import java.util.*;
 import java.util.function.Predicate;
 import javax.jcr.AccessDeniedException;
 import javax.jcr.Node;
+import javax.jcr.PathNotFoundException;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.security.AccessControlEntry;
@@ -29,6 +30,7 @@ import org.eclipse.vorto.repository.account.IUserAccountService;
 import org.eclipse.vorto.repository.core.*;
 import org.eclipse.vorto.repository.core.PolicyEntry.Permission;
 import org.eclipse.vorto.repository.core.PolicyEntry.PrincipalType;
+import org.eclipse.vorto.repository.core.impl.cache.ModelPolicyCache;
 import org.eclipse.vorto.repository.core.impl.utils.ModelIdHelper;
 import org.eclipse.vorto.repository.domain.Role;
 import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
@@ -50,43 +52,71 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
 
   private IModelRepositoryFactory modelRepositoryFactory;
 
+  private ModelPolicyCache policyCache;
+
   public ModelPolicyManager(@Autowired IUserAccountService userAccountService, @Autowired IModelRepositoryFactory iModelRepositoryFactory) {
     this.userAccountService = userAccountService;
     this.modelRepositoryFactory = iModelRepositoryFactory;
   }
 
+  public void setPolicyCache(ModelPolicyCache policyCache) {
+    this.policyCache = policyCache;
+  }
+
   @Override
   public Collection<PolicyEntry> getPolicyEntries(ModelId modelId) {
-    return doInSession(session -> {
-      List<PolicyEntry> policyEntries = new ArrayList<PolicyEntry>();
-
+    return doInReadSession(session -> {
       try {
-        ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
+        return getPolicyEntries(session, new ModelIdHelper(modelId).getFullPath());
+      } catch (AccessDeniedException ex) {
+        throw new NotAuthorizedException(modelId);
+      }
+    });
+  }
 
-        Node nodeToGetPolicies = session.getNode(modelIdHelper.getFullPath());
-        
-        AccessControlManager acm = session.getAccessControlManager();
+  private List<PolicyEntry> getPolicyEntries(Session session, String path)
+      throws RepositoryException {
+    String tenantId = session.getWorkspace().getName();
+    if (policyCache != null) {
+      Optional<List<PolicyEntry>> cachedEntries =
+          policyCache.getPolicyEntries(tenantId, session.getUserID(), path);
+      if (cachedEntries.isPresent()) {
+        return cachedEntries.get();
+      }
+    }
 
-        AccessControlList acl = null;
-        AccessControlPolicyIterator it = acm.getApplicablePolicies(nodeToGetPolicies.getPath());
-        if (it.hasNext()) {
-          acl = (AccessControlList) it.nextAccessControlPolicy();
-        } else {
-          acl = (AccessControlList) acm.getPolicies(nodeToGetPolicies.getPath())[0];
-        }
+    long aclVersion = policyCache != null ? policyCache.getAclVersion(tenantId) : 0;
+    List<PolicyEntry> policyEntries = readPolicyEntries(session, path);
+    if (policyCache != null) {
+      policyCache.put(tenantId, session.getUserID(), path, aclVersion, policyEntries, null);
+    }
+    return policyEntries;
+  }
 
-        for (AccessControlEntry entry : acl.getAccessControlEntries()) {
-          PolicyEntry policy = PolicyEntry.of(entry);
-          if (!policy.isAdminPolicy()) {
-            policyEntries.add(policy);
-          }
-        }
+  private List<PolicyEntry> readPolicyEntries(Session session, String path)
+      throws RepositoryException {
+    List<PolicyEntry> policyEntries = new ArrayList<PolicyEntry>();
 
-        return policyEntries;
-      } catch (AccessDeniedException ex) {
-        throw new NotAuthorizedException(modelId);
+    Node nodeToGetPolicies = session.getNode(path);
+
+    AccessControlManager acm = session.getAccessControlManager();
+
+    AccessControlList acl = null;
+    AccessControlPolicyIterator it = acm.getApplicablePolicies(nodeToGetPolicies.getPath());
+    if (it.hasNext()) {
+      acl = (AccessControlList) it.nextAccessControlPolicy();
+    } else {
+      acl = (AccessControlList) acm.getPolicies(nodeToGetPolicies.getPath())[0];
+    }
+
+    for (AccessControlEntry entry : acl.getAccessControlEntries()) {
+      PolicyEntry policy = PolicyEntry.of(entry);
+      if (!policy.isAdminPolicy()) {
+        policyEntries.add(policy);
       }
-    });
+    }
+
+    return policyEntries;
   }
 
   @Override
@@ -145,6 +175,7 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
 
         acm.setPolicy(nodeToAddPolicy.getPath(), _acl);
         session.save();
+        invalidatePolicies(session, nodeToAddPolicy.getPath());
         return null;
       } catch (AccessDeniedException ex) {
         throw new NotAuthorizedException(modelId);
@@ -192,6 +223,7 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
 
           acm.removePolicy(nodeToRemovePolicy.getPath(), acl);
           session.save();
+          invalidatePolicies(session, nodeToRemovePolicy.getPath());
 
           return null;
         } catch (AccessDeniedException ex) {
@@ -203,14 +235,94 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
 
   @Override
   public boolean hasPermission(final ModelId modelId, final Permission permission) {
-    return doInSession(session -> {
-      return this.getPolicyEntries(modelId).stream()
-          .filter(userFilter(session).and(p -> hasPermission(p.getPermission(), permission)))
-          .findAny()
-          .isPresent();
+    return doInReadSession(session -> {
+      try {
+        return getPermissions(session, new ModelIdHelper(modelId).getFullPath(),
+            userFilter(session)).contains(permission);
+      } catch (AccessDeniedException ex) {
+        throw new NotAuthorizedException(modelId);
+      }
     });
   }
-  
+
+  @Override
+  public Set<ModelId> getModelsWithPermission(Collection<ModelId> modelIds,
+      Permission permission) {
+    return doInReadSession(session -> {
+      Predicate<PolicyEntry> userFilter = memoizingUserFilter(session);
+      Set<ModelId> result = new LinkedHashSet<>();
+      for (ModelId modelId : modelIds) {
+        try {
+          if (getPermissions(session, new ModelIdHelper(modelId).getFullPath(), userFilter)
+              .contains(permission)) {
+            result.add(modelId);
+          }
+        } catch (AccessDeniedException | PathNotFoundException ex) {
+          logger.debug("No permissions on " + modelId.getPrettyFormat() + ": " + ex.getMessage());
+        }
+      }
+      return result;
+    });
+  }
+
+  /**
+   * Evaluates the policies of the node for the session user
+   * 
+   * @return the permissions the session user has on the node
+   */
+  private Set<Permission> getPermissions(Session session, String path,
+      Predicate<PolicyEntry> userFilter) throws RepositoryException {
+    String tenantId = session.getWorkspace().getName();
+    if (policyCache != null) {
+      Optional<Set<Permission>> cachedPermissions =
+          policyCache.getPermissions(tenantId, session.getUserID(), path);
+      if (cachedPermissions.isPresent()) {
+        return cachedPermissions.get();
+      }
+    }
+
+    long aclVersion = policyCache != null ? policyCache.getAclVersion(tenantId) : 0;
+    List<PolicyEntry> policyEntries = getPolicyEntries(session, path);
+    Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+    for (PolicyEntry entry : policyEntries) {
+      if (entry.getPermission() != null && userFilter.test(entry)) {
+        for (Permission permission : Permission.values()) {
+          if (hasPermission(entry.getPermission(), permission)) {
+            permissions.add(permission);
+          }
+        }
+      }
+    }
+
+    if (policyCache != null) {
+      policyCache.put(tenantId, session.getUserID(), path, aclVersion, policyEntries,
+          permissions);
+    }
+    return permissions;
+  }
+
+  /**
+   * Same as {@link #userFilter(Session)}, but looks up every role of the session user only once
+   */
+  private Predicate<PolicyEntry> memoizingUserFilter(Session session) {
+    Map<String, Boolean> roles = new HashMap<>();
+    return p -> {
+      if (p.getPrincipalType() == PrincipalType.User) {
+        return p.getPrincipalId().equalsIgnoreCase(session.getUserID());
+      } else {
+        return roles.computeIfAbsent(p.getPrincipalId(),
+            role -> userAccountService.hasRole(session.getWorkspace().getName(),
+                session.getUserID(), role));
+      }
+    };
+  }
+
+  private void invalidatePolicies(Session session, String path) {
+    if (policyCache != null) {
+      policyCache.invalidate(session.getWorkspace().getName(), path);
+    }
+  }
+
   private Predicate<PolicyEntry> userFilter(Session session) {
     return p -> {
       if (p.getPrincipalType() == PrincipalType.User) {
@@ -236,6 +348,9 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
   public void restorePolicyEntries() {
     doInSession(session -> {
       restorePolicyEntriesInternal(session);
+      if (policyCache != null) {
+        policyCache.invalidateTenant(session.getWorkspace().getName());
+      }
       return null;
     });
   }
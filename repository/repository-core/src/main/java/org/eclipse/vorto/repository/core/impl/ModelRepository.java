@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -74,16 +75,21 @@ import org.eclipse.vorto.repository.core.ModelResource;
 import org.eclipse.vorto.repository.core.Tag;
 import org.eclipse.vorto.repository.core.events.AppEvent;
 import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.impl.cache.ModelInfoCache;
 import org.eclipse.vorto.repository.core.impl.parser.ErrorMessageProvider;
 import org.eclipse.vorto.repository.core.impl.parser.IModelParser;
 import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
 import org.eclipse.vorto.repository.core.impl.utils.DependencyManager;
+import org.eclipse.vorto.repository.core.impl.utils.ModelDependencyResolver;
 import org.eclipse.vorto.repository.core.impl.utils.ModelIdHelper;
 import org.eclipse.vorto.repository.core.impl.utils.ModelReferencesHelper;
 import org.eclipse.vorto.repository.core.impl.utils.ModelSearchUtil;
 import org.eclipse.vorto.repository.core.impl.validation.AttachmentValidator;
 import org.eclipse.vorto.repository.core.impl.validation.ValidationException;
 import org.eclipse.vorto.repository.domain.Tenant;
+import org.eclipse.vorto.repository.search.SearchCursor;
+import org.eclipse.vorto.repository.search.SearchPage;
+import org.eclipse.vorto.repository.search.SearchPageRequest;
 import org.eclipse.vorto.repository.tenant.ITenantService;
 import org.eclipse.vorto.repository.tenant.NewNamespacesNotSupersetException;
 import org.eclipse.vorto.repository.utils.ModelUtils;
@@ -161,6 +167,7 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   private IModelPolicyManager policyManager;
 
+  private ModelInfoCache modelInfoCache = null;
 
   public ModelRepository(ModelSearchUtil modelSearchUtil, AttachmentValidator attachmentValidator,
       ModelParserFactory modelParserFactory, IModelRetrievalService modelRetrievalService,
@@ -180,9 +187,13 @@ public class ModelRepository extends AbstractRepositoryOperation
     this.eventPublisher = applicationEventPublisher;
   }
 
+  public void setModelInfoCache(ModelInfoCache modelInfoCache) {
+    this.modelInfoCache = modelInfoCache;
+  }
+
   @Override
   public List<ModelInfo> search(final String expression) {
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       String queryExpression = Optional.ofNullable(expression).orElse("");
 
       List<ModelInfo> modelResources = new ArrayList<>();
@@ -207,6 +218,43 @@ public class ModelRepository extends AbstractRepositoryOperation
     });
   }
 
+  @Override
+  public SearchPage search(final String expression, final SearchPageRequest pageRequest) {
+    return doInReadSession(session -> {
+      String queryExpression = Optional.ofNullable(expression).orElse("");
+
+      // one row beyond the page tells whether there are further pages
+      Query query = modelSearchUtil.createQueryFromExpression(session, queryExpression,
+          pageRequest, 1);
+
+      logger.debug("Searching repository with expression " + query.getStatement() + " for "
+          + pageRequest);
+      RowIterator rowIterator = query.execute().getRows();
+
+      List<ModelInfo> modelResources = new ArrayList<>(pageRequest.getLimit());
+      int rows = 0;
+      while (rowIterator.hasNext()) {
+        Row row = rowIterator.nextRow();
+        if (++rows > pageRequest.getLimit()) {
+          break;
+        }
+        try {
+          modelResources.add(createMinimalModelInfo(row.getNode()));
+        } catch (Exception ex) {
+          logger.debug("Error while converting node to a ModelInfo", ex);
+        }
+      }
+
+      SearchPage page = new SearchPage(modelResources, SearchCursor.offsetOf(pageRequest),
+          pageRequest.getLimit(), rows > pageRequest.getLimit());
+      if (pageRequest.getCreatedAfter() != null) {
+        // the next page is requested after the last model of this page, not by an offset
+        page.setNextCursor(null);
+      }
+      return page;
+    });
+  }
+
   private ModelInfo createMinimalModelInfo(Node fileNode) throws RepositoryException {
     Node folderNode = fileNode.getParent();
     ModelInfo resource = new ModelInfo(ModelIdHelper.fromPath(folderNode.getPath()),
@@ -238,8 +286,19 @@ public class ModelRepository extends AbstractRepositoryOperation
     setReferencesOnResource(folderNode, resource);
 
     if (resource.getType() == ModelType.InformationModel) {
-      resource
-          .setHasImage(!this.getAttachmentsByTag(resource.getId(), TAG_IMAGE).isEmpty());
+      Optional<Set<String>> attachmentTags = AttachmentTagSummary.read(folderNode);
+      if (attachmentTags.isPresent()) {
+        resource.setHasImage(attachmentTags.get().contains(TAG_IMAGE.getId()));
+      } else {
+        // model stored before attachment tags were summarized and not migrated yet
+        Optional<ModelInfo> cachedModelInfo = getCachedModelInfo(fileNode);
+        if (cachedModelInfo.isPresent()) {
+          resource.setHasImage(cachedModelInfo.get().isHasImage());
+        } else {
+          resource
+              .setHasImage(!this.getAttachmentsByTag(resource.getId(), TAG_IMAGE).isEmpty());
+        }
+      }
     }
 
     return resource;
@@ -247,7 +306,7 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   @Override
   public ModelFileContent getModelContent(ModelId modelId, boolean validate) {
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       try {
         ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
         Node folderNode = session.getNode(modelIdHelper.getFullPath());
@@ -362,6 +421,8 @@ public class ModelRepository extends AbstractRepositoryOperation
         session.save();
         logger.info("Model was saved successful");
 
+        evictFromCache(modelInfo.getId());
+
         ModelInfo createdModel = getById(modelInfo.getId());
 
         eventPublisher
@@ -378,7 +439,7 @@ public class ModelRepository extends AbstractRepositoryOperation
   @Override
   public ModelInfo getById(ModelId modelId) {
     final ModelId finalModelId = ifLatestTagSetUpdateModelId(modelId);
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       try {
         ModelIdHelper modelIdHelper = new ModelIdHelper(finalModelId);
         Node folderNode = session.getNode(modelIdHelper.getFullPath());
@@ -391,6 +452,25 @@ public class ModelRepository extends AbstractRepositoryOperation
     });
   }
 
+  @Override
+  public List<ModelInfo> getByIds(Collection<ModelId> modelIds) {
+    return doInReadSession(session -> {
+      List<ModelInfo> modelInfos = new ArrayList<>(modelIds.size());
+      for (ModelId modelId : modelIds) {
+        try {
+          ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
+          Node folderNode = session.getNode(modelIdHelper.getFullPath());
+          modelInfos.add(getModelResource(modelId, folderNode));
+        } catch (PathNotFoundException e) {
+          logger.debug("Model " + modelId.getPrettyFormat() + " does not exist");
+        } catch (AccessDeniedException e) {
+          throw new NotAuthorizedException(modelId, e);
+        }
+      }
+      return modelInfos;
+    });
+  }
+
   @Override
   public ModelId getLatestModelVersionId(ModelId modelId) {
     return getModelVersions(modelId).stream()
@@ -401,7 +481,7 @@ public class ModelRepository extends AbstractRepositoryOperation
   }
 
   private List<ModelInfo> getModelVersions(ModelId modelId) {
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       modelId.setVersion("");
       ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
       try {
@@ -433,19 +513,78 @@ public class ModelRepository extends AbstractRepositoryOperation
       throw new NotAuthorizedException(modelId, null);
     }
 
+    Node fileNode = folderNode.getNodes(FILE_NODES).nextNode();
+    Optional<ModelInfo> cachedModelInfo = getCachedModelInfo(fileNode);
+    if (cachedModelInfo.isPresent()) {
+      return cachedModelInfo.get();
+    }
+
     ModelInfo modelResource = createModelResource(folderNode);
 
-    if (!getAttachmentsByTag(modelId, TAG_IMAGE).isEmpty()) {
+    List<Attachment> attachments = getAttachments(modelResource.getId());
+    if (attachments.stream().anyMatch(attachment -> attachment.getTags().contains(TAG_IMAGE))) {
       modelResource.setHasImage(true);
     }
 
-    if (!getAttachmentsByTag(modelId, TAG_IMPORTED).isEmpty()) {
+    if (attachments.stream().anyMatch(attachment -> attachment.getTags().contains(TAG_IMPORTED))) {
       modelResource.setImported(true);
     }
 
+    cacheModelInfo(fileNode, modelResource);
+
     return modelResource;
   }
 
+  private Optional<ModelInfo> getCachedModelInfo(Node fileNode) throws RepositoryException {
+    if (modelInfoCache == null) {
+      return Optional.empty();
+    }
+    Session session = fileNode.getSession();
+    return modelInfoCache.get(session.getWorkspace().getName(), session.getUserID(),
+        ModelIdHelper.fromPath(fileNode.getParent().getPath()), getModificationStamp(fileNode));
+  }
+
+  private void cacheModelInfo(Node fileNode, ModelInfo modelInfo) throws RepositoryException {
+    if (modelInfoCache == null) {
+      return;
+    }
+    Session session = fileNode.getSession();
+    modelInfoCache.put(session.getWorkspace().getName(), session.getUserID(), modelInfo,
+        getModificationStamp(fileNode));
+  }
+
+  private Optional<ModelInfo> getCachedBasicModelInfo(Node fileNode) throws RepositoryException {
+    if (modelInfoCache == null) {
+      return Optional.empty();
+    }
+    Session session = fileNode.getSession();
+    return modelInfoCache.getBasic(session.getWorkspace().getName(), session.getUserID(),
+        ModelIdHelper.fromPath(fileNode.getParent().getPath()), getModificationStamp(fileNode));
+  }
+
+  private void cacheBasicModelInfo(Node fileNode, ModelInfo modelInfo)
+      throws RepositoryException {
+    if (modelInfoCache == null) {
+      return;
+    }
+    Session session = fileNode.getSession();
+    modelInfoCache.putBasic(session.getWorkspace().getName(), session.getUserID(), modelInfo,
+        getModificationStamp(fileNode));
+  }
+
+  private void evictFromCache(ModelId modelId) {
+    if (modelInfoCache != null) {
+      modelInfoCache.invalidate(modelId);
+    }
+  }
+
+  private static long getModificationStamp(Node fileNode) throws RepositoryException {
+    if (fileNode.hasProperty(JCR_LAST_MODIFIED)) {
+      return fileNode.getProperty(JCR_LAST_MODIFIED).getDate().getTimeInMillis();
+    }
+    return fileNode.getProperty(JCR_CREATED).getDate().getTimeInMillis();
+  }
+
   @Override
   public ModelInfo getByIdWithPlatformMappings(ModelId modelId) throws NotAuthorizedException {
     ModelInfo model = this.getById(modelId);
@@ -475,13 +614,18 @@ public class ModelRepository extends AbstractRepositoryOperation
   }
 
   public ModelInfo getBasicInfo(ModelId modelId) {
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       try {
         ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
 
         Node folderNode = session.getNode(modelIdHelper.getFullPath());
 
         Node modelFileNode = folderNode.getNodes(FILE_NODES).nextNode();
+        Optional<ModelInfo> cachedModelInfo = getCachedBasicModelInfo(modelFileNode);
+        if (cachedModelInfo.isPresent()) {
+          return cachedModelInfo.get();
+        }
+
         ModelInfo modelInfo = createMinimalModelInfo(modelFileNode);
 
         setReferencesOnResource(folderNode, modelInfo);
@@ -495,6 +639,8 @@ public class ModelRepository extends AbstractRepositoryOperation
           }
         }
 
+        cacheBasicModelInfo(modelFileNode, modelInfo);
+
         return modelInfo;
       } catch (PathNotFoundException e) {
         return null;
@@ -506,12 +652,71 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   @Override
   public List<ModelInfo> getModelsReferencing(ModelId modelId) {
-    return doInSession(session -> {
-      List<ModelInfo> referencingModels = Lists.newArrayList();
+    return getModelsReferencing(Collections.singleton(modelId));
+  }
+
+  /**
+   * Looks up the referencing models by the values of their references, which are kept in a
+   * dedicated value index of the repository (see the modelReferences index of the repository
+   * configuration).
+   */
+  @Override
+  public List<ModelInfo> getModelsReferencing(Collection<ModelId> modelIds) {
+    if (modelIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return queryModels("SELECT * FROM [vorto:meta] WHERE [vorto:references] IN ("
+        + toLiterals(modelIds) + ")");
+  }
+
+  /**
+   * Resolves the given model together with all its dependencies first and then looks up the
+   * mapping models of the whole dependency set at once. Dependencies which do not exist or cannot
+   * be read are skipped, the mapping models of the other dependencies are still returned.
+   */
+  @Override
+  public List<ModelInfo> getMappingModelsForTargetPlatform(ModelId modelId, String targetPlatform,
+      Optional<String> version) {
+    logger.info("Fetching mapping models for model ID " + modelId.getPrettyFormat() + " and key "
+        + targetPlatform);
+    return new ModelDependencyResolver(repositoryFactory).resolveMappings(modelId, targetPlatform,
+        version);
+  }
+
+  /**
+   * Looks up all mapping models referencing one of the given models with a single query over the
+   * reference index. The target platform is then checked on the matched mapping models only.
+   */
+  @Override
+  public List<ModelInfo> getMappingModelsForTargetPlatform(Collection<ModelId> modelIds,
+      String targetPlatform, Optional<String> version) {
+    if (modelIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<ModelInfo> mappingResources = new ArrayList<>();
+    for (ModelInfo mappingModelInfo : queryModels(
+        "SELECT * FROM [vorto:meta] WHERE [vorto:type] = '" + ModelType.Mapping.name()
+            + "' AND [vorto:references] IN (" + toLiterals(modelIds) + ")")) {
+      if (version.isPresent() && !mappingModelInfo.getId().getVersion().equals(version.get())) {
+        continue;
+      }
+
+      if (mappingModelInfo.getTargetPlatformKey() != null) {
+        if (targetPlatform.equalsIgnoreCase(mappingModelInfo.getTargetPlatformKey())) {
+          mappingResources.add(mappingModelInfo);
+        }
+      } else if (getEMFResource(mappingModelInfo.getId()).matchesTargetPlatform(targetPlatform)) {
+        mappingResources.add(mappingModelInfo);
+      }
+    }
+    return mappingResources;
+  }
+
+  private List<ModelInfo> queryModels(String sql2) {
+    return doInReadSession(session -> {
+      List<ModelInfo> models = Lists.newArrayList();
       QueryManager queryManager = session.getWorkspace().getQueryManager();
-      Query query = queryManager.createQuery(
-          "SELECT * FROM [vorto:meta] WHERE [vorto:references] = '" + modelId.toString() + "'",
-          Query.JCR_SQL2);
+      Query query = queryManager.createQuery(sql2, Query.JCR_SQL2);
 
       QueryResult result = query.execute();
       RowIterator rowIterator = result.getRows();
@@ -519,53 +724,24 @@ public class ModelRepository extends AbstractRepositoryOperation
         Row row = rowIterator.nextRow();
         Node currentNode = row.getNode();
         try {
-          referencingModels
-              .add(createMinimalModelInfo(currentNode.getNodes(FILE_NODES).nextNode()));
+          models.add(createMinimalModelInfo(currentNode.getNodes(FILE_NODES).nextNode()));
         } catch (Exception ex) {
           logger.error("Error while converting node to a ModelId", ex);
         }
       }
 
-      return referencingModels;
+      return models;
     });
   }
 
-  @Override
-  public List<ModelInfo> getMappingModelsForTargetPlatform(ModelId modelId, String targetPlatform,
-      Optional<String> version) {
-    logger.info("Fetching mapping models for model ID " + modelId.getPrettyFormat() + " and key "
-        + targetPlatform);
-    Set<ModelInfo> mappingResources = new HashSet<>();
-    ModelInfo modelResource = getBasicInfo(modelId);
-    if (modelResource != null) {
-      for (ModelInfo referenceeModelInfo : this.getModelsReferencing(modelId)) {
-        if (referenceeModelInfo.getType() != ModelType.Mapping || version.isPresent()
-            && !referenceeModelInfo.getId().getVersion().equals(version.get())) {
-          continue;
-        }
-
-        if (referenceeModelInfo.getTargetPlatformKey() != null) {
-          if (targetPlatform.equalsIgnoreCase(referenceeModelInfo.getTargetPlatformKey())) {
-            mappingResources.add(referenceeModelInfo);
-          }
-        } else if (getEMFResource(referenceeModelInfo.getId()).matchesTargetPlatform(targetPlatform)) {
-          mappingResources.add(referenceeModelInfo);
-
-        }
-      }
-
-      for (ModelId referencedModelId : modelResource.getReferences()) {
-
-        mappingResources.addAll(this.repositoryFactory.getRepositoryByModel(referencedModelId)
-            .getMappingModelsForTargetPlatform(referencedModelId, targetPlatform, version));
-      }
-    }
-    return new ArrayList<ModelInfo>(mappingResources);
+  private static String toLiterals(Collection<ModelId> modelIds) {
+    return modelIds.stream().map(modelId -> "'" + modelId.toString() + "'")
+        .collect(Collectors.joining(","));
   }
 
   @Override
   public ModelResource getEMFResource(ModelId modelId) {
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       try {
         ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
         Node folderNode = session.getNode(modelIdHelper.getFullPath());
@@ -605,6 +781,8 @@ public class ModelRepository extends AbstractRepositoryOperation
         item.remove();
         session.save();
 
+        evictFromCache(modelId);
+
         eventPublisher.publishEvent(new AppEvent(this, modelId, null, EventType.MODEL_DELETED));
 
         return null;
@@ -647,6 +825,8 @@ public class ModelRepository extends AbstractRepositoryOperation
 
         session.save();
 
+        evictFromCache(modelId);
+
         eventPublisher
             .publishEvent(new AppEvent(this, getBasicInfo(modelId), null, EventType.MODEL_UPDATED));
 
@@ -697,7 +877,7 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   @Override
   public Optional<FileContent> getFileContent(ModelId modelId, Optional<String> fileName) {
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       try {
         ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
 
@@ -801,8 +981,11 @@ public class ModelRepository extends AbstractRepositoryOperation
       Binary binary = session.getValueFactory()
           .createBinary(new ByteArrayInputStream(fileContent.getContent()));
       contentNode.setProperty(JCR_DATA, binary);
+      AttachmentTagSummary.update(modelFolderNode);
       session.save();
 
+      evictFromCache(modelId);
+
       eventPublisher.publishEvent(
           new AppEvent(this, getById(modelId), userContext, EventType.MODEL_UPDATED));
       return true;
@@ -813,7 +996,7 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   @Override
   public List<Attachment> getAttachments(ModelId modelId) {
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       try {
         ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
         Node modelFolderNode = session.getNode(modelIdHelper.getFullPath());
@@ -886,7 +1069,7 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   @Override
   public Optional<FileContent> getAttachmentContent(ModelId modelId, String fileName) {
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       try {
         ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
         Node modelFolderNode = session.getNode(modelIdHelper.getFullPath());
@@ -928,7 +1111,13 @@ public class ModelRepository extends AbstractRepositoryOperation
           if (attachmentFolderNode.hasNode(fileName)) {
             Node attachmentNode = attachmentFolderNode.getNode(fileName);
             attachmentNode.remove();
+            AttachmentTagSummary.update(modelFolderNode);
             session.save();
+
+            evictFromCache(modelId);
+
+            eventPublisher.publishEvent(
+                new AppEvent(this, getById(modelId), null, EventType.MODEL_UPDATED));
             return true;
           }
         }
@@ -974,7 +1163,7 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   @Override
   public boolean exists(ModelId modelId) {
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       try {
         ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
         return session.itemExists(modelIdHelper.getFullPath());
@@ -988,7 +1177,7 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   @Override
   public String getTenantId() {
-    return doInSession(session -> {
+    return doInReadSession(session -> {
       return session.getWorkspace().getName();
     });
   }
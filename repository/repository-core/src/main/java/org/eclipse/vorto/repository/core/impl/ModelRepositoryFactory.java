@@ -36,6 +36,9 @@ import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
 import org.eclipse.vorto.repository.core.TenantNotFoundException;
 import org.eclipse.vorto.repository.core.UserLoginException;
+import org.eclipse.vorto.repository.core.impl.cache.ModelInfoCache;
+import org.eclipse.vorto.repository.core.impl.cache.ModelPolicyCache;
+import org.eclipse.vorto.repository.core.impl.cache.TenantRoleCache;
 import org.eclipse.vorto.repository.core.impl.parser.ErrorMessageProvider;
 import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
 import org.eclipse.vorto.repository.core.impl.utils.ModelSearchUtil;
@@ -54,6 +57,7 @@ import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component("modelRepositoryFactory")
 public class ModelRepositoryFactory implements IModelRepositoryFactory, ApplicationEventPublisherAware {
@@ -89,6 +93,18 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory, Applicat
   @Autowired
   private RequestRepositorySessionHelper sessionHelper;
 
+  @Autowired(required = false)
+  private ModelInfoCache modelInfoCache;
+
+  @Autowired(required = false)
+  private TenantRoleCache tenantRoleCache;
+
+  @Autowired(required = false)
+  private ModelPolicyCache modelPolicyCache;
+
+  @Autowired(required = false)
+  private JcrSessionPool sessionPool;
+
   private ApplicationEventPublisher eventPublisher = null;
 
   private Repository repository;
@@ -139,6 +155,22 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory, Applicat
   public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
     this.eventPublisher = applicationEventPublisher;
   }
+
+  public void setModelInfoCache(ModelInfoCache modelInfoCache) {
+    this.modelInfoCache = modelInfoCache;
+  }
+
+  public void setTenantRoleCache(TenantRoleCache tenantRoleCache) {
+    this.tenantRoleCache = tenantRoleCache;
+  }
+
+  public void setModelPolicyCache(ModelPolicyCache modelPolicyCache) {
+    this.modelPolicyCache = modelPolicyCache;
+  }
+
+  public void setSessionPool(JcrSessionPool sessionPool) {
+    this.sessionPool = sessionPool;
+  }
   
   @Override
   public IModelRetrievalService getModelRetrievalService(Authentication user) {
@@ -173,6 +205,7 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory, Applicat
     RepositoryManager repoManager = new RepositoryManager();
     repoManager.setRepositorySessionHelperSupplier(namedWorkspaceSessionSupplier(tenant, user));
     repoManager.setDefaultSessionSupplier(defaultWorkspaceSessionSupplier(user));
+    repoManager.setSessionPool(sessionPool);
     return repoManager;
   }
 
@@ -180,6 +213,7 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory, Applicat
   public IModelPolicyManager getPolicyManager(String tenant, Authentication user) {
     ModelPolicyManager policyManager = new ModelPolicyManager(userAccountService, this);
     policyManager.setRepositorySessionHelperSupplier(namedWorkspaceSessionSupplier(tenant, user));
+    policyManager.setPolicyCache(modelPolicyCache);
     return policyManager;
   }
 
@@ -193,6 +227,7 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory, Applicat
         this.attachmentValidator, this.modelParserFactory, getModelRetrievalService(user),this,tenantService,getPolicyManager(tenant, user),errorMessageProvider);
     modelRepository.setRepositorySessionHelperSupplier(namedWorkspaceSessionSupplier(tenant, user));
     modelRepository.setApplicationEventPublisher(eventPublisher);
+    modelRepository.setModelInfoCache(modelInfoCache);
     
     return modelRepository;
   }
@@ -209,13 +244,18 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory, Applicat
   
   private Supplier<RequestRepositorySessionHelper> namedWorkspaceSessionSupplier(String tenant, Authentication user) {
     return () -> {
-      if(sessionHelper == null)
-        sessionHelper = new RequestRepositorySessionHelper(false);
-      sessionHelper.setRepository(repository);
-      sessionHelper.setTenantId(tenant);
-      sessionHelper.setRolesInTenant(getUserRolesInTenant(tenant, user.getName()));
-      sessionHelper.setUser(user);
-      return sessionHelper;
+      // the request scoped helper is only available on request threads, any other thread (e.g.
+      // workers of a reindexing) logs in for each operation
+      RequestRepositorySessionHelper helper =
+          sessionHelper != null && RequestContextHolder.getRequestAttributes() != null
+              ? sessionHelper
+              : new RequestRepositorySessionHelper(false);
+      helper.setRepository(repository);
+      helper.setTenantId(tenant);
+      helper.setRolesInTenant(getUserRolesInTenant(tenant, user.getName()));
+      helper.setUser(user);
+      helper.setSessionPool(sessionPool != null && sessionPool.isEnabled() ? sessionPool : null);
+      return helper;
     };
   }
   
@@ -232,16 +272,25 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory, Applicat
   }
 
   private Set<Role> getUserRolesInTenant(String tenantId, String username) {
-    // TODO improve caching for non anon users
     if(UserContext.isAnonymous(username))
       return new HashSet<Role>();
+    if (tenantRoleCache != null) {
+      Optional<Set<Role>> cachedRoles = tenantRoleCache.get(tenantId, username);
+      if (cachedRoles.isPresent()) {
+        return cachedRoles.get();
+      }
+    }
     Tenant tenant = tenantService.getTenant(tenantId).orElseThrow(
         () -> new IllegalArgumentException("tenantId '" + tenantId + "' doesn't exist!"));
-    return tenant
+    Set<Role> roles = tenant
         .getUser(username).map(
             tUser -> tUser.getRoles().stream().map(
                 userRole -> userRole.getRole()).collect(Collectors.toSet()))
         .orElse(Collections.emptySet());
+    if (tenantRoleCache != null) {
+      tenantRoleCache.put(tenantId, username, roles);
+    }
+    return roles;
   }
 
   @Override
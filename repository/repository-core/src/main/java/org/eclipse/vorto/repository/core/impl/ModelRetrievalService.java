@@ -12,10 +12,14 @@
  */
 package org.eclipse.vorto.repository.core.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import org.eclipse.vorto.model.ModelId;
@@ -49,4 +53,32 @@ public class ModelRetrievalService implements IModelRetrievalService {
     return modelReferencesMap;
   }
 
+  /**
+   * Walks the references level by level. The models found on one level are looked up together,
+   * with a single query per tenant, until no further referencing models are found.
+   */
+  @Override
+  public Map<String, List<ModelInfo>> getModelsReferencingTransitively(ModelId modelId) {
+    Map<String, List<ModelInfo>> modelReferencesMap = new HashMap<>();
+    Set<ModelId> visited = new HashSet<>();
+    visited.add(modelId);
+
+    Collection<String> tenants = tenantsSupplier.get();
+    Set<ModelId> referenced = Collections.singleton(modelId);
+    while (!referenced.isEmpty()) {
+      Set<ModelId> referencing = new HashSet<>();
+      for (String tenant : tenants) {
+        for (ModelInfo modelInfo : modelRepoSource.apply(tenant).getModelsReferencing(referenced)) {
+          if (visited.add(modelInfo.getId())) {
+            modelReferencesMap.computeIfAbsent(tenant, key -> new ArrayList<>()).add(modelInfo);
+            referencing.add(modelInfo.getId());
+          }
+        }
+      }
+      referenced = referencing;
+    }
+
+    return modelReferencesMap;
+  }
+
 }
@@ -88,6 +88,10 @@ public class ModelSequencer extends Sequencer {
     if (referencesAsValues.isPresent()) {
       folderNode.setProperty("vorto:references", referencesAsValues.get());
     }
+
+    if (!folderNode.hasProperty(AttachmentTagSummary.VORTO_ATTACHMENT_TAGS)) {
+      AttachmentTagSummary.update(folderNode);
+    }
     
     return true;
   }
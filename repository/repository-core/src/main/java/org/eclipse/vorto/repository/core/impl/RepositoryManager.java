@@ -12,15 +12,26 @@
  */
 package org.eclipse.vorto.repository.core.impl;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.function.Supplier;
 import javax.jcr.ImportUUIDBehavior;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Workspace;
+import javax.jcr.query.Query;
+import javax.jcr.query.QueryManager;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.repository.core.FatalModelRepositoryException;
 import org.eclipse.vorto.repository.core.IRepositoryManager;
@@ -29,13 +40,25 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
 
   private static Logger logger = Logger.getLogger(RepositoryManager.class);
   
+  private static final int MIGRATION_BATCH_SIZE = 100;
+
   private Supplier<Session> defaultSessionSupplier;
+
+  private JcrSessionPool sessionPool = null;
   
   @Override
   public byte[] backup() {
-    return doInSession(session -> {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    backup(baos);
+    return baos.toByteArray();
+  }
+
+  @Override
+  public void backup(OutputStream out) {
+    doInSession(session -> {
       try {
-        return backupRepository(session);
+        backupRepository(session, out);
+        return null;
       } catch (IOException e) {
         logger.error("Exception while making a backup", e);
         throw new FatalModelRepositoryException(
@@ -44,47 +67,69 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
     });
   }
 
-  private byte[] backupRepository(Session session) throws RepositoryException, IOException {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    session.exportSystemView("/", baos, false, false);
-    baos.close();
-    return baos.toByteArray();
+  private void backupRepository(Session session, OutputStream out)
+      throws RepositoryException, IOException {
+    session.exportSystemView("/", new CloseShieldOutputStream(out), false, false);
   }
 
   @Override
   public void restore(byte[] data) {
+    restore(new ByteArrayInputStream(data));
+  }
+
+  @Override
+  public void restore(InputStream data) {
     doInSession(session -> {
-      byte[] oldData = null;
+      Path snapshot = Files.createTempFile("vorto-rollback-", ".xml");
       try {
-        oldData = backupRepository(session);
-
-        logger.info("Attempting to restore backup");
-        session.getWorkspace().importXML("/", new ByteArrayInputStream(data),
-            ImportUUIDBehavior.IMPORT_UUID_COLLISION_REPLACE_EXISTING);
-        logger.info("Restored backup succesfully");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(snapshot))) {
+          backupRepository(session, out);
+        }
 
-      } catch (RepositoryException | IOException e) {
-        logger.error("Backup failed. Will try to revert the restoration with previous data.", e);
         try {
-          logger.info("Reverting to old data.");
-          session.getWorkspace().importXML("/", new ByteArrayInputStream(oldData),
-              ImportUUIDBehavior.IMPORT_UUID_COLLISION_REPLACE_EXISTING);
-          logger.info("Reverted the restoration succesfully");
-        } catch (RepositoryException | IOException ex) {
-          logger.error("Revert of restoration unsuccesfull", ex);
+          restoreRepository(session, data);
+        } catch (RepositoryException | IOException e) {
+          logger.error("Backup failed. Will try to revert the restoration with previous data.", e);
+          try (InputStream oldData = new BufferedInputStream(Files.newInputStream(snapshot))) {
+            logger.info("Reverting to old data.");
+            session.getWorkspace().importXML("/", oldData,
+                ImportUUIDBehavior.IMPORT_UUID_COLLISION_REPLACE_EXISTING);
+            logger.info("Reverted the restoration succesfully");
+          } catch (RepositoryException | IOException ex) {
+            logger.error("Revert of restoration unsuccesfull", ex);
+          }
+          throw e;
         }
-        throw e;
+      } finally {
+        Files.deleteIfExists(snapshot);
       }
       return null;
     });
   }
 
+  @Override
+  public void restoreWithoutSnapshot(InputStream data) {
+    doInSession(session -> {
+      restoreRepository(session, data);
+      return null;
+    });
+  }
+
+  private void restoreRepository(Session session, InputStream data)
+      throws RepositoryException, IOException {
+    logger.info("Attempting to restore backup");
+    session.getWorkspace().importXML("/", data,
+        ImportUUIDBehavior.IMPORT_UUID_COLLISION_REPLACE_EXISTING);
+    logger.info("Restored backup succesfully");
+  }
+
   @Override
   public boolean createTenantWorkspace(final String tenantId) {
     try {
       Workspace workspace = defaultSessionSupplier.get().getWorkspace();
       if (!isWorkspaceExist(workspace, tenantId)) {
         workspace.createWorkspace(tenantId);
+        invalidatePooledSessions(tenantId);
         return true;
       } else {
         logger.info("Workspace with ID '"+tenantId+"' already exists.");
@@ -116,10 +161,52 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
     return doInSession(session -> {
       Workspace workspace = session.getWorkspace();
       workspace.deleteWorkspace(tenantId);
+      invalidatePooledSessions(tenantId);
       return true;
     });
   }
 
+  /**
+   * Logs out the idle pooled read sessions of the given workspace, as they would still be bound
+   * to the deleted workspace and not to a recreated workspace of the same name
+   */
+  private void invalidatePooledSessions(String tenantId) {
+    if (sessionPool != null) {
+      sessionPool.invalidateWorkspace(tenantId);
+    }
+  }
+
+  @Override
+  public int migrateAttachmentTags() {
+    return doInSession(session -> {
+      QueryManager queryManager = session.getWorkspace().getQueryManager();
+      Query query = queryManager.createQuery(
+          "SELECT * FROM [vorto:meta] WHERE [vorto:type] IS NOT NULL AND ["
+              + AttachmentTagSummary.VORTO_ATTACHMENT_TAGS + "] IS NULL",
+          Query.JCR_SQL2);
+
+      int migrated = 0;
+      NodeIterator nodes = query.execute().getNodes();
+      while (nodes.hasNext()) {
+        Node node = nodes.nextNode();
+        // the model files carry the model properties, too, but only their folders are summarized
+        if (node.getNodes(FILE_NODES).hasNext()) {
+          AttachmentTagSummary.update(node);
+          if (++migrated % MIGRATION_BATCH_SIZE == 0) {
+            session.save();
+          }
+        }
+      }
+      session.save();
+
+      if (migrated > 0) {
+        logger.info("Summarized the attachment tags of " + migrated + " models in workspace '"
+            + session.getWorkspace().getName() + "'");
+      }
+      return migrated;
+    });
+  }
+
   public Supplier<Session> getDefaultSessionSupplier() {
     return defaultSessionSupplier;
   }
@@ -127,4 +214,8 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
   public void setDefaultSessionSupplier(Supplier<Session> defaultSessionSupplier) {
     this.defaultSessionSupplier = defaultSessionSupplier;
   }
+
+  public void setSessionPool(JcrSessionPool sessionPool) {
+    this.sessionPool = sessionPool;
+  }
 }
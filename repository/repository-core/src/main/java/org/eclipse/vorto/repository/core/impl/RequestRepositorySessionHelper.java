@@ -42,6 +42,7 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
     private Repository repository;
     private Set<Role> roleSet;
     private Supplier<Session> internalSessionSupplier;
+    private JcrSessionPool sessionPool;
 
     public RequestRepositorySessionHelper() {
         this(true);
@@ -101,6 +102,43 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
         return internalSessionSupplier.get();
     }
 
+    /**
+     * Gets a session for read operations only. If the request already works with a session of the
+     * tenant, that session is used, so that the read sees the same state. Otherwise the session is
+     * borrowed from the session pool, if there is one.
+     * The session must be handed back by {@link #releaseReadSession(Session)}.
+     */
+    public Session getReadSession() {
+        Session requestSession = getRequestSession();
+        if (sessionPool == null || requestSession != null) {
+            return getSession();
+        }
+        try {
+            return sessionPool.borrow(repository, tenantId, user, roleSet);
+        } catch (LoginException e) {
+            throw new UserLoginException(user.getName(), e);
+        } catch (NoSuchWorkspaceException e) {
+            throw new TenantNotFoundException(tenantId, e);
+        } catch (RepositoryException e) {
+            throw new FatalModelRepositoryException("Error while getting repository given tenant ["
+                    + tenantId + "] and user [" + user.getName() + "]", e);
+        }
+    }
+
+    public void releaseReadSession(Session session) {
+        if (sessionPool == null || !sessionPool.release(session)) {
+            logoutSessionIfNotReusable(session);
+        }
+    }
+
+    private synchronized Session getRequestSession() {
+        if (this.repositorySessionMap == null) {
+            return null;
+        }
+        Session mySession = this.repositorySessionMap.get(tenantId);
+        return mySession != null && mySession.isLive() ? mySession : null;
+    }
+
     private synchronized Session getSessionInternal(String tenant, Authentication user) throws RepositoryException {
         Session mySession;
         mySession = this.repositorySessionMap.get(tenant);
@@ -141,6 +179,10 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
         return tenantId;
     }
 
+    public void setSessionPool(JcrSessionPool sessionPool) {
+        this.sessionPool = sessionPool;
+    }
+
     public void setUser(Authentication user) {
         this.user = user;
     }
@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+
+/**
+ * Second-level cache of {@link ModelInfo} lookups, shared by all repository instances created by
+ * the ModelRepositoryFactory.
+ *
+ * Entries are keyed by tenant, session user and model id, so that a cached lookup never exposes
+ * a model (or the referencing models collected for it) to a user who could not read it from the
+ * JCR directly. Every entry carries the modification stamp of the model file node it was built
+ * from and is only served if the node still carries the same stamp. As the stamp is read from the
+ * (clustered) JCR, entries written by another cluster node are detected as stale. Changes that do
+ * not touch the model node itself, such as new models referencing it, are evicted locally through
+ * the model {@link AppEvent}s and are otherwise bounded by the configured time to live.
+ *
+ * Besides the complete model infos, the cache keeps the basic model infos returned by
+ * ModelRepository.getBasicInfo, which lack the file name and the attachment flags. They are only
+ * served to basic lookups. To evict the entries concerning a model without scanning the cache,
+ * the keys of the entries are indexed by the model, its references and its referencing models.
+ */
+@Component
+public class ModelInfoCache implements ApplicationListener<AppEvent> {
+
+  private static Logger logger = Logger.getLogger(ModelInfoCache.class);
+
+  private final Cache<CacheKey, CacheEntry> cache;
+
+  private final Map<String, Set<CacheKey>> keysByModel = new ConcurrentHashMap<>();
+
+  @Autowired
+  public ModelInfoCache(@Value("${repo.cache.modelInfo.maxSize:5000}") long maxSize,
+      @Value("${repo.cache.modelInfo.expireAfterSeconds:300}") long expireAfterSeconds) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxSize)
+        .expireAfterWrite(expireAfterSeconds, TimeUnit.SECONDS)
+        .removalListener((RemovalListener<CacheKey, CacheEntry>) this::onRemoval).build();
+  }
+
+  /**
+   * Looks up a cached model info
+   *
+   * @param tenantId tenant (workspace) the model is stored in
+   * @param userId JCR session user id the lookup is done for
+   * @param modelId id of the model
+   * @param stamp current modification stamp of the model file node
+   * @return a copy of the cached model info, or empty if there is no entry or it is outdated
+   */
+  public Optional<ModelInfo> get(String tenantId, String userId, ModelId modelId, long stamp) {
+    return get(new CacheKey(tenantId, userId, modelId), stamp, false);
+  }
+
+  /**
+   * Same as {@link #get(String, String, ModelId, long)}, but also serves basic model infos
+   */
+  public Optional<ModelInfo> getBasic(String tenantId, String userId, ModelId modelId,
+      long stamp) {
+    return get(new CacheKey(tenantId, userId, modelId), stamp, true);
+  }
+
+  private Optional<ModelInfo> get(CacheKey key, long stamp, boolean basic) {
+    CacheEntry entry = cache.getIfPresent(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (entry.stamp != stamp) {
+      cache.invalidate(key);
+      return Optional.empty();
+    }
+    if (!basic && !entry.complete) {
+      return Optional.empty();
+    }
+    return Optional.of(copy(entry.modelInfo));
+  }
+
+  public void put(String tenantId, String userId, ModelInfo modelInfo, long stamp) {
+    put(new CacheKey(tenantId, userId, modelInfo.getId()),
+        new CacheEntry(copy(modelInfo), stamp, true));
+  }
+
+  /**
+   * Caches a basic model info, unless the complete model info of the same modification stamp is
+   * cached already
+   */
+  public void putBasic(String tenantId, String userId, ModelInfo modelInfo, long stamp) {
+    CacheKey key = new CacheKey(tenantId, userId, modelInfo.getId());
+    CacheEntry entry = cache.getIfPresent(key);
+    if (entry == null || !entry.complete || entry.stamp != stamp) {
+      put(key, new CacheEntry(copy(modelInfo), stamp, false));
+    }
+  }
+
+  private synchronized void put(CacheKey key, CacheEntry entry) {
+    Set<String> modelIds = getModelIds(entry);
+    // indexed first, so that an eviction of one of the models never misses the entry
+    modelIds.forEach(modelId -> keysByModel
+        .computeIfAbsent(modelId, id -> ConcurrentHashMap.newKeySet()).add(key));
+    CacheEntry replaced = cache.asMap().put(key, entry);
+    if (replaced != null) {
+      Set<String> outdatedModelIds = getModelIds(replaced);
+      outdatedModelIds.removeAll(modelIds);
+      unindex(key, outdatedModelIds);
+    }
+  }
+
+  /**
+   * Evicts all entries of the given model as well as all entries whose references or referencing
+   * models contain the given model.
+   *
+   * @param modelId
+   */
+  public synchronized void invalidate(ModelId modelId) {
+    if (modelId == null) {
+      return;
+    }
+    Set<CacheKey> keys = keysByModel.remove(modelId.getPrettyFormat());
+    if (keys != null) {
+      cache.invalidateAll(keys);
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    cache.invalidateAll();
+    keysByModel.clear();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    if (event.getEventType() == EventType.MODEL_CREATED
+        || event.getEventType() == EventType.MODEL_UPDATED
+        || event.getEventType() == EventType.MODEL_DELETED) {
+      Object subject = event.getSubject();
+      if (subject instanceof ModelInfo) {
+        ModelInfo modelInfo = (ModelInfo) subject;
+        invalidate(modelInfo.getId());
+        modelInfo.getReferences().forEach(this::invalidate);
+      } else if (subject instanceof ModelId) {
+        invalidate((ModelId) subject);
+      } else {
+        logger.debug("Unknown model event subject, evicting all cached model infos");
+        invalidateAll();
+      }
+    } else if (event.getEventType() == EventType.TENANT_DELETED
+        || event.getEventType() == EventType.TENANT_UPDATED) {
+      invalidateAll();
+    }
+  }
+
+  private synchronized void onRemoval(RemovalNotification<CacheKey, CacheEntry> notification) {
+    // a replaced entry is unindexed by put, as far as the new entry does not need the index
+    if (notification.getCause() != RemovalCause.REPLACED && notification.getValue() != null) {
+      unindex(notification.getKey(), getModelIds(notification.getValue()));
+    }
+  }
+
+  private void unindex(CacheKey key, Set<String> modelIds) {
+    modelIds.forEach(modelId -> keysByModel.computeIfPresent(modelId, (id, keys) -> {
+      keys.remove(key);
+      return keys.isEmpty() ? null : keys;
+    }));
+  }
+
+  /**
+   * @return the model of the entry, its references and its referencing models
+   */
+  private static Set<String> getModelIds(CacheEntry entry) {
+    Set<String> modelIds = new HashSet<>();
+    modelIds.add(entry.modelInfo.getId().getPrettyFormat());
+    entry.modelInfo.getReferences().forEach(modelId -> modelIds.add(modelId.getPrettyFormat()));
+    entry.modelInfo.getReferencedBy().forEach(modelId -> modelIds.add(modelId.getPrettyFormat()));
+    return modelIds;
+  }
+
+  private static ModelInfo copy(ModelInfo source) {
+    ModelInfo copy = new ModelInfo(ModelId.fromPrettyFormat(source.getId().getPrettyFormat()),
+        source.getType());
+    copy.setDisplayName(source.getDisplayName());
+    copy.setDescription(source.getDescription());
+    copy.setFileName(source.getFileName());
+    copy.setAuthor(source.getAuthor());
+    copy.setCreationDate(source.getCreationDate());
+    copy.setModificationDate(source.getModificationDate());
+    copy.setLastModifiedBy(source.getLastModifiedBy());
+    copy.setState(source.getState());
+    copy.setVisibility(source.getVisibility());
+    copy.setTargetPlatformKey(source.getTargetPlatformKey());
+    copy.setHasImage(source.isHasImage());
+    copy.setImported(source.getImported());
+    copy.setReferences(new ArrayList<>(source.getReferences()));
+    copy.setReferencedBy(new ArrayList<>(source.getReferencedBy()));
+    copy.setPlatformMappings(new HashMap<>(source.getPlatformMappings()));
+    return copy;
+  }
+
+  private static class CacheKey {
+    private final String tenantId;
+    private final String userId;
+    private final String modelId;
+
+    CacheKey(String tenantId, String userId, ModelId modelId) {
+      this.tenantId = tenantId;
+      this.userId = userId;
+      this.modelId = modelId.getPrettyFormat();
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tenantId, userId, modelId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (obj == null || getClass() != obj.getClass())
+        return false;
+      CacheKey other = (CacheKey) obj;
+      return Objects.equals(tenantId, other.tenantId) && Objects.equals(userId, other.userId)
+          && Objects.equals(modelId, other.modelId);
+    }
+  }
+
+  private static class CacheEntry {
+    private final ModelInfo modelInfo;
+    private final long stamp;
+    private final boolean complete;
+
+    CacheEntry(ModelInfo modelInfo, long stamp, boolean complete) {
+      this.modelInfo = modelInfo;
+      this.stamp = stamp;
+      this.complete = complete;
+    }
+  }
+}
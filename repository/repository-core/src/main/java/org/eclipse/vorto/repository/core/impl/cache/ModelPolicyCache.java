@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.PolicyEntry;
+import org.eclipse.vorto.repository.core.PolicyEntry.Permission;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.impl.utils.ModelIdHelper;
+import org.eclipse.vorto.repository.domain.Tenant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache of the access control policies of model nodes, shared by all policy managers created by
+ * the ModelRepositoryFactory.
+ *
+ * Entries are keyed by tenant, session user and node path, as reading the policies of a node
+ * requires the session user to be allowed to read its access control. Next to the policy entries,
+ * an entry holds the permissions the session user was found to have on the node, so that a
+ * permission check does not evaluate the policies again.
+ *
+ * Every entry records the ACL version of its tenant at the time it was read. The version is
+ * increased locally whenever the policy manager changes policies, which evicts all entries of the
+ * node or tenant, and entries are evicted through the user, tenant and model {@link AppEvent}s, as
+ * these may change the roles a permission was evaluated for. Policies changed on another cluster
+ * node are bounded by the configured time to live.
+ */
+@Component
+public class ModelPolicyCache implements ApplicationListener<AppEvent> {
+
+  private static Logger logger = Logger.getLogger(ModelPolicyCache.class);
+
+  private final Cache<CacheKey, CacheEntry> cache;
+
+  private final Cache<String, Long> aclVersions = CacheBuilder.newBuilder().build();
+
+  @Autowired
+  public ModelPolicyCache(@Value("${repo.cache.policies.maxSize:10000}") long maxSize,
+      @Value("${repo.cache.policies.expireAfterSeconds:30}") long expireAfterSeconds) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxSize)
+        .expireAfterWrite(expireAfterSeconds, TimeUnit.SECONDS).build();
+  }
+
+  /**
+   * @return the current ACL version of the given tenant, to be passed to
+   *         {@link #put(String, String, String, long, List, Set)} for policies read afterwards
+   */
+  public long getAclVersion(String tenantId) {
+    Long version = aclVersions.getIfPresent(tenantId);
+    return version == null ? 0 : version;
+  }
+
+  /**
+   * @return copies of the cached policy entries of the node, or empty if there is no entry
+   */
+  public Optional<List<PolicyEntry>> getPolicyEntries(String tenantId, String userId,
+      String path) {
+    return getEntry(tenantId, userId, path).map(entry -> copy(entry.policyEntries));
+  }
+
+  /**
+   * @return the cached permissions of the session user on the node, or empty if there is no entry
+   *         or the permissions were not evaluated yet
+   */
+  public Optional<Set<Permission>> getPermissions(String tenantId, String userId, String path) {
+    return getEntry(tenantId, userId, path).map(entry -> entry.permissions);
+  }
+
+  /**
+   * Caches the policies of a node, unless policies of the tenant changed since the given ACL
+   * version was taken.
+   *
+   * @param tenantId tenant (workspace) the node is stored in
+   * @param userId JCR session user id the policies were read by
+   * @param path path of the node
+   * @param aclVersion ACL version of the tenant taken before reading the policies
+   * @param policyEntries policy entries of the node
+   * @param permissions permissions the session user has on the node, or null if they were not
+   *        evaluated
+   */
+  public void put(String tenantId, String userId, String path, long aclVersion,
+      List<PolicyEntry> policyEntries, Set<Permission> permissions) {
+    if (aclVersion == getAclVersion(tenantId)) {
+      cache.put(new CacheKey(tenantId, userId, path),
+          new CacheEntry(copy(policyEntries), permissions, aclVersion));
+    }
+  }
+
+  /**
+   * Evicts the policies of the given node for all users
+   */
+  public void invalidate(String tenantId, String path) {
+    increaseAclVersion(tenantId);
+    cache.asMap().keySet()
+        .removeIf(key -> key.tenantId.equals(tenantId) && key.path.equals(path));
+  }
+
+  public void invalidateTenant(String tenantId) {
+    increaseAclVersion(tenantId);
+    cache.asMap().keySet().removeIf(key -> key.tenantId.equals(tenantId));
+  }
+
+  public void invalidateUser(String userId) {
+    cache.asMap().keySet().removeIf(key -> key.userId.equalsIgnoreCase(userId));
+  }
+
+  public void invalidateAll() {
+    aclVersions.asMap().keySet().forEach(this::increaseAclVersion);
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    if (event.getEventType() == EventType.MODEL_CREATED
+        || event.getEventType() == EventType.MODEL_DELETED) {
+      Object subject = event.getSubject();
+      ModelId modelId = subject instanceof ModelInfo ? ((ModelInfo) subject).getId()
+          : subject instanceof ModelId ? (ModelId) subject : null;
+      if (modelId != null) {
+        invalidatePath(new ModelIdHelper(modelId).getFullPath());
+      } else {
+        logger.debug("Unknown model event subject, evicting all cached policies");
+        invalidateAll();
+      }
+    } else if (event.getEventType() == EventType.USER_ADDED
+        || event.getEventType() == EventType.USER_MODIFIED
+        || event.getEventType() == EventType.USER_DELETED) {
+      if (event.getSubject() instanceof String) {
+        invalidateUser((String) event.getSubject());
+      } else {
+        invalidateAll();
+      }
+    } else if (event.getEventType() == EventType.TENANT_UPDATED
+        || event.getEventType() == EventType.TENANT_DELETED) {
+      if (event.getSubject() instanceof Tenant) {
+        invalidateTenant(((Tenant) event.getSubject()).getTenantId());
+      } else {
+        invalidateAll();
+      }
+    }
+  }
+
+  private void invalidatePath(String path) {
+    cache.asMap().keySet().removeIf(key -> key.path.equals(path));
+  }
+
+  private Optional<CacheEntry> getEntry(String tenantId, String userId, String path) {
+    CacheKey key = new CacheKey(tenantId, userId, path);
+    CacheEntry entry = cache.getIfPresent(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (entry.aclVersion != getAclVersion(tenantId)) {
+      cache.invalidate(key);
+      return Optional.empty();
+    }
+    return Optional.of(entry);
+  }
+
+  private void increaseAclVersion(String tenantId) {
+    aclVersions.asMap().merge(tenantId, 1L, Long::sum);
+  }
+
+  private static List<PolicyEntry> copy(Collection<PolicyEntry> entries) {
+    return entries.stream().map(entry -> PolicyEntry.of(entry.getPrincipalId(),
+        entry.getPrincipalType(), entry.getPermission())).collect(Collectors.toList());
+  }
+
+  private static <T extends Collection<Permission>> T addAll(T target,
+      Collection<Permission> permissions) {
+    target.addAll(permissions);
+    return target;
+  }
+
+  private static class CacheKey {
+    private final String tenantId;
+    private final String userId;
+    private final String path;
+
+    CacheKey(String tenantId, String userId, String path) {
+      this.tenantId = tenantId;
+      this.userId = userId;
+      this.path = path;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tenantId, userId, path);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (obj == null || getClass() != obj.getClass())
+        return false;
+      CacheKey other = (CacheKey) obj;
+      return Objects.equals(tenantId, other.tenantId) && Objects.equals(userId, other.userId)
+          && Objects.equals(path, other.path);
+    }
+  }
+
+  private static class CacheEntry {
+    private final List<PolicyEntry> policyEntries;
+    private final Set<Permission> permissions;
+    private final long aclVersion;
+
+    CacheEntry(List<PolicyEntry> policyEntries, Set<Permission> permissions, long aclVersion) {
+      this.policyEntries = policyEntries;
+      this.permissions = permissions == null ? null
+          : Collections.unmodifiableSet(addAll(EnumSet.noneOf(Permission.class), permissions));
+      this.aclVersion = aclVersion;
+    }
+  }
+}
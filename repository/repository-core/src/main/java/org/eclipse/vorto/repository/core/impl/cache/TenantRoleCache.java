@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.cache;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.domain.Role;
+import org.eclipse.vorto.repository.domain.Tenant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache of the roles a user has in a tenant, as looked up by the ModelRepositoryFactory whenever
+ * it opens a repository session for a user.
+ *
+ * Entries are evicted locally through the user and tenant {@link AppEvent}s. As these events are
+ * published before the membership change is committed, the affected entries are evicted a second
+ * time once the transaction has committed, so that a lookup running concurrently cannot keep the
+ * old roles. Changes made on another cluster node are not signalled here and are bounded by the
+ * configured time to live, which is therefore kept short.
+ */
+@Component
+public class TenantRoleCache implements ApplicationListener<AppEvent> {
+
+  private static Logger logger = Logger.getLogger(TenantRoleCache.class);
+
+  private final Cache<CacheKey, Set<Role>> cache;
+
+  @Autowired
+  public TenantRoleCache(@Value("${repo.cache.tenantRoles.maxSize:10000}") long maxSize,
+      @Value("${repo.cache.tenantRoles.expireAfterSeconds:60}") long expireAfterSeconds) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxSize)
+        .expireAfterWrite(expireAfterSeconds, TimeUnit.SECONDS).build();
+  }
+
+  /**
+   * @param tenantId tenant the roles are looked up in
+   * @param username name of the user
+   * @return the cached roles of the user in the tenant, or empty if there is no entry
+   */
+  public Optional<Set<Role>> get(String tenantId, String username) {
+    return Optional.ofNullable(cache.getIfPresent(new CacheKey(tenantId, username)));
+  }
+
+  public void put(String tenantId, String username, Set<Role> roles) {
+    cache.put(new CacheKey(tenantId, username), roles.isEmpty() ? Collections.emptySet()
+        : Collections.unmodifiableSet(EnumSet.copyOf(roles)));
+  }
+
+  public void invalidateTenant(String tenantId) {
+    cache.asMap().keySet().removeIf(key -> key.tenantId.equals(tenantId));
+  }
+
+  public void invalidateUser(String username) {
+    cache.asMap().keySet().removeIf(key -> key.username.equals(username));
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    if (event.getEventType() == EventType.USER_ADDED
+        || event.getEventType() == EventType.USER_MODIFIED
+        || event.getEventType() == EventType.USER_DELETED) {
+      if (event.getSubject() instanceof String) {
+        String username = (String) event.getSubject();
+        evict(() -> invalidateUser(username));
+      } else {
+        logger.debug("Unknown user event subject, evicting all cached tenant roles");
+        evict(this::invalidateAll);
+      }
+    } else if (event.getEventType() == EventType.TENANT_ADDED
+        || event.getEventType() == EventType.TENANT_UPDATED
+        || event.getEventType() == EventType.TENANT_DELETED) {
+      if (event.getSubject() instanceof Tenant) {
+        String tenantId = ((Tenant) event.getSubject()).getTenantId();
+        evict(() -> invalidateTenant(tenantId));
+      } else {
+        logger.debug("Unknown tenant event subject, evicting all cached tenant roles");
+        evict(this::invalidateAll);
+      }
+    }
+  }
+
+  private void evict(Runnable eviction) {
+    eviction.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+              eviction.run();
+            }
+          });
+    }
+  }
+
+  private static class CacheKey {
+    private final String tenantId;
+    private final String username;
+
+    CacheKey(String tenantId, String username) {
+      this.tenantId = tenantId;
+      this.username = username;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tenantId, username);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (obj == null || getClass() != obj.getClass())
+        return false;
+      CacheKey other = (CacheKey) obj;
+      return Objects.equals(tenantId, other.tenantId)
+          && Objects.equals(username, other.username);
+    }
+  }
+}
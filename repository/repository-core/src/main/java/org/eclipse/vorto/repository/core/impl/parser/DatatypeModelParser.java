@@ -27,7 +27,12 @@ public class DatatypeModelParser extends AbstractModelParser {
 
   @Override
   protected Injector getInjector() {
-    return new DatatypeStandaloneSetup().createInjectorAndDoEMFRegistration();
+    return InjectorHolder.INJECTOR;
+  }
+
+  private static final class InjectorHolder {
+    private static final Injector INJECTOR =
+        new DatatypeStandaloneSetup().createInjectorAndDoEMFRegistration();
   }
 
 }
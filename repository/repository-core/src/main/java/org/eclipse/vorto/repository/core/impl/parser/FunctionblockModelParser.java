@@ -27,6 +27,11 @@ public class FunctionblockModelParser extends AbstractModelParser {
 
   @Override
   protected Injector getInjector() {
-    return new FunctionblockStandaloneSetup().createInjectorAndDoEMFRegistration();
+    return InjectorHolder.INJECTOR;
+  }
+
+  private static final class InjectorHolder {
+    private static final Injector INJECTOR =
+        new FunctionblockStandaloneSetup().createInjectorAndDoEMFRegistration();
   }
 }
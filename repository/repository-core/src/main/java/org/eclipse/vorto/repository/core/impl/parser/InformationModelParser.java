@@ -27,6 +27,11 @@ public class InformationModelParser extends AbstractModelParser {
 
   @Override
   protected Injector getInjector() {
-    return new InformationModelStandaloneSetup().createInjectorAndDoEMFRegistration();
+    return InjectorHolder.INJECTOR;
+  }
+
+  private static final class InjectorHolder {
+    private static final Injector INJECTOR =
+        new InformationModelStandaloneSetup().createInjectorAndDoEMFRegistration();
   }
 }
@@ -14,9 +14,11 @@ package org.eclipse.vorto.repository.core.impl.parser;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -25,15 +27,14 @@ import java.util.stream.Collectors;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.vorto.core.api.model.model.Model;
-import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.FileContent;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
 import org.eclipse.vorto.repository.core.impl.validation.ValidationException;
-import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.vorto.utilities.reader.XtextResourceLoader;
+import org.eclipse.vorto.utilities.reader.XtextResourceSetFactory;
 import org.eclipse.xtext.resource.XtextResourceSet;
-import com.google.inject.Injector;
 
 public class LocalModelWorkspace {
 
@@ -43,48 +44,60 @@ public class LocalModelWorkspace {
 
   private IModelRepositoryFactory repoFactory;
 
-  static {
-    // injector = Guice.createInjector(Modules2.mixin(new DatatypeRuntimeModule(),
-    // new FunctionblockRuntimeModule(),
-    // new InformationModelRuntimeModule(),
-    // new MappingRuntimeModule()));
-
+  public LocalModelWorkspace(IModelRepositoryFactory repositoryFactory, Collection<FileContent> files) {
+    this(repositoryFactory, files, false);
   }
 
-  public LocalModelWorkspace(IModelRepositoryFactory repositoryFactory, Collection<FileContent> files) {
-    Injector injector = new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
-    resourceSet = injector.getInstance(XtextResourceSet.class);
-    resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
-    resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+  /**
+   * @param repositoryFactory
+   * @param files the files to load into the workspace
+   * @param parallel whether the files may be parsed concurrently, before they are linked
+   */
+  public LocalModelWorkspace(IModelRepositoryFactory repositoryFactory,
+      Collection<FileContent> files, boolean parallel) {
+    resourceSet = XtextResourceSetFactory.createResourceSet();
 
     this.repoFactory = repositoryFactory;
-    
-    this.load(files);
+
+    this.load(files, parallel);
   }
   
   public LocalModelWorkspace(IModelRepositoryFactory repositoryFactory) {
     this(repositoryFactory,Collections.emptyList());
   } 
 
-  private LocalModelWorkspace load(Collection<FileContent> files) {
-    this.modelIds.addAll(importExternallySpecifiedDependencies(files));
+  private LocalModelWorkspace load(Collection<FileContent> files, boolean parallel) {
+    this.modelIds.addAll(importExternallySpecifiedDependencies(files, parallel));
     return this;
   }
 
   private Collection<ModelId> importExternallySpecifiedDependencies(
-      Collection<FileContent> dependencies) {
-    return dependencies.stream().map(fileContent -> {
-      Optional<Resource> maybeDependency =
-          createResource(fileContent.getFileName(), fileContent.getContent(), resourceSet);
-      return maybeDependency.flatMap(dependency -> {
-        Model dependencyModel = (Model) dependency.getContents().get(0);
-        if (dependencyModel.getName() != null && dependencyModel.getNamespace() != null
-            && dependencyModel.getVersion() != null) {
-          return Optional.of(new ModelId(dependencyModel.getName(), dependencyModel.getNamespace(),
-              dependencyModel.getVersion()));
-        }
-        return Optional.empty();
-      }).orElse(null);
+      Collection<FileContent> dependencies, boolean parallel) {
+    List<URI> uris = new ArrayList<>(dependencies.size());
+    List<byte[]> contents = new ArrayList<>(dependencies.size());
+    dependencies.forEach(fileContent -> {
+      uris.add(createURI(fileContent.getFileName()));
+      contents.add(Objects.requireNonNull(fileContent.getContent()));
+    });
+
+    List<Resource> resources;
+    try {
+      resources = XtextResourceLoader.load(resourceSet, uris, contents, parallel);
+    } catch (IOException e) {
+      throw new ValidationException(e.getMessage(), null);
+    }
+
+    return resources.stream().map(dependency -> {
+      if (dependency == null) {
+        return null;
+      }
+      Model dependencyModel = (Model) dependency.getContents().get(0);
+      if (dependencyModel.getName() != null && dependencyModel.getNamespace() != null
+          && dependencyModel.getVersion() != null) {
+        return new ModelId(dependencyModel.getName(), dependencyModel.getNamespace(),
+            dependencyModel.getVersion());
+      }
+      return null;
     }).collect(Collectors.toList());
   }
 
@@ -94,9 +107,7 @@ public class LocalModelWorkspace {
     Objects.requireNonNull(fileContent);
     Objects.requireNonNull(resourceSet);
 
-    String filename = "file-" + UUID.randomUUID().toString().replace("-", "") + "-" + fileName;
-
-    Resource resource = resourceSet.createResource(URI.createURI("dummy:/" + filename));
+    Resource resource = resourceSet.createResource(createURI(fileName));
     if (resource != null) {
       try {
         resource.load(new ByteArrayInputStream(fileContent), resourceSet.getLoadOptions());
@@ -109,6 +120,12 @@ public class LocalModelWorkspace {
     return Optional.empty();
   }
   
+  private URI createURI(String fileName) {
+    Objects.requireNonNull(fileName);
+    return URI.createURI(
+        "dummy:/file-" + UUID.randomUUID().toString().replace("-", "") + "-" + fileName);
+  }
+
   public Set<ModelId> getModelIds() {
     return this.modelIds;
   }
@@ -37,7 +37,12 @@ public class MappingModelParser extends AbstractModelParser {
 
   @Override
   protected Injector getInjector() {
-    return new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
+    return InjectorHolder.INJECTOR;
+  }
+
+  private static final class InjectorHolder {
+    private static final Injector INJECTOR =
+        new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
   }
   
   /**
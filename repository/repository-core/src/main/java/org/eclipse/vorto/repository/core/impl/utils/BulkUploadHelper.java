@@ -132,7 +132,7 @@ public class BulkUploadHelper {
 
     Collection<FileContent> fileContents = getFileContentsFromZip(content);
     
-    LocalModelWorkspace workspace = new LocalModelWorkspace(modelRepoFactory,fileContents);
+    LocalModelWorkspace workspace = new LocalModelWorkspace(modelRepoFactory, fileContents, true);
     
     
     fileContents.forEach(fileContent -> {
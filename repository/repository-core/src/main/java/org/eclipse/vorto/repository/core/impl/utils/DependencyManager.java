@@ -13,8 +13,10 @@
 package org.eclipse.vorto.repository.core.impl.utils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.ModelInfo;
@@ -36,33 +38,37 @@ public class DependencyManager {
     this.resources.add(resource);
   }
 
+  /**
+   * Sorts the resources topologically, such that every resource comes after the resources it
+   * references. Runs in linear time of resources and references.
+   *
+   * @return sorted resources
+   */
   public List<ModelInfo> getSorted() {
-    List<ModelInfo> sorted = new ArrayList<>();
+    Map<ModelId, ModelInfo> resourcesById = new HashMap<>();
+    for (ModelInfo resource : resources) {
+      resourcesById.putIfAbsent(resource.getId(), resource);
+    }
 
+    List<ModelInfo> sorted = new ArrayList<>();
+    Set<ModelId> visited = new HashSet<>();
     for (ModelInfo resource : resources) {
-      addResourceRecursive(resource, sorted);
+      addResourceRecursive(resource, resourcesById, visited, sorted);
     }
     return sorted;
   }
 
-  private void addResourceRecursive(ModelInfo resource, List<ModelInfo> sorted) {
+  private void addResourceRecursive(ModelInfo resource, Map<ModelId, ModelInfo> resourcesById,
+      Set<ModelId> visited, List<ModelInfo> sorted) {
+    if (!visited.add(resource.getId())) {
+      return;
+    }
     for (ModelId reference : resource.getReferences()) {
-      ModelInfo referencedResource = findResource(reference);
+      ModelInfo referencedResource = resourcesById.get(reference);
       if (referencedResource != null) {
-        addResourceRecursive(referencedResource, sorted);
-      }
-    }
-    if (!sorted.contains(resource)) {
-      sorted.add(resource);
-    }
-  }
-
-  private ModelInfo findResource(final ModelId modelId) {
-    for (ModelInfo resource : this.resources) {
-      if (resource.getId().equals(modelId)) {
-        return resource;
+        addResourceRecursive(referencedResource, resourcesById, visited, sorted);
       }
     }
-    return null;
+    sorted.add(resource);
   }
 }
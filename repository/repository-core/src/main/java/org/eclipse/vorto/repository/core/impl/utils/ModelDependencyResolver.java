@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.ModelNotFoundException;
+import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
+
+/**
+ * Resolves a model together with all its direct and transitive dependencies.
+ *
+ * The dependency graph is traversed breadth first. Every model is fetched exactly once, even if
+ * it is referenced by many models of the graph, and all models of one traversal level that are
+ * stored in the same tenant are fetched with a single repository call. The mapping models of a
+ * resolved dependency set are looked up in the same way.
+ */
+public class ModelDependencyResolver {
+
+  private static Logger logger = Logger.getLogger(ModelDependencyResolver.class);
+
+  private IModelRepositoryFactory repositoryFactory;
+
+  private Map<String, IModelRepository> repositoriesByNamespace = new HashMap<>();
+
+  private Map<String, String> tenantsByNamespace = new HashMap<>();
+
+  public ModelDependencyResolver(IModelRepositoryFactory repositoryFactory) {
+    this.repositoryFactory = repositoryFactory;
+  }
+
+  /**
+   * @param modelId the model to resolve
+   * @return the model and all its dependencies, sorted such that every model comes after the
+   *         models it references
+   * @throws ModelNotFoundException if the model or one of its dependencies does not exist
+   */
+  public List<ModelInfo> resolveSorted(ModelId modelId) {
+    return new DependencyManager(new HashSet<>(resolve(modelId).values())).getSorted();
+  }
+
+  /**
+   * @param modelId the model to resolve
+   * @return the model and all its dependencies by their model id
+   * @throws ModelNotFoundException if the model or one of its dependencies does not exist
+   */
+  public Map<ModelId, ModelInfo> resolve(ModelId modelId) {
+    return resolve(modelId, false);
+  }
+
+  /**
+   * @param modelId the model to resolve
+   * @return the model and all its dependencies by their model id. Dependencies which do not exist
+   *         or cannot be read are skipped together with their own dependencies. The result is empty
+   *         if the model itself does not exist.
+   */
+  public Map<ModelId, ModelInfo> resolveAvailable(ModelId modelId) {
+    return resolve(modelId, true);
+  }
+
+  private Map<ModelId, ModelInfo> resolve(ModelId modelId, boolean skipUnavailable) {
+    Map<ModelId, ModelInfo> visited = new LinkedHashMap<>();
+
+    Set<ModelId> level = new LinkedHashSet<>();
+    level.add(modelId);
+
+    while (!level.isEmpty()) {
+      List<ModelInfo> fetched = skipUnavailable ? fetchAvailable(level) : fetch(level);
+      for (ModelInfo modelInfo : fetched) {
+        visited.put(modelInfo.getId(), modelInfo);
+      }
+
+      if (!skipUnavailable) {
+        for (ModelId id : level) {
+          if (!visited.containsKey(id)) {
+            throw new ModelNotFoundException(
+                "Model " + id.getPrettyFormat() + " does not exist", null);
+          }
+        }
+      }
+
+      Set<ModelId> nextLevel = new LinkedHashSet<>();
+      for (ModelInfo modelInfo : fetched) {
+        for (ModelId reference : modelInfo.getReferences()) {
+          if (!visited.containsKey(reference)) {
+            nextLevel.add(reference);
+          }
+        }
+      }
+      level = nextLevel;
+    }
+
+    return visited;
+  }
+
+  /**
+   * @param modelIds the models to look up the mapping models for, e.g. a resolved dependency set
+   * @param targetPlatform the target platform of the mapping models
+   * @param version the version of the mapping models. If not specified, all versions are taken
+   * @return the mapping models of the given models. The mapping models of all models stored in
+   *         the same tenant are looked up with a single repository call.
+   */
+  public List<ModelInfo> resolveMappings(Collection<ModelId> modelIds, String targetPlatform,
+      Optional<String> version) {
+    Set<ModelInfo> mappings = new LinkedHashSet<>();
+    groupByTenant(modelIds).forEach((repository, tenantModelIds) -> mappings.addAll(
+        repository.getMappingModelsForTargetPlatform(tenantModelIds, targetPlatform, version)));
+    return new ArrayList<>(mappings);
+  }
+
+  /**
+   * @param modelId the model to look up the mapping models for
+   * @param targetPlatform the target platform of the mapping models
+   * @param version the version of the mapping models. If not specified, all versions are taken
+   * @return the mapping models of the model and of all its dependencies which are available, see
+   *         {@link #resolveAvailable(ModelId)}
+   */
+  public List<ModelInfo> resolveMappings(ModelId modelId, String targetPlatform,
+      Optional<String> version) {
+    Map<ModelId, ModelInfo> dependencies = resolveAvailable(modelId);
+    if (dependencies.isEmpty()) {
+      return new ArrayList<>();
+    }
+    return resolveMappings(dependencies.keySet(), targetPlatform, version);
+  }
+
+  private List<ModelInfo> fetch(Set<ModelId> modelIds) {
+    List<ModelInfo> fetched = new ArrayList<>();
+    groupByTenant(modelIds).forEach(
+        (repository, tenantModelIds) -> fetched.addAll(repository.getByIds(tenantModelIds)));
+    return fetched;
+  }
+
+  /**
+   * Fetches the given models, skipping models of namespaces which do not exist and models which
+   * cannot be read
+   */
+  private List<ModelInfo> fetchAvailable(Set<ModelId> modelIds) {
+    List<ModelId> available = new ArrayList<>();
+    for (ModelId modelId : modelIds) {
+      if (repositoriesByNamespace.computeIfAbsent(modelId.getNamespace(),
+          repositoryFactory::getRepositoryByNamespace) != null) {
+        available.add(modelId);
+      }
+    }
+
+    List<ModelInfo> fetched = new ArrayList<>();
+    groupByTenant(available).forEach((repository, tenantModelIds) -> {
+      try {
+        fetched.addAll(repository.getByIds(tenantModelIds));
+      } catch (NotAuthorizedException e) {
+        // fetch the models one by one to skip only the models which cannot be read
+        for (ModelId modelId : tenantModelIds) {
+          try {
+            fetched.addAll(repository.getByIds(Collections.singleton(modelId)));
+          } catch (NotAuthorizedException ex) {
+            logger.debug("Skipping dependency " + modelId.getPrettyFormat()
+                + ", which cannot be read");
+          }
+        }
+      }
+    });
+    return fetched;
+  }
+
+  private Map<IModelRepository, List<ModelId>> groupByTenant(Collection<ModelId> modelIds) {
+    Map<String, List<ModelId>> modelIdsByTenant = new LinkedHashMap<>();
+    Map<String, IModelRepository> repositoriesByTenant = new HashMap<>();
+    for (ModelId modelId : modelIds) {
+      IModelRepository repository = getRepository(modelId.getNamespace());
+      String tenant = tenantsByNamespace.computeIfAbsent(modelId.getNamespace(),
+          namespace -> repository.getTenantId());
+      repositoriesByTenant.putIfAbsent(tenant, repository);
+      modelIdsByTenant.computeIfAbsent(tenant, key -> new ArrayList<>()).add(modelId);
+    }
+
+    Map<IModelRepository, List<ModelId>> grouped = new LinkedHashMap<>();
+    modelIdsByTenant.forEach(
+        (tenant, tenantModelIds) -> grouped.put(repositoriesByTenant.get(tenant), tenantModelIds));
+    return grouped;
+  }
+
+  private IModelRepository getRepository(String namespace) {
+    IModelRepository repository = repositoriesByNamespace.computeIfAbsent(namespace,
+        repositoryFactory::getRepositoryByNamespace);
+    if (repository == null) {
+      throw new ModelNotFoundException(
+          "Namespace " + namespace + " does not exist in the system.");
+    }
+    return repository;
+  }
+}
@@ -13,6 +13,7 @@
 package org.eclipse.vorto.repository.core.impl.utils;
 
 import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -23,8 +24,13 @@ import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.query.Query;
 import javax.jcr.query.QueryManager;
+import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.FatalModelRepositoryException;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.search.SearchCursor;
+import org.eclipse.vorto.repository.search.SearchPageRequest;
 import org.eclipse.vorto.repository.search.SearchParameters;
+import org.eclipse.vorto.repository.search.SearchSortOrder;
 import org.eclipse.vorto.repository.search.SearchTags;
 import org.springframework.stereotype.Component;
 
@@ -63,6 +69,12 @@ public class ModelSearchUtil {
 
   public static final String VORTO_TYPE_FIELD = "[vorto:type]";
 
+  public static final String JCR_CREATED_FIELD = "[jcr:created]";
+
+  public static final String IS_MODEL_CONSTRAINT = VORTO_TYPE_FIELD + " IS NOT NULL";
+
+  public static final String ORDER_BY = " ORDER BY ";
+
   /**
    * Used to convert search query wildcards to SQL-compatible wildcards with {@code LIKE} operator.
    */
@@ -94,6 +106,47 @@ public class ModelSearchUtil {
     }
   }
 
+  /**
+   * Creates a query for a single page of the models matching the given expression.
+   *
+   * @see ModelSearchUtil#toJCRQuery(SearchParameters, SearchSortOrder)
+   * @param session
+   * @param queryExpression
+   * @param pageRequest the page to query and its ordering
+   * @param lookAhead number of additional rows to query beyond the page, e.g. to tell whether
+   *        further pages exist
+   * @return
+   */
+  public static Query createQueryFromExpression(Session session, String queryExpression,
+      SearchPageRequest pageRequest, int lookAhead) {
+    try {
+
+      QueryManager queryManager = session.getWorkspace().getQueryManager();
+      String query;
+      if (pageRequest.getCreatedAfter() != null) {
+        ModelInfo createdAfter = pageRequest.getCreatedAfter();
+        Calendar created = Calendar.getInstance();
+        created.setTime(createdAfter.getCreationDate());
+        query = toJCRQuery(SearchParameters.build(queryExpression), pageRequest.getSortOrder(),
+            buildCreatedAfterConstraint(session.getValueFactory().createValue(created).getString(),
+                createdAfter.getId()));
+      } else {
+        query = toJCRQuery(SearchParameters.build(queryExpression), pageRequest.getSortOrder());
+      }
+
+      Query result = queryManager.createQuery(
+        query, org.modeshape.jcr.api.query.Query.JCR_SQL2
+      );
+      result.setOffset(SearchCursor.offsetOf(pageRequest));
+      result.setLimit(pageRequest.getLimit() + (long) lookAhead);
+      return result;
+
+    } catch (RepositoryException repoException) {
+      throw new FatalModelRepositoryException("Could not create query from expression",
+          repoException);
+    }
+  }
+
   /**
    * Converts common wildcard characters in set {@literal [*,?]} to their SQL equivalents:
    * {@literal [%,_]} which work with JCL-SQL2 language.<br/>
@@ -532,4 +585,68 @@ public class ModelSearchUtil {
     return result.toString();
   }
 
+  /**
+   * Builds an ordered JCR-SQL2 query based on the given {@link SearchParameters}, to be executed
+   * with an offset and a limit.<br/>
+   * Contrary to {@link ModelSearchUtil#toJCRQuery(SearchParameters)}, the query only matches
+   * model files, as other files, e.g. attachments, would otherwise count towards the offset and
+   * limit of the query.
+   * @see ModelSearchUtil#toJCRQuery(SearchParameters)
+   * @param params
+   * @param sortOrder
+   * @return
+   */
+  public static String toJCRQuery(SearchParameters params, SearchSortOrder sortOrder) {
+    return toJCRQuery(params, sortOrder, null);
+  }
+
+  /**
+   * Builds an ordered JCR-SQL2 query based on the given {@link SearchParameters}, which only
+   * matches the models that also satisfy the given constraint.
+   * @see ModelSearchUtil#toJCRQuery(SearchParameters, SearchSortOrder)
+   * @param params
+   * @param sortOrder
+   * @param constraint an additional constraint, or {@code null}
+   * @return
+   */
+  public static String toJCRQuery(SearchParameters params, SearchSortOrder sortOrder,
+      String constraint) {
+    StringBuilder result = new StringBuilder(toJCRQuery(params));
+
+    if (params.isEmpty()) {
+      result.append(" WHERE ").append(IS_MODEL_CONSTRAINT);
+    } else {
+      appendConstraint(result, IS_MODEL_CONSTRAINT);
+    }
+    if (constraint != null) {
+      appendConstraint(result, String.format(PARENTHESIS_WRAPPER_FORMAT, constraint));
+    }
+
+    return result.append(ORDER_BY).append(sortOrder.getJcrOrdering()).toString();
+  }
+
+  /**
+   * Builds the constraint matching the models which come after the given model in
+   * {@link SearchSortOrder#CREATED_ASC} order, i.e. the models created later, and the models
+   * created at the same time whose namespace, name and version come after the ones of the given
+   * model.
+   * @param created the creation date of the given model, as JCR date string
+   * @param modelId the id of the given model
+   * @return
+   */
+  public static String buildCreatedAfterConstraint(String created, ModelId modelId) {
+    String createdLiteral = "CAST(" + toLiteral(created) + " AS DATE)";
+    return JCR_CREATED_FIELD + " > " + createdLiteral
+        + OR + "(" + JCR_CREATED_FIELD + " = " + createdLiteral + " AND ("
+        + VORTO_NAMESPACE_FIELD + " > " + toLiteral(modelId.getNamespace())
+        + OR + "(" + VORTO_NAMESPACE_FIELD + " = " + toLiteral(modelId.getNamespace()) + " AND ("
+        + VORTO_NAME_FIELD + " > " + toLiteral(modelId.getName())
+        + OR + "(" + VORTO_NAME_FIELD + " = " + toLiteral(modelId.getName()) + " AND "
+        + VORTO_VERSION_FIELD + " > " + toLiteral(modelId.getVersion()) + ")))))";
+  }
+
+  private static String toLiteral(String value) {
+    return "'" + value.replace("'", "''") + "'";
+  }
+
 }
@@ -85,7 +85,7 @@ public class VortoModelImporter extends AbstractModelImporter {
   protected FileUpload preValidation(FileUpload fileUpload, Context context) {
     if (context.getTargetNamespace().isPresent()) {
       if (fileUpload.getFileExtension().endsWith(EXTENSION_ZIP)) {
-        ModelWorkspaceReader reader = IModelWorkspace.newReader();
+        ModelWorkspaceReader reader = IModelWorkspace.newReader().parallel();
         getUploadedFilesFromZip(fileUpload.getContent()).stream().filter(this::isSupported)
             .forEach(extractedFile -> {
               reader.addFile(new ByteArrayInputStream(addVortolangIfMissing(extractedFile).getContent()), ModelType.fromFileName(extractedFile.getFileExtension()));
@@ -18,6 +18,7 @@ import org.eclipse.vorto.repository.account.IUserAccountService;
 import org.eclipse.vorto.repository.core.IRepositoryManager;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.impl.ModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.impl.PrivilegedUserContextProvider;
 import org.eclipse.vorto.repository.domain.Role;
 import org.eclipse.vorto.repository.domain.Tenant;
 import org.eclipse.vorto.repository.domain.User;
@@ -65,6 +66,8 @@ public class RepositoryInitializer {
     Stream.of(admins).forEach(this::addSysAdRole);
     
     tenantService.getTenants().forEach(this::createWorkspaceIfNotExisting);
+
+    tenantService.getTenants().forEach(this::migrateAttachmentTags);
   }
 
   private void createAdminUser(String username) {
@@ -100,6 +103,17 @@ public class RepositoryInitializer {
     repoMgr.createTenantWorkspace(tenant.getTenantId());
   }
   
+  private void migrateAttachmentTags(Tenant tenant) {
+    try {
+      repositoryFactory.getRepositoryManager(tenant.getTenantId(),
+          PrivilegedUserContextProvider.systemAdminContext().getAuthentication())
+          .migrateAttachmentTags();
+    } catch (RuntimeException e) {
+      logger.error("Could not summarize the attachment tags of the models in workspace '"
+          + tenant.getTenantId() + "'", e);
+    }
+  }
+
   private IUserContext createAdminContext(String userId, String tenantId) {
     return new IUserContext() {
       @Override
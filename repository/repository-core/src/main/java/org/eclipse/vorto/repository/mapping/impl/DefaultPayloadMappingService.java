@@ -13,9 +13,7 @@
 package org.eclipse.vorto.repository.mapping.impl;
 
 import java.io.ByteArrayInputStream;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -46,7 +44,7 @@ import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
-import org.eclipse.vorto.repository.core.impl.utils.DependencyManager;
+import org.eclipse.vorto.repository.core.impl.utils.ModelDependencyResolver;
 import org.eclipse.vorto.repository.mapping.IPayloadMappingService;
 import org.eclipse.vorto.repository.utils.ModelUtils;
 import org.eclipse.vorto.repository.web.core.ModelDtoFactory;
@@ -211,11 +209,10 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
   }
   
   private IModelWorkspace getWorkspaceForModel(final ModelId modelId) {
-    List<ModelInfo> allModels = getModelWithAllDependencies(modelId);
-    DependencyManager dm = new DependencyManager(new HashSet<>(allModels));
-    allModels = dm.getSorted();
+    List<ModelInfo> allModels =
+        new ModelDependencyResolver(this.modelRepositoryFactory).resolveSorted(modelId);
 
-    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
+    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader().parallel();
     for (ModelInfo model : allModels) {
       FileContent modelContent = this.modelRepositoryFactory.getRepositoryByModel(model.getId())
           .getFileContent(model.getId(), Optional.of(model.getFileName())).get();
@@ -226,19 +223,6 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
   }
 
 
-  private List<ModelInfo> getModelWithAllDependencies(ModelId modelId) {
-    List<ModelInfo> modelInfos = new ArrayList<>();
-
-    ModelInfo modelResource = this.modelRepositoryFactory.getRepositoryByModel(modelId).getById(modelId);
-    modelInfos.add(modelResource);
-
-    for (ModelId reference : modelResource.getReferences()) {
-      modelInfos.addAll(getModelWithAllDependencies(reference));
-    }
-
-    return modelInfos;
-  }
-
   private boolean mappingMatchesModelId(MappingModel mappingModel, ModelInfo modelToMatchAgainst) {  
     return mappingModel.getReferences().stream().filter(reference -> ModelId.fromReference(reference.getImportedNamespace(), reference.getVersion()).equals(modelToMatchAgainst.getId())).count() > 0;    
   }
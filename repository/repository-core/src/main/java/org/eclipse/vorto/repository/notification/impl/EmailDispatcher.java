@@ -0,0 +1,305 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.notification.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.InternetAddress;
+import org.apache.log4j.Logger;
+import com.sun.mail.smtp.SMTPMessage;
+
+/**
+ * Delivers emails on a background thread, so that sending a notification does not wait for the
+ * mail server.
+ *
+ * Emails are taken from a bounded queue in batches and are sent over one SMTP connection, which is
+ * kept open for further batches until it has been idle for a while. An email which cannot be sent
+ * is retried with an exponential backoff, until the maximum number of attempts is reached. Emails
+ * which do not fit into the queue, and emails still pending when the dispatcher is stopped, are
+ * kept in the {@link EmailOutbox} and are sent once the queue has room again, or after a restart.
+ */
+public class EmailDispatcher {
+
+  private static Logger logger = Logger.getLogger(EmailDispatcher.class);
+
+  private static final long POLL_INTERVAL_MILLIS = 500;
+
+  private final Session mailSession;
+
+  private final String mailFrom;
+
+  private final EmailOutbox outbox;
+
+  private final BlockingQueue<OutgoingEmail> queue;
+
+  private final BlockingQueue<OutgoingEmail> retries = new PriorityBlockingQueue<>(11,
+      Comparator.comparingLong(OutgoingEmail::getNextAttemptAt));
+
+  private final int batchSize;
+
+  private final int maxAttempts;
+
+  private final long initialBackoffMillis;
+
+  private final long maxBackoffMillis;
+
+  private final long connectionIdleMillis;
+
+  private final AtomicBoolean spilled = new AtomicBoolean();
+
+  private volatile boolean running = false;
+
+  private Thread worker;
+
+  private Transport transport;
+
+  private long transportLastUsed;
+
+  /**
+   * @param mailSession the mail session to send the emails with
+   * @param mailFrom the sender of the emails
+   * @param outbox the outbox keeping the emails which are not in the queue
+   * @param queueCapacity the maximum number of emails waiting in memory
+   * @param batchSize the maximum number of emails sent in one go
+   * @param maxAttempts the number of attempts after which an email is dropped
+   * @param initialBackoffMillis the delay before the first retry of an email
+   * @param maxBackoffMillis the maximum delay between two attempts to send an email
+   * @param connectionIdleMillis the time after which an unused connection is closed
+   */
+  public EmailDispatcher(Session mailSession, String mailFrom, EmailOutbox outbox,
+      int queueCapacity, int batchSize, int maxAttempts, long initialBackoffMillis,
+      long maxBackoffMillis, long connectionIdleMillis) {
+    this.mailSession = mailSession;
+    this.mailFrom = mailFrom;
+    this.outbox = outbox;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoffMillis = initialBackoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+    this.connectionIdleMillis = connectionIdleMillis;
+  }
+
+  /**
+   * Starts the delivery, beginning with the emails left in the outbox
+   */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    spilled.set(true);
+    worker = new Thread(this::run, "mail-dispatcher");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Stops the delivery, waiting for the emails currently being sent. All emails not delivered
+   * yet are put into the outbox.
+   *
+   * @param timeoutMillis the maximum time to wait for the emails currently being sent
+   */
+  public void stop(long timeoutMillis) {
+    Thread stoppedWorker;
+    synchronized (this) {
+      if (!running) {
+        return;
+      }
+      running = false;
+      stoppedWorker = worker;
+      worker = null;
+    }
+    try {
+      stoppedWorker.join(timeoutMillis);
+      if (stoppedWorker.isAlive()) {
+        logger.warn("Email delivery did not finish within " + timeoutMillis + " ms");
+        stoppedWorker.interrupt();
+        stoppedWorker.join(POLL_INTERVAL_MILLIS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    List<OutgoingEmail> pending = new ArrayList<>();
+    queue.drainTo(pending);
+    retries.drainTo(pending);
+    if (!pending.isEmpty()) {
+      logger.info("Moving " + pending.size() + " undelivered emails to the outbox");
+      outbox.save(pending);
+    }
+  }
+
+  /**
+   * Queues an email for delivery. If the queue is full or the dispatcher is stopped, the email is
+   * put into the outbox.
+   */
+  public void submit(OutgoingEmail email) {
+    // checked under the lock of stop, so that stop drains every email queued before
+    synchronized (this) {
+      if (running && queue.offer(email)) {
+        return;
+      }
+    }
+    logger.warn("Email queue is full or stopped, moving email to " + email.getRecipient()
+        + " to the outbox");
+    outbox.save(Collections.singleton(email));
+    spilled.set(true);
+  }
+
+  public int getPendingCount() {
+    return queue.size() + retries.size();
+  }
+
+  private void run() {
+    try {
+      while (running) {
+        if (spilled.get() && queue.isEmpty()) {
+          spilled.set(false);
+          requeue(outbox.takeAll());
+        }
+        List<OutgoingEmail> batch = nextBatch();
+        if (batch.isEmpty()) {
+          closeIdleTransport();
+        } else {
+          deliver(batch);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      logger.error("Email delivery stopped unexpectedly", e);
+    } finally {
+      closeTransport();
+    }
+  }
+
+  private void requeue(Collection<OutgoingEmail> emails) {
+    List<OutgoingEmail> overflow = new ArrayList<>();
+    for (OutgoingEmail email : emails) {
+      if (!queue.offer(email)) {
+        overflow.add(email);
+      }
+    }
+    if (!overflow.isEmpty()) {
+      outbox.save(overflow);
+      spilled.set(true);
+    }
+  }
+
+  /**
+   * @return the emails to send next: retries which are due, followed by queued emails. Waits for
+   *         a short time, if there is nothing to send.
+   */
+  private List<OutgoingEmail> nextBatch() throws InterruptedException {
+    List<OutgoingEmail> batch = new ArrayList<>(batchSize);
+    long now = System.currentTimeMillis();
+    OutgoingEmail retry;
+    while (batch.size() < batchSize && (retry = retries.peek()) != null
+        && retry.getNextAttemptAt() <= now) {
+      batch.add(retries.poll());
+    }
+    if (batch.isEmpty()) {
+      long wait = POLL_INTERVAL_MILLIS;
+      if ((retry = retries.peek()) != null) {
+        wait = Math.max(0, Math.min(wait, retry.getNextAttemptAt() - now));
+      }
+      OutgoingEmail next = queue.poll(wait, TimeUnit.MILLISECONDS);
+      if (next == null) {
+        return batch;
+      }
+      batch.add(next);
+    }
+    queue.drainTo(batch, batchSize - batch.size());
+    return batch;
+  }
+
+  private void deliver(List<OutgoingEmail> batch) {
+    for (int i = 0; i < batch.size(); i++) {
+      OutgoingEmail email = batch.get(i);
+      Transport connectedTransport;
+      try {
+        connectedTransport = getConnectedTransport();
+      } catch (MessagingException | RuntimeException e) {
+        logger.warn("Problem connecting to Email server: " + e.getMessage());
+        batch.subList(i, batch.size()).forEach(this::retryLater);
+        return;
+      }
+      try {
+        SMTPMessage message = email.toMessage(mailSession, mailFrom);
+        connectedTransport.sendMessage(message, InternetAddress.parse(email.getRecipient()));
+        transportLastUsed = System.currentTimeMillis();
+      } catch (MessagingException | RuntimeException e) {
+        logger.warn("Problem sending email to " + email.getRecipient() + ": " + e.getMessage());
+        // the state of the connection is unknown after a failure
+        closeTransport();
+        retryLater(email);
+      }
+    }
+  }
+
+  private void retryLater(OutgoingEmail email) {
+    if (email.getAttempts() + 1 >= maxAttempts) {
+      logger.error("Giving up sending email to " + email.getRecipient() + " after "
+          + maxAttempts + " attempts");
+      return;
+    }
+    long backoff = Math.min(maxBackoffMillis,
+        initialBackoffMillis << Math.min(email.getAttempts(), 20));
+    email.scheduleRetry(System.currentTimeMillis() + backoff);
+    retries.add(email);
+  }
+
+  private Transport getConnectedTransport() throws MessagingException {
+    if (transport != null && (!transport.isConnected()
+        || System.currentTimeMillis() - transportLastUsed >= connectionIdleMillis)) {
+      closeTransport();
+    }
+    if (transport == null) {
+      Transport newTransport = mailSession.getTransport("smtp");
+      newTransport.connect();
+      transport = newTransport;
+      transportLastUsed = System.currentTimeMillis();
+    }
+    return transport;
+  }
+
+  private void closeIdleTransport() {
+    if (transport != null
+        && System.currentTimeMillis() - transportLastUsed >= connectionIdleMillis) {
+      closeTransport();
+    }
+  }
+
+  private void closeTransport() {
+    if (transport != null) {
+      try {
+        transport.close();
+      } catch (MessagingException | RuntimeException e) {
+        logger.debug("Problem closing connection to Email server", e);
+      }
+      transport = null;
+    }
+  }
+}
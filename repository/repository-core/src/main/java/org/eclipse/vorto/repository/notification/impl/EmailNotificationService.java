@@ -13,7 +13,8 @@
 package org.eclipse.vorto.repository.notification.impl;
 
 import java.util.Properties;
-import javax.mail.Message;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.mail.MessagingException;
 import javax.mail.PasswordAuthentication;
 import javax.mail.Session;
@@ -24,7 +25,6 @@ import org.eclipse.vorto.repository.notification.IMessage;
 import org.eclipse.vorto.repository.notification.INotificationService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import com.sun.mail.smtp.SMTPMessage;
 
 /**
  * @author Alexander Edelmann - Robert Bosch (SEA) Pte. Ltd.
@@ -52,16 +52,76 @@ public class EmailNotificationService implements INotificationService {
   @Value("${mail.login.password}")
   private String mailPassword;
 
-  public void sendNotification(IMessage message) {
-    doSendEmail(message);
+  @Value("${mail.smtp.timeoutMillis:30000}")
+  private String smtpTimeoutMillis = "30000";
+
+  @Value("${mail.async.enabled:true}")
+  private boolean asyncEnabled = true;
+
+  @Value("${mail.async.queueCapacity:1000}")
+  private int queueCapacity = 1000;
+
+  @Value("${mail.async.batchSize:20}")
+  private int batchSize = 20;
+
+  @Value("${mail.async.maxAttempts:5}")
+  private int maxAttempts = 5;
+
+  @Value("${mail.async.initialBackoffMillis:5000}")
+  private long initialBackoffMillis = 5000;
+
+  @Value("${mail.async.maxBackoffMillis:300000}")
+  private long maxBackoffMillis = 300000;
+
+  @Value("${mail.async.connectionIdleMillis:30000}")
+  private long connectionIdleMillis = 30000;
+
+  @Value("${mail.async.shutdownTimeoutMillis:10000}")
+  private long shutdownTimeoutMillis = 10000;
+
+  @Value("${mail.outbox.directory:${user.home}/.vorto/mail-outbox}")
+  private String outboxDirectory;
+
+  private EmailDispatcher dispatcher;
+
+  @PostConstruct
+  public synchronized void start() {
+    if (asyncEnabled && dispatcher == null) {
+      dispatcher = new EmailDispatcher(newSession(), mailFrom, new EmailOutbox(outboxDirectory),
+          queueCapacity, batchSize, maxAttempts, initialBackoffMillis, maxBackoffMillis,
+          connectionIdleMillis);
+      dispatcher.start();
+    }
   }
 
-  private void doSendEmail(IMessage message) {
+  @PreDestroy
+  public synchronized void stop() {
+    if (dispatcher != null) {
+      dispatcher.stop(shutdownTimeoutMillis);
+      dispatcher = null;
+    }
+  }
 
+  /**
+   * Renders the message and queues it for delivery in the background. If the asynchronous
+   * delivery is disabled, the message is sent right away.
+   */
+  public void sendNotification(IMessage message) {
     if (!message.getRecipient().hasEmailAddress()) {
       return;
     }
 
+    OutgoingEmail email = OutgoingEmail.of(message.getRecipient().getEmailAddress(),
+        message.getSubject(), message.getContent());
+    EmailDispatcher currentDispatcher = this.dispatcher;
+    if (currentDispatcher != null) {
+      currentDispatcher.submit(email);
+    } else {
+      doSendEmail(email);
+    }
+  }
+
+  private void doSendEmail(OutgoingEmail email) {
     try {
       final Session emailSession = newSession();
       Transport transport = emailSession.getTransport("smtp");
@@ -71,18 +131,12 @@ public class EmailNotificationService implements INotificationService {
         logger.error("Problem connecting to Email server", connectEx);
         return;
       }
-      SMTPMessage smtpMessage = new SMTPMessage(emailSession);
-      smtpMessage.setFrom(new InternetAddress(this.mailFrom));
-      smtpMessage.setRecipients(Message.RecipientType.TO,
-          InternetAddress.parse(message.getRecipient().getEmailAddress()));
-      smtpMessage.setHeader("Content-Type", "text/html");
-      smtpMessage.setSubject(message.getSubject());
-      smtpMessage.setContent(message.getContent(), "text/html");
-      smtpMessage.setNotifyOptions(SMTPMessage.NOTIFY_SUCCESS);
-      smtpMessage.setReturnOption(1);
-      transport.sendMessage(smtpMessage,
-          InternetAddress.parse(message.getRecipient().getEmailAddress()));
-      transport.close();
+      try {
+        transport.sendMessage(email.toMessage(emailSession, this.mailFrom),
+            InternetAddress.parse(email.getRecipient()));
+      } finally {
+        transport.close();
+      }
     } catch (MessagingException me) {
       logger.error(me.getMessage(), me);
       throw new NotificationProblem("Problem sending email", me);
@@ -94,10 +148,12 @@ public class EmailNotificationService implements INotificationService {
     Properties props = new Properties();
     props.setProperty("mail.smtp.host", this.smtpHost);
     props.setProperty("mail.smtp.port", this.smtpPort);
+    props.setProperty("mail.smtp.connectiontimeout", this.smtpTimeoutMillis);
+    props.setProperty("mail.smtp.timeout", this.smtpTimeoutMillis);
     final String mailUser = this.mailUser;
     final String mailPassword = this.mailPassword;
 
-    return Session.getDefaultInstance(props,
+    return Session.getInstance(props,
         this.needsAuth.equalsIgnoreCase("false") ? null : new javax.mail.Authenticator() {
           @Override
           protected PasswordAuthentication getPasswordAuthentication() {
@@ -138,4 +194,20 @@ public class EmailNotificationService implements INotificationService {
     this.needsAuth = needsAuth;
   }
 
+  public boolean isAsyncEnabled() {
+    return asyncEnabled;
+  }
+
+  public void setAsyncEnabled(boolean asyncEnabled) {
+    this.asyncEnabled = asyncEnabled;
+  }
+
+  public String getOutboxDirectory() {
+    return outboxDirectory;
+  }
+
+  public void setOutboxDirectory(String outboxDirectory) {
+    this.outboxDirectory = outboxDirectory;
+  }
+
 }
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.notification.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.apache.log4j.Logger;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Keeps emails which could not be delivered yet on disk, one file per email, so that they survive
+ * a restart of the repository.
+ */
+public class EmailOutbox {
+
+  private static Logger logger = Logger.getLogger(EmailOutbox.class);
+
+  private static final String FILE_EXTENSION = ".json";
+
+  private final Path directory;
+
+  private final Gson gson = new Gson();
+
+  /**
+   * @param directory the directory to keep the emails in. If blank, emails put into the outbox are
+   *        dropped.
+   */
+  public EmailOutbox(String directory) {
+    this.directory = directory == null || directory.trim().isEmpty() ? null : Paths.get(directory);
+  }
+
+  public synchronized void save(Collection<OutgoingEmail> emails) {
+    if (emails.isEmpty()) {
+      return;
+    }
+    if (directory == null) {
+      logger.error("No outbox configured, dropping " + emails.size() + " undelivered emails");
+      return;
+    }
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      logger.error("Cannot create outbox " + directory + ", dropping " + emails.size()
+          + " undelivered emails", e);
+      return;
+    }
+    for (OutgoingEmail email : emails) {
+      Path file = directory.resolve(email.getId() + FILE_EXTENSION);
+      try {
+        Files.write(file, gson.toJson(email).getBytes(StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        logger.error("Cannot write email to " + email.getRecipient() + " to the outbox", e);
+      }
+    }
+  }
+
+  /**
+   * Removes all emails from the outbox
+   *
+   * @return the emails, oldest first
+   */
+  public synchronized List<OutgoingEmail> takeAll() {
+    if (directory == null || !Files.isDirectory(directory)) {
+      return Collections.emptyList();
+    }
+    List<OutgoingEmail> emails = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+      for (Path file : files) {
+        try {
+          emails.add(gson.fromJson(new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+              OutgoingEmail.class));
+          Files.delete(file);
+        } catch (IOException | JsonParseException e) {
+          logger.error("Cannot read email " + file + " from the outbox", e);
+        }
+      }
+    } catch (IOException e) {
+      logger.error("Cannot read the outbox " + directory, e);
+    }
+    emails.sort(Comparator.comparingLong(OutgoingEmail::getCreatedAt));
+    return emails;
+  }
+}
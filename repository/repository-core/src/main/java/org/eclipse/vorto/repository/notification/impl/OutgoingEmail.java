@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.notification.impl;
+
+import java.util.UUID;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.InternetAddress;
+import com.sun.mail.smtp.SMTPMessage;
+
+/**
+ * An email waiting to be delivered. The message is rendered when the notification is sent, so
+ * that the email does not depend on the state of the objects it was rendered from, and it can be
+ * kept in the outbox.
+ */
+public class OutgoingEmail {
+
+  private String id;
+
+  private String recipient;
+
+  private String subject;
+
+  private String content;
+
+  private long createdAt;
+
+  private int attempts;
+
+  private long nextAttemptAt;
+
+  private OutgoingEmail() {}
+
+  public static OutgoingEmail of(String recipient, String subject, String content) {
+    OutgoingEmail email = new OutgoingEmail();
+    email.id = UUID.randomUUID().toString();
+    email.recipient = recipient;
+    email.subject = subject;
+    email.content = content;
+    email.createdAt = System.currentTimeMillis();
+    return email;
+  }
+
+  public SMTPMessage toMessage(Session session, String from) throws MessagingException {
+    SMTPMessage smtpMessage = new SMTPMessage(session);
+    smtpMessage.setFrom(new InternetAddress(from));
+    smtpMessage.setRecipients(Message.RecipientType.TO, InternetAddress.parse(recipient));
+    smtpMessage.setHeader("Content-Type", "text/html");
+    smtpMessage.setSubject(subject);
+    smtpMessage.setContent(content, "text/html");
+    smtpMessage.setNotifyOptions(SMTPMessage.NOTIFY_SUCCESS);
+    smtpMessage.setReturnOption(1);
+    return smtpMessage;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getRecipient() {
+    return recipient;
+  }
+
+  public String getSubject() {
+    return subject;
+  }
+
+  public String getContent() {
+    return content;
+  }
+
+  public long getCreatedAt() {
+    return createdAt;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public long getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  void scheduleRetry(long nextAttemptAt) {
+    this.attempts++;
+    this.nextAttemptAt = nextAttemptAt;
+  }
+}
@@ -12,25 +12,47 @@
  */
 package org.eclipse.vorto.repository.notification.message;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.domain.User;
-import org.eclipse.vorto.repository.notification.INotificationService.NotificationProblem;
 
 public class CommentReplyMessage extends AbstractMessage {
 
-  private TemplateRenderer renderer;
-
   private ModelInfo modelInfo;
 
-  private String commentMessage;
+  private SharedContent content;
 
   public CommentReplyMessage(User recipient, ModelInfo modelInfo, String commentMessage) {
+    this(recipient, modelInfo, renderContent(modelInfo, commentMessage));
+  }
+
+  private CommentReplyMessage(User recipient, ModelInfo modelInfo, SharedContent content) {
     super(recipient);
-    this.renderer = new TemplateRenderer("comment_reply.ftl");
     this.modelInfo = modelInfo;
-    this.commentMessage = commentMessage;
+    this.content = content;
+  }
+
+  /**
+   * Creates the messages for all recipients of a comment. The content does not depend on the
+   * recipient, so it is rendered only once for all of them.
+   */
+  public static List<CommentReplyMessage> forRecipients(Collection<User> recipients,
+      ModelInfo modelInfo, String commentMessage) {
+    SharedContent content = renderContent(modelInfo, commentMessage);
+    return recipients.stream()
+        .map(recipient -> new CommentReplyMessage(recipient, modelInfo, content))
+        .collect(Collectors.toList());
+  }
+
+  private static SharedContent renderContent(ModelInfo modelInfo, String commentMessage) {
+    Map<String, Object> ctx = new HashMap<>(2);
+    ctx.put("model", modelInfo);
+    ctx.put("comment", commentMessage);
+    return new TemplateRenderer("comment_reply.ftl").renderShared(ctx);
   }
 
   @Override
@@ -40,15 +62,7 @@ public class CommentReplyMessage extends AbstractMessage {
 
   @Override
   public String getContent() {
-    Map<String, Object> ctx = new HashMap<>(1);
-    ctx.put("model", modelInfo);
-    ctx.put("comment", commentMessage);
-    try {
-      return renderer.render(ctx);
-    } catch (Exception e) {
-      throw new NotificationProblem("Problem rendering notification message", e);
-
-    }
+    return content.get();
   }
 
 }
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.notification.message;
+
+import java.util.Map;
+import org.eclipse.vorto.repository.notification.INotificationService.NotificationProblem;
+
+/**
+ * Content of a notification that is the same for all recipients of an event. It is rendered when
+ * the first message is sent and reused for the messages to all other recipients.
+ */
+public class SharedContent {
+
+  private final TemplateRenderer renderer;
+
+  private final Map<String, Object> vars;
+
+  private volatile String content;
+
+  SharedContent(TemplateRenderer renderer, Map<String, Object> vars) {
+    this.renderer = renderer;
+    this.vars = vars;
+  }
+
+  public String get() {
+    String result = content;
+    if (result == null) {
+      synchronized (this) {
+        result = content;
+        if (result == null) {
+          try {
+            result = renderer.render(vars);
+          } catch (Exception e) {
+            throw new NotificationProblem("Problem rendering notification message", e);
+          }
+          content = result;
+        }
+      }
+    }
+    return result;
+  }
+}
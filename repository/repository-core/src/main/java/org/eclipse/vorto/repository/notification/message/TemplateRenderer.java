@@ -12,14 +12,22 @@
  */
 package org.eclipse.vorto.repository.notification.message;
 
+import java.io.IOException;
 import java.io.StringWriter;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 
+/**
+ * Renders the email templates. The templates are part of the application, so they are compiled
+ * only once and kept for the lifetime of the process.
+ */
 public class TemplateRenderer {
   private static Configuration configuration = new Configuration(Configuration.VERSION_2_3_22);
 
+  private static final Map<String, Template> TEMPLATES = new ConcurrentHashMap<>();
+
   static {
     configuration.setClassForTemplateLoading(TemplateRenderer.class, "/emailtemplates");
   }
@@ -31,9 +39,27 @@ public class TemplateRenderer {
   }
 
   public String render(Map<String, Object> vars) throws Exception {
-    Template template = configuration.getTemplate(templateName);
     StringWriter sw = new StringWriter();
-    template.process(vars, sw);
+    getTemplate().process(vars, sw);
     return sw.toString();
   }
+
+  /**
+   * @param vars the variables, which must be the same for all recipients
+   * @return content rendered at most once, to be shared by the messages sent to all recipients of
+   *         an event
+   */
+  public SharedContent renderShared(Map<String, Object> vars) {
+    return new SharedContent(this, vars);
+  }
+
+  private Template getTemplate() throws IOException {
+    Template template = TEMPLATES.get(templateName);
+    if (template == null) {
+      // templates are immutable and thread-safe, compiling one twice on a race is harmless
+      template = configuration.getTemplate(templateName);
+      TEMPLATES.putIfAbsent(templateName, template);
+    }
+    return template;
+  }
 }
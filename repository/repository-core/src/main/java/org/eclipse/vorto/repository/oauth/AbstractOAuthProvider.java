@@ -26,9 +26,12 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.eclipse.vorto.repository.account.IUserAccountService;
 import org.eclipse.vorto.repository.domain.Role;
+import org.eclipse.vorto.repository.oauth.internal.JwksKeyCache;
 import org.eclipse.vorto.repository.oauth.internal.JwtToken;
 import org.eclipse.vorto.repository.oauth.internal.SpringUserUtils;
 import org.eclipse.vorto.repository.oauth.internal.VerificationHelper;
+import org.eclipse.vorto.repository.oauth.internal.VerifiedTokenCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
@@ -48,6 +51,7 @@ public abstract class AbstractOAuthProvider implements IOAuthProvider {
   private Supplier<Map<String, PublicKey>> publicKeySupplier;
   private Map<String, PublicKey> publicKeys = null;
   protected IUserAccountService userAccountService;
+  private VerifiedTokenCache verifiedTokenCache;
 
   public AbstractOAuthProvider(Supplier<Map<String, PublicKey>> publicKeySupplier,
       IUserAccountService userAccountService) {
@@ -55,13 +59,18 @@ public abstract class AbstractOAuthProvider implements IOAuthProvider {
     this.publicKeySupplier = Objects.requireNonNull(publicKeySupplier);
   }
 
+  @Autowired(required = false)
+  public void setVerifiedTokenCache(VerifiedTokenCache verifiedTokenCache) {
+    this.verifiedTokenCache = verifiedTokenCache;
+  }
+
   protected abstract String getIssuer();
   
   protected abstract Optional<String> getUserId(Map<String, Object> map);
 
   @Override
   public boolean canHandle(String accessToken) {
-    Optional<JwtToken> jwtToken = JwtToken.instance(accessToken);
+    Optional<JwtToken> jwtToken = getToken(accessToken);
     if (jwtToken.isPresent()) {
       String issuer = (String) jwtToken.get().getPayloadMap().get(ISSUER);
       return issuer.equals(getIssuer());
@@ -69,12 +78,6 @@ public abstract class AbstractOAuthProvider implements IOAuthProvider {
     return false;
   }
   
-  private Authentication createAuthentication(HttpServletRequest request, String accessToken) {
-    return JwtToken.instance(accessToken)
-            .map(jwtToken -> createAuthentication(request, jwtToken))
-            .orElse(null);
-  }
-  
   protected abstract Authentication createAuthentication(HttpServletRequest httpRequest, JwtToken accessToken);
 
   protected OAuth2Authentication createAuthentication(String clientId, String userId, String name, 
@@ -95,22 +98,40 @@ public abstract class AbstractOAuthProvider implements IOAuthProvider {
   }
   
   protected boolean verifyPublicKey(JwtToken jwtToken) {
-    if (publicKeys == null || publicKeys.isEmpty()) {
-      publicKeys = publicKeySupplier.get();
-    }
-
     String keyId = (String) jwtToken.getHeaderMap().get(KEY_ID);
     if (keyId == null) {
       throw new InvalidTokenException(
           String.format("AccessToken '%s' doesn't have a kid in header", jwtToken.getJwtToken()));
     }
 
-    PublicKey publicKey = publicKeys.get(keyId);
-    if (publicKey == null) {
-      throw new InvalidTokenException(String.format("There are no public keys with kid '%s'", keyId));
+    PublicKey publicKey = getPublicKey(keyId).orElseThrow(() -> new InvalidTokenException(
+        String.format("There are no public keys with kid '%s'", keyId)));
+
+    if (verifiedTokenCache != null && verifiedTokenCache.isVerified(jwtToken, publicKey)) {
+      return true;
     }
-    
-    return VerificationHelper.verifyJwtToken(publicKey, jwtToken);
+
+    boolean verified = VerificationHelper.verifyJwtToken(publicKey, jwtToken);
+    if (verified && verifiedTokenCache != null) {
+      verifiedTokenCache.putVerified(jwtToken, publicKey);
+    }
+    return verified;
+  }
+
+  private Optional<JwtToken> getToken(String accessToken) {
+    return verifiedTokenCache != null ? verifiedTokenCache.getToken(accessToken)
+        : JwtToken.instance(accessToken);
+  }
+
+  private Optional<PublicKey> getPublicKey(String keyId) {
+    if (publicKeySupplier instanceof JwksKeyCache) {
+      return ((JwksKeyCache) publicKeySupplier).getKey(keyId);
+    }
+
+    if (publicKeys == null || publicKeys.isEmpty()) {
+      publicKeys = publicKeySupplier.get();
+    }
+    return Optional.ofNullable(publicKeys.get(keyId));
   }
   
   protected boolean verifyExpiry(JwtToken jwtToken) {
@@ -135,11 +156,11 @@ public abstract class AbstractOAuthProvider implements IOAuthProvider {
   
   @Override
   public Authentication authenticate(HttpServletRequest httpRequest, String accessToken) throws OAuthAuthenticationException {
-    Optional<JwtToken> maybeJwtToken = JwtToken.instance(accessToken);
+    Optional<JwtToken> maybeJwtToken = getToken(accessToken);
     if (maybeJwtToken.isPresent()) {
       boolean isValid = verify(httpRequest, maybeJwtToken.get());
       if (isValid) {
-        return createAuthentication(httpRequest, accessToken);
+        return createAuthentication(httpRequest, maybeJwtToken.get());
       } else {
         throw new IOAuthProvider.OAuthAuthenticationException("Authentication failed");
       }
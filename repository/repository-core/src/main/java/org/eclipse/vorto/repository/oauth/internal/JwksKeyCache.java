@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.oauth.internal;
+
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Keeps the public keys published at a JWKS endpoint in memory, so that verifying a token does
+ * not need to call the identity provider.
+ *
+ * The key set is fetched in the background once the cache is started and is refreshed ahead of
+ * the expiry announced by the Cache-Control (or Expires) header of the endpoint. A key id which is
+ * not in the key set triggers a fetch on demand, as the identity provider may have rotated its
+ * keys, but the endpoint is never called more often than the minimum fetch interval. If the
+ * endpoint cannot be reached, the last key set that was fetched successfully is kept.
+ */
+public class JwksKeyCache implements Supplier<Map<String, PublicKey>> {
+
+  public static final long DEFAULT_MIN_FETCH_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  public static final long DEFAULT_MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+  public static final long MAX_MAX_AGE_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+  private static final Pattern MAX_AGE = Pattern.compile("max-age\\s*=\\s*\"?(\\d+)\"?");
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JwksKeyCache.class);
+
+  private final RestTemplate restTemplate;
+
+  private final String publicKeyUri;
+
+  private final long minFetchIntervalMillis;
+
+  private volatile Map<String, PublicKey> keys = Collections.emptyMap();
+
+  private long lastFetch = 0;
+
+  private boolean started = false;
+
+  private ScheduledFuture<?> scheduledRefresh;
+
+  public JwksKeyCache(RestTemplate restTemplate, String publicKeyUri) {
+    this(restTemplate, publicKeyUri, DEFAULT_MIN_FETCH_INTERVAL_MILLIS);
+  }
+
+  /**
+   * @param restTemplate the template to call the endpoint with
+   * @param publicKeyUri the uri of the JWKS endpoint. If null, the cache stays empty.
+   * @param minFetchIntervalMillis minimum time in milliseconds between two calls of the endpoint
+   */
+  public JwksKeyCache(RestTemplate restTemplate, String publicKeyUri,
+      long minFetchIntervalMillis) {
+    this.restTemplate = restTemplate;
+    this.publicKeyUri = publicKeyUri;
+    this.minFetchIntervalMillis = minFetchIntervalMillis;
+  }
+
+  /**
+   * Schedules the first fetch of the key set in the background. From then on, the key set is
+   * refreshed in the background until the cache is stopped.
+   *
+   * @return this cache
+   */
+  public synchronized JwksKeyCache start() {
+    if (publicKeyUri != null && !started) {
+      started = true;
+      scheduleRefresh(0);
+    }
+    return this;
+  }
+
+  public synchronized void stop() {
+    started = false;
+    if (scheduledRefresh != null) {
+      scheduledRefresh.cancel(false);
+      scheduledRefresh = null;
+    }
+  }
+
+  /**
+   * @return the current key set. It is only fetched on the calling thread, if no key set has been
+   *         fetched yet.
+   */
+  @Override
+  public Map<String, PublicKey> get() {
+    if (keys.isEmpty()) {
+      fetchOnDemand();
+    }
+    return keys;
+  }
+
+  /**
+   * @param keyId the kid of the key
+   * @return the key with the given kid, fetching the key set again if the kid is unknown and the
+   *         key set was not fetched within the minimum fetch interval
+   */
+  public Optional<PublicKey> getKey(String keyId) {
+    PublicKey key = keys.get(keyId);
+    if (key == null) {
+      fetchOnDemand();
+      key = keys.get(keyId);
+    }
+    return Optional.ofNullable(key);
+  }
+
+  private synchronized void fetchOnDemand() {
+    if (publicKeyUri != null
+        && System.currentTimeMillis() - lastFetch >= minFetchIntervalMillis) {
+      fetch();
+    }
+  }
+
+  private synchronized void fetch() {
+    lastFetch = System.currentTimeMillis();
+    try {
+      ResponseEntity<Keys> response = restTemplate.getForEntity(publicKeyUri, Keys.class);
+      Map<String, PublicKey> fetchedKeys = response.getBody() == null ? Collections.emptyMap()
+          : PublicKeyHelper.toPublicKeys(response.getBody());
+      if (fetchedKeys.isEmpty()) {
+        throw new IllegalStateException("The endpoint returned no keys");
+      }
+      keys = Collections.unmodifiableMap(fetchedKeys);
+
+      long maxAge = maxAgeOf(response.getHeaders(), lastFetch);
+      scheduleRefresh(Math.max(maxAge / 5 * 4, minFetchIntervalMillis));
+    } catch (RuntimeException e) {
+      LOGGER.warn("Could not fetch the public keys from '{}', keeping the {} known keys: {}",
+          publicKeyUri, keys.size(), e.getMessage());
+      scheduleRefresh(minFetchIntervalMillis);
+    }
+  }
+
+  private synchronized void scheduleRefresh(long delayMillis) {
+    if (scheduledRefresh != null) {
+      scheduledRefresh.cancel(false);
+    }
+    if (!started) {
+      scheduledRefresh = null;
+      return;
+    }
+    scheduledRefresh =
+        SchedulerHolder.SCHEDULER.schedule(this::fetch, delayMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return the time in milliseconds the key set may be cached for, as announced by the headers
+   */
+  private long maxAgeOf(HttpHeaders headers, long now) {
+    long maxAge = DEFAULT_MAX_AGE_MILLIS;
+    String cacheControl = headers.getCacheControl();
+    Matcher matcher = cacheControl == null ? null : MAX_AGE.matcher(cacheControl);
+    if (cacheControl != null
+        && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"))) {
+      maxAge = 0;
+    } else if (matcher != null && matcher.find()) {
+      maxAge = TimeUnit.SECONDS.toMillis(Long.parseLong(matcher.group(1)));
+      String age = headers.getFirst("Age");
+      if (age != null && age.trim().matches("\\d+")) {
+        maxAge -= TimeUnit.SECONDS.toMillis(Long.parseLong(age.trim()));
+      }
+    } else if (headers.getExpires() > 0) {
+      long date = headers.getDate() > 0 ? headers.getDate() : now;
+      maxAge = headers.getExpires() - date;
+    }
+    return Math.min(Math.max(maxAge, minFetchIntervalMillis), MAX_MAX_AGE_MILLIS);
+  }
+
+  private static final class SchedulerHolder {
+    private static final ScheduledExecutorService SCHEDULER =
+        Executors.newSingleThreadScheduledExecutor(runnable -> {
+          Thread thread = new Thread(runnable, "jwks-refresh");
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+}
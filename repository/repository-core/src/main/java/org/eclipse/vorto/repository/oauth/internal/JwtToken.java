@@ -14,6 +14,7 @@ package org.eclipse.vorto.repository.oauth.internal;
 
 import java.lang.reflect.Type;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import com.google.gson.Gson;
@@ -23,6 +24,8 @@ public class JwtToken {
   private String header;
   private String payload;
   private String signature;
+  private volatile Map<String, Object> headerMap;
+  private volatile Map<String, Object> payloadMap;
 
   public static Optional<JwtToken> instance(String jwtToken) {
     if (jwtToken == null) {
@@ -52,8 +55,10 @@ public class JwtToken {
   }
 
   public Map<String, Object> getHeaderMap() {
-    Type type = new TypeToken<Map<String, Object>>() {}.getType();
-    return new Gson().fromJson(new String(Base64.getUrlDecoder().decode(header)), type);
+    if (headerMap == null) {
+      headerMap = decode(header);
+    }
+    return headerMap;
   }
 
   public String getJwtToken() {
@@ -65,8 +70,17 @@ public class JwtToken {
   }
 
   public Map<String, Object> getPayloadMap() {
+    if (payloadMap == null) {
+      payloadMap = decode(payload);
+    }
+    return payloadMap;
+  }
+
+  private static Map<String, Object> decode(String part) {
     Type type = new TypeToken<Map<String, Object>>() {}.getType();
-    return new Gson().fromJson(new String(Base64.getUrlDecoder().decode(payload)), type);
+    Map<String, Object> map =
+        new Gson().fromJson(new String(Base64.getUrlDecoder().decode(part)), type);
+    return map == null ? null : Collections.unmodifiableMap(map);
   }
 
   public String getSignature() {
@@ -39,59 +39,33 @@ public class PublicKeyHelper {
     return new PublicKeyHelper(Objects.requireNonNull(restTemplate));
   }
   
+  /**
+   * Creates a cached supplier of the keys published at the given JWKS endpoint. The keys are
+   * refreshed in the background, see {@link JwksKeyCache}.
+   */
   public static Supplier<Map<String, PublicKey>> supplier(RestTemplate restTemplate, String publicKeyUri) {
-    return () -> {
-      return instance(restTemplate).getPublicKey(publicKeyUri);
-    };
+    return new JwksKeyCache(Objects.requireNonNull(restTemplate), publicKeyUri).start();
   }
 
   private PublicKeyHelper(RestTemplate restTemplate) {
     this.restTemplate = restTemplate;
   }
 
-  private Map<String, CommonKey> getKeys(Keys keys) {
-    return Arrays.stream(keys.keys)
-        .collect(Collectors.toMap(entry -> entry.kid, entry -> new CommonKey(entry.n, entry.e)));
-  }
-
   public Map<String, PublicKey> getPublicKey(String publicKeyUri) {
-    return retrievePublicKeys(publicKeyUri).map(this::getKeys).map(this::keysToPublicKeyMap)
+    return retrievePublicKeys(publicKeyUri).map(PublicKeyHelper::toPublicKeys)
         .orElse(Collections.emptyMap());
   }
 
-  private Map<String, PublicKey> keysToPublicKeyMap(Map<String, CommonKey> keys) {
-    return keys.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> {
-      try {
-        CommonKey publicKey = entry.getValue();
-        KeyFactory kf = KeyFactory.getInstance("RSA");
-        return kf.generatePublic(
-            new RSAPublicKeySpec(publicKey.getModulus(), publicKey.getPublicExponent()));
-      } catch (Exception e) {
-        throw new InvalidTokenException("Problem converting the common keys to public keys", e);
-      }
-    }));
-  }
-
   private Optional<Keys> retrievePublicKeys(String publicKeyUri) {
     return Optional.ofNullable(restTemplate.getForObject(publicKeyUri, Keys.class));
   }
 
-  class CommonKey {
-    private BigInteger modulus = null, publicExponent = null;
-
-    public CommonKey(String n, String e) {
-      Decoder urlDecoder = Base64.getUrlDecoder();
-      modulus = new BigInteger(1, urlDecoder.decode(n));
-      publicExponent = new BigInteger(1, urlDecoder.decode(e));
-    }
-
-    public BigInteger getModulus() {
-      return modulus;
-    }
-
-    public BigInteger getPublicExponent() {
-      return publicExponent;
+  static Map<String, PublicKey> toPublicKeys(Keys keys) {
+    if (keys.keys == null) {
+      return Collections.emptyMap();
     }
+    return Arrays.stream(keys.keys)
+        .collect(Collectors.toMap(key -> key.kid, key -> toPublicKey(key.n, key.e)));
   }
 
   public static PublicKey toPublicKey(String publicKey) {
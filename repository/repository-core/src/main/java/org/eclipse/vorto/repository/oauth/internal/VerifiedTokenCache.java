@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.oauth.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+/**
+ * Cache of the bearer tokens whose signature has been verified, shared by the OAuth providers and
+ * the request filters.
+ *
+ * Entries are keyed by the SHA-256 hash of the token and hold the decoded token together with the
+ * public key it was verified with. A token is only treated as verified, as long as the provider
+ * still resolves its kid to the same key, and never beyond the expiry ('exp') of the token. Only
+ * the signature check is cached: expiry, user and resource checks, which depend on the request,
+ * are still done for every request.
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private static final String JWT_EXPIRY = "exp";
+
+  private final Cache<String, Entry> cache;
+
+  @Autowired
+  public VerifiedTokenCache(
+      @Value("${oauth2.verification.tokenCache.maxSize:10000}") long maxSize,
+      @Value("${oauth2.verification.tokenCache.expireAfterSeconds:300}") long expireAfterSeconds) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxSize)
+        .expireAfterWrite(expireAfterSeconds, TimeUnit.SECONDS).build();
+  }
+
+  /**
+   * @param accessToken the raw bearer token
+   * @return the decoded token. A token that was verified before is returned with its claims
+   *         already decoded.
+   */
+  public Optional<JwtToken> getToken(String accessToken) {
+    if (accessToken == null) {
+      return Optional.empty();
+    }
+    Optional<Entry> entry = getEntry(hash(accessToken));
+    if (entry.isPresent()) {
+      return Optional.of(entry.get().token);
+    }
+    return JwtToken.instance(accessToken);
+  }
+
+  /**
+   * @param token the decoded token
+   * @param publicKey the key the token has to be signed with
+   * @return true, if the signature of the token was verified with the given key before
+   */
+  public boolean isVerified(JwtToken token, PublicKey publicKey) {
+    return getEntry(hash(token.getJwtToken()))
+        .map(entry -> entry.publicKey.equals(publicKey)).orElse(false);
+  }
+
+  /**
+   * Remembers that the signature of the given token was verified with the given key. Tokens which
+   * have already expired are not cached.
+   */
+  public void putVerified(JwtToken token, PublicKey publicKey) {
+    long expiresAt = expiryOf(token);
+    if (expiresAt > System.currentTimeMillis()) {
+      cache.put(hash(token.getJwtToken()), new Entry(token, publicKey, expiresAt));
+    }
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  private Optional<Entry> getEntry(String hash) {
+    Entry entry = cache.getIfPresent(hash);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (entry.expiresAt <= System.currentTimeMillis()) {
+      cache.invalidate(hash);
+      return Optional.empty();
+    }
+    return Optional.of(entry);
+  }
+
+  private static long expiryOf(JwtToken token) {
+    try {
+      Object expiry = token.getPayloadMap().get(JWT_EXPIRY);
+      if (expiry instanceof Number) {
+        return TimeUnit.SECONDS.toMillis(((Number) expiry).longValue());
+      }
+      return Long.MAX_VALUE;
+    } catch (RuntimeException e) {
+      return 0;
+    }
+  }
+
+  private static String hash(String accessToken) {
+    return Hashing.sha256().hashString(accessToken, StandardCharsets.UTF_8).toString();
+  }
+
+  private static class Entry {
+    private final JwtToken token;
+    private final PublicKey publicKey;
+    private final long expiresAt;
+
+    Entry(JwtToken token, PublicKey publicKey, long expiresAt) {
+      this.token = token;
+      this.publicKey = publicKey;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
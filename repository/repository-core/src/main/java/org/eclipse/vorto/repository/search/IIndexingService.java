@@ -12,6 +12,9 @@
  */
 package org.eclipse.vorto.repository.search;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.ModelInfo;
 
@@ -33,6 +36,22 @@ public interface IIndexingService {
    */
   IndexingResult forceReindexAllModels();
 
+  /**
+   * Replaces the index of the models of the given tenant with the models currently in its
+   * workspace, e.g. after the workspace has been restored. The other tenants are not reindexed.
+   * 
+   * @param tenantId the tenant whose models are reindexed
+   * @return the number of models indexed
+   */
+  int reindexTenant(String tenantId);
+
+  /**
+   * @return the progress of the current or last reindexing of all models
+   */
+  default ReindexingProgress getReindexingProgress() {
+    return new ReindexingProgress();
+  }
+
   /**
    * Indexes the given model with the given tenantId 
    * 
@@ -61,5 +80,24 @@ public interface IIndexingService {
    * @param tenantId the owning tenant
    */
   void deleteIndexForTenant(String tenantId);
-  
+
+  /**
+   * Applies the given operations to the index. Implementations should send them in as few
+   * requests as possible, the default implementation applies them one by one.
+   *
+   * @param operations the operations to apply, at most one per model
+   * @return the operations that failed and may succeed when retried
+   */
+  default Collection<IndexingOperation> bulk(Collection<IndexingOperation> operations) {
+    List<IndexingOperation> failed = new ArrayList<>();
+    for (IndexingOperation operation : operations) {
+      try {
+        operation.applyTo(this);
+      } catch (IndexingException e) {
+        failed.add(operation);
+      }
+    }
+    return failed;
+  }
+
 }
@@ -13,6 +13,7 @@
 package org.eclipse.vorto.repository.search;
 
 import java.util.List;
+import java.util.stream.Collectors;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
 
@@ -34,4 +35,27 @@ public interface ISearchService {
    * @return
    */
   List<ModelInfo> search(String searchExpression, IUserContext userContext);
+
+  /**
+   * Searches all public models or models for which the calling user is member/collaborator of and
+   * returns a single page of the ordered result.
+   *
+   * The default implementation orders the complete result in memory. Implementations should
+   * override it to page and order on the server side.
+   *
+   * @param expression The search expression
+   * @param pageRequest The requested page and its ordering
+   * @return the requested page of models matching the search expression
+   */
+  default SearchPage search(String expression, SearchPageRequest pageRequest) {
+    int offset = SearchCursor.offsetOf(pageRequest);
+    List<ModelInfo> sorted = search(expression).stream()
+        .sorted(pageRequest.getSortOrder().getComparator()).collect(Collectors.toList());
+    List<ModelInfo> page = sorted.stream().skip(offset).limit(pageRequest.getLimit())
+        .collect(Collectors.toList());
+    SearchPage result = new SearchPage(page, offset, pageRequest.getLimit(),
+        sorted.size() > offset + pageRequest.getLimit());
+    result.setTotal((long) sorted.size());
+    return result;
+  }
 }
@@ -20,29 +20,58 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
 
+/**
+ * Keeps the search index in sync with the model events. If an {@link IndexingQueue} is available,
+ * model changes are queued and indexed in batches, otherwise they are indexed right away.
+ */
 @Component
 public class IndexingEventListener implements ApplicationListener<AppEvent>  {
   
   private IIndexingService indexingService;
+
+  private IndexingQueue indexingQueue;
   
-  public IndexingEventListener(@Autowired IIndexingService indexingService) {
+  public IndexingEventListener(IIndexingService indexingService) {
+    this(indexingService, null);
+  }
+
+  @Autowired
+  public IndexingEventListener(IIndexingService indexingService,
+      IndexingQueue indexingQueue) {
     this.indexingService = indexingService;
+    this.indexingQueue = indexingQueue;
   }
 
   @Override
   public void onApplicationEvent(AppEvent event) {
     if (event.getEventType() == EventType.MODEL_CREATED) {
       ModelInfo modelInfo = (ModelInfo) event.getSubject();
-      indexingService.indexModel(modelInfo, event.getUserContext().getTenant());
+      apply(IndexingOperation.index(modelInfo, event.getUserContext().getTenant()));
     } else if (event.getEventType() == EventType.MODEL_UPDATED) {
       ModelInfo modelInfo = (ModelInfo) event.getSubject();
-      indexingService.updateIndex(modelInfo);
+      apply(IndexingOperation.update(modelInfo));
     } else if (event.getEventType() == EventType.MODEL_DELETED) {
       ModelId modelId = (ModelId) event.getSubject();
-      indexingService.deleteIndex(modelId);
+      apply(IndexingOperation.delete(modelId));
     } else if (event.getEventType() == EventType.TENANT_DELETED) {
+      if (isQueued()) {
+        // pending changes of the tenant's models must not re-create them after the deletion
+        indexingQueue.flush();
+      }
       indexingService.deleteIndexForTenant(event.getUserContext().getTenant());
     }
   }
 
+  private void apply(IndexingOperation operation) {
+    if (isQueued()) {
+      indexingQueue.enqueue(operation);
+    } else {
+      operation.applyTo(indexingService);
+    }
+  }
+
+  private boolean isQueued() {
+    return indexingQueue != null && indexingQueue.isEnabled();
+  }
+
 }
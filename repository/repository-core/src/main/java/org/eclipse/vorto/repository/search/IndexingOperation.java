@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * A pending change of the search index for a single model.
+ */
+public final class IndexingOperation {
+
+  public enum Type {
+    INDEX, UPDATE, DELETE
+  }
+
+  private final Type type;
+
+  private final ModelId modelId;
+
+  private final ModelInfo modelInfo;
+
+  private final String tenantId;
+
+  private IndexingOperation(Type type, ModelId modelId, ModelInfo modelInfo, String tenantId) {
+    this.type = type;
+    this.modelId = modelId;
+    this.modelInfo = modelInfo;
+    this.tenantId = tenantId;
+  }
+
+  public static IndexingOperation index(ModelInfo modelInfo, String tenantId) {
+    return new IndexingOperation(Type.INDEX, modelInfo.getId(), modelInfo, tenantId);
+  }
+
+  public static IndexingOperation update(ModelInfo modelInfo) {
+    return new IndexingOperation(Type.UPDATE, modelInfo.getId(), modelInfo, null);
+  }
+
+  public static IndexingOperation delete(ModelId modelId) {
+    return new IndexingOperation(Type.DELETE, modelId, null, null);
+  }
+
+  /**
+   * Combines this operation with a later one for the same model into a single operation with the
+   * same effect on the index. The later operation wins, except that an update of a model that is
+   * still to be indexed is indexed right away with the updated data.
+   *
+   * @param next the later operation
+   * @return the combined operation
+   */
+  public IndexingOperation coalesce(IndexingOperation next) {
+    if (type == Type.INDEX && next.type == Type.UPDATE) {
+      return index(next.modelInfo, tenantId);
+    }
+    return next;
+  }
+
+  /**
+   * Applies this operation one by one through the given indexing service
+   *
+   * @param indexingService
+   */
+  public void applyTo(IIndexingService indexingService) {
+    switch (type) {
+      case INDEX:
+        indexingService.indexModel(modelInfo, tenantId);
+        break;
+      case UPDATE:
+        indexingService.updateIndex(modelInfo);
+        break;
+      case DELETE:
+      default:
+        indexingService.deleteIndex(modelId);
+        break;
+    }
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public ModelId getModelId() {
+    return modelId;
+  }
+
+  /**
+   * @return the model to index or update, null for deletions
+   */
+  public ModelInfo getModelInfo() {
+    return modelInfo;
+  }
+
+  /**
+   * @return the tenant owning the model to index, null for updates and deletions
+   */
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  @Override
+  public String toString() {
+    return "IndexingOperation [type=" + type + ", modelId=" + modelId.getPrettyFormat() + "]";
+  }
+}
@@ -0,0 +1,385 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-process queue of search index changes, which are sent to the
+ * {@link IIndexingService} in batches by a background worker.
+ *
+ * Pending operations are kept per model id, so that several changes of the same model before the
+ * next flush are sent as a single operation. A batch is sent as soon as enough operations are
+ * pending, or when the flush interval has passed. Operations reported as failed by the indexing
+ * service are queued again up to the configured number of retries. A failed operation is retried
+ * with an exponential backoff, so that an overloaded search index is not sent the same operations
+ * again right away. If the queue is full, callers wait until the worker has taken out the next
+ * batch. On shutdown, all pending operations are flushed before the application context closes.
+ */
+@Component
+public class IndexingQueue {
+
+  private static Logger logger = Logger.getLogger(IndexingQueue.class);
+
+  private final IIndexingService indexingService;
+
+  private final boolean enabled;
+
+  private final int capacity;
+
+  private final int batchSize;
+
+  private final long flushIntervalMillis;
+
+  private final int maxRetries;
+
+  private final long initialBackoffMillis;
+
+  private final long maxBackoffMillis;
+
+  private final Map<String, PendingOperation> pending = new LinkedHashMap<>();
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition batchAvailable = lock.newCondition();
+
+  private final Condition spaceAvailable = lock.newCondition();
+
+  /**
+   * held while a batch is sent, so that batches are applied in the order they were taken out
+   */
+  private final ReentrantLock processingLock = new ReentrantLock();
+
+  private volatile boolean running = false;
+
+  private Thread worker;
+
+  @Autowired
+  public IndexingQueue(IIndexingService indexingService,
+      @Value("${repo.search.indexing.async.enabled:true}") boolean enabled,
+      @Value("${repo.search.indexing.async.queueCapacity:10000}") int capacity,
+      @Value("${repo.search.indexing.async.batchSize:500}") int batchSize,
+      @Value("${repo.search.indexing.async.flushIntervalMillis:1000}") long flushIntervalMillis,
+      @Value("${repo.search.indexing.async.maxRetries:3}") int maxRetries,
+      @Value("${repo.search.indexing.async.initialBackoffMillis:1000}") long initialBackoffMillis,
+      @Value("${repo.search.indexing.async.maxBackoffMillis:30000}") long maxBackoffMillis) {
+    if (capacity < 1 || batchSize < 1 || flushIntervalMillis < 1 || maxRetries < 0
+        || initialBackoffMillis < 1 || maxBackoffMillis < initialBackoffMillis) {
+      throw new IllegalArgumentException("Invalid configuration of the indexing queue");
+    }
+    this.indexingService = indexingService;
+    this.enabled = enabled;
+    this.capacity = capacity;
+    this.batchSize = Math.min(batchSize, capacity);
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.maxRetries = maxRetries;
+    this.initialBackoffMillis = initialBackoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!enabled || running) {
+      return;
+    }
+    running = true;
+    worker = new Thread(this::run, "search-indexing-queue");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Stops the worker and sends all pending operations to the indexing service
+   */
+  @PreDestroy
+  public void shutdown() {
+    if (!running) {
+      return;
+    }
+    lock.lock();
+    try {
+      running = false;
+      batchAvailable.signalAll();
+      spaceAvailable.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      worker.join(TimeUnit.SECONDS.toMillis(30));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+    int dropped = size();
+    if (dropped > 0) {
+      logger.error("Dropping " + dropped + " operations which could not be indexed on shutdown");
+    }
+  }
+
+  /**
+   * @return true if operations are to be queued, false if they should be applied directly
+   */
+  public boolean isEnabled() {
+    return enabled && running;
+  }
+
+  /**
+   * Queues the given operation, merging it with an operation of the same model which is still
+   * pending. Blocks while the queue is full.
+   *
+   * @param operation the operation to queue
+   */
+  public void enqueue(IndexingOperation operation) {
+    String key = operation.getModelId().getPrettyFormat();
+    lock.lock();
+    try {
+      while (running && pending.size() >= capacity && !pending.containsKey(key)) {
+        spaceAvailable.await();
+      }
+      PendingOperation existing = pending.get(key);
+      pending.put(key, existing == null ? new PendingOperation(operation, 0, 0)
+          : new PendingOperation(existing.operation.coalesce(operation), existing.attempts,
+              existing.notBefore));
+      if (pending.size() >= batchSize) {
+        batchAvailable.signal();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IndexingException("Interrupted while waiting to index " + key, e);
+    } finally {
+      lock.unlock();
+    }
+    if (!running) {
+      // the worker is gone, so the operation would never be sent otherwise
+      flush();
+    }
+  }
+
+  /**
+   * Sends all pending operations to the indexing service and waits until they have been applied
+   * or have finally failed. Failed operations are retried after their backoff.
+   */
+  public void flush() {
+    while (true) {
+      if (processBatch() > 0) {
+        continue;
+      }
+      long wait = millisUntilNextRetry();
+      if (wait < 0) {
+        return;
+      }
+      try {
+        Thread.sleep(Math.max(1, wait));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        logger.warn("Interrupted while flushing " + size() + " operations");
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the number of pending operations
+   */
+  public int size() {
+    lock.lock();
+    try {
+      return pending.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        awaitBatch();
+        processBatch();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        logger.error("Problem processing indexing queue", e);
+      }
+    }
+  }
+
+  private void awaitBatch() throws InterruptedException {
+    long remaining = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+    lock.lock();
+    try {
+      while (running && countDue(System.currentTimeMillis()) < batchSize && remaining > 0) {
+        remaining = batchAvailable.awaitNanos(remaining);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int processBatch() {
+    processingLock.lock();
+    try {
+      List<PendingOperation> batch = takeBatch();
+      if (batch.isEmpty()) {
+        return 0;
+      }
+
+      List<IndexingOperation> operations = new ArrayList<>(batch.size());
+      batch.forEach(pendingOperation -> operations.add(pendingOperation.operation));
+
+      Collection<IndexingOperation> failed;
+      try {
+        failed = indexingService.bulk(operations);
+      } catch (RuntimeException e) {
+        logger.warn("Problem sending " + operations.size() + " operations to the search index", e);
+        failed = operations;
+      }
+
+      if (!failed.isEmpty()) {
+        requeue(batch, failed);
+      }
+      return batch.size();
+    } finally {
+      processingLock.unlock();
+    }
+  }
+
+  /**
+   * Takes out the next operations to send, leaving out failed operations whose backoff has not
+   * passed yet
+   */
+  private List<PendingOperation> takeBatch() {
+    long now = System.currentTimeMillis();
+    lock.lock();
+    try {
+      List<PendingOperation> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+      Iterator<PendingOperation> iterator = pending.values().iterator();
+      while (iterator.hasNext() && batch.size() < batchSize) {
+        PendingOperation pendingOperation = iterator.next();
+        if (pendingOperation.isDue(now)) {
+          batch.add(pendingOperation);
+          iterator.remove();
+        }
+      }
+      if (!batch.isEmpty()) {
+        spaceAvailable.signalAll();
+      }
+      return batch;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of pending operations which are due, counting at most up to the batch
+   *         size. Must be called while holding the lock.
+   */
+  private int countDue(long now) {
+    int due = 0;
+    for (PendingOperation pendingOperation : pending.values()) {
+      if (pendingOperation.isDue(now) && ++due >= batchSize) {
+        break;
+      }
+    }
+    return due;
+  }
+
+  /**
+   * @return the time until the next failed operation may be retried, or -1 if nothing is pending
+   */
+  private long millisUntilNextRetry() {
+    long now = System.currentTimeMillis();
+    lock.lock();
+    try {
+      long next = Long.MAX_VALUE;
+      for (PendingOperation pendingOperation : pending.values()) {
+        next = Math.min(next, pendingOperation.notBefore);
+      }
+      return pending.isEmpty() ? -1 : Math.max(0, next - now);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Queues failed operations again, ahead of the capacity limit, so that the worker never blocks
+   * on its own queue. An operation which was queued for the same model in the meantime is merged
+   * into the failed one. The operations are not sent again before their backoff has passed, which
+   * doubles with every attempt.
+   */
+  private void requeue(List<PendingOperation> batch, Collection<IndexingOperation> failed) {
+    Set<IndexingOperation> failedOperations = Collections.newSetFromMap(new IdentityHashMap<>());
+    failedOperations.addAll(failed);
+    lock.lock();
+    try {
+      for (PendingOperation pendingOperation : batch) {
+        if (!failedOperations.contains(pendingOperation.operation)) {
+          continue;
+        }
+        IndexingOperation operation = pendingOperation.operation;
+        int attempts = pendingOperation.attempts + 1;
+        if (attempts > maxRetries) {
+          logger.error("Giving up on " + operation + " after " + attempts + " attempts");
+          continue;
+        }
+        long backoff =
+            Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempts - 1, 20));
+        String key = operation.getModelId().getPrettyFormat();
+        PendingOperation newer = pending.remove(key);
+        pending.put(key,
+            new PendingOperation(newer == null ? operation : operation.coalesce(newer.operation),
+                attempts, System.currentTimeMillis() + backoff));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static final class PendingOperation {
+    private final IndexingOperation operation;
+
+    private final int attempts;
+
+    /**
+     * the time before which the operation must not be sent, after it has failed
+     */
+    private final long notBefore;
+
+    private PendingOperation(IndexingOperation operation, int attempts, long notBefore) {
+      this.operation = operation;
+      this.attempts = attempts;
+      this.notBefore = notBefore;
+    }
+
+    private boolean isDue(long now) {
+      return notBefore <= now;
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * Reads all models of a repository in chunks, in order of their creation, e.g. for reindexing.
+ * <br/>
+ * Every chunk is requested after the last model of the previous chunk instead of by an offset, so
+ * that models deleted meanwhile do not cause other models to be skipped. Reading can be resumed
+ * after the last model of an earlier reader.
+ */
+public class ModelChunkReader {
+
+  private final IModelRepository repository;
+
+  private final int chunkSize;
+
+  private ModelInfo lastModel;
+
+  private boolean done = false;
+
+  /**
+   * @param repository the repository to read the models from
+   * @param chunkSize the maximum number of models per chunk
+   */
+  public ModelChunkReader(IModelRepository repository, int chunkSize) {
+    this(repository, chunkSize, null);
+  }
+
+  /**
+   * @param repository the repository to read the models from
+   * @param chunkSize the maximum number of models per chunk
+   * @param lastModel the model to resume reading after, or null to start with the first model
+   */
+  public ModelChunkReader(IModelRepository repository, int chunkSize, ModelInfo lastModel) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("chunkSize must be positive");
+    }
+    this.repository = repository;
+    this.chunkSize = chunkSize;
+    this.lastModel = lastModel;
+  }
+
+  /**
+   * @return the next chunk of models, empty if all models have been read
+   */
+  public List<ModelInfo> next() {
+    if (done) {
+      return Collections.emptyList();
+    }
+    SearchPage page = repository.search("",
+        lastModel == null ? new SearchPageRequest(0, chunkSize, SearchSortOrder.CREATED_ASC)
+            : SearchPageRequest.createdAfter(lastModel, chunkSize));
+    List<ModelInfo> models = page.getModels();
+    if (!models.isEmpty()) {
+      lastModel = models.get(models.size() - 1);
+    }
+    done = models.isEmpty() || !page.isHasMore();
+    return models;
+  }
+
+  public boolean hasNext() {
+    return !done;
+  }
+
+  /**
+   * @return the last model read, after which reading would be resumed
+   */
+  public ModelInfo getLastModel() {
+    return lastModel;
+  }
+}
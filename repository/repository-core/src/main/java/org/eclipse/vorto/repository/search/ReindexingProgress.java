@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Progress of the current or last reindexing of all models
+ */
+public class ReindexingProgress {
+
+  private boolean running;
+
+  private Date startedOn;
+
+  private int numberOfTenants;
+
+  private int numberOfIndexedTenants;
+
+  private int numberOfIndexedModels;
+
+  private List<String> failedTenants = new ArrayList<>();
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  public void setRunning(boolean running) {
+    this.running = running;
+  }
+
+  public Date getStartedOn() {
+    return startedOn;
+  }
+
+  public void setStartedOn(Date startedOn) {
+    this.startedOn = startedOn;
+  }
+
+  public int getNumberOfTenants() {
+    return numberOfTenants;
+  }
+
+  public void setNumberOfTenants(int numberOfTenants) {
+    this.numberOfTenants = numberOfTenants;
+  }
+
+  public int getNumberOfIndexedTenants() {
+    return numberOfIndexedTenants;
+  }
+
+  public void setNumberOfIndexedTenants(int numberOfIndexedTenants) {
+    this.numberOfIndexedTenants = numberOfIndexedTenants;
+  }
+
+  public int getNumberOfIndexedModels() {
+    return numberOfIndexedModels;
+  }
+
+  public void setNumberOfIndexedModels(int numberOfIndexedModels) {
+    this.numberOfIndexedModels = numberOfIndexedModels;
+  }
+
+  /**
+   * @return the tenants which could not be indexed completely. Reindexing again resumes with
+   *         these tenants.
+   */
+  public List<String> getFailedTenants() {
+    return failedTenants;
+  }
+
+  public void setFailedTenants(List<String> failedTenants) {
+    this.failedTenants = failedTenants;
+  }
+}
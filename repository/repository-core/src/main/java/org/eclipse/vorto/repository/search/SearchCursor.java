@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Encodes and decodes the opaque cursors handed out with search pages.<br/>
+ * A cursor is an URL safe encoding of the values that position the next page, e.g. the sort
+ * values of the last model of a page, or simply the offset of the next page for search services
+ * that page by offset. Cursors are only meaningful to the search service that issued them.
+ */
+public final class SearchCursor {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private SearchCursor() {
+  }
+
+  public static String encode(Object... values) {
+    try {
+      return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString(MAPPER.writeValueAsBytes(Arrays.asList(values)));
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot encode search cursor", e);
+    }
+  }
+
+  /**
+   * @param cursor
+   * @return the values encoded in the cursor
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  public static List<Object> decode(String cursor) {
+    try {
+      return MAPPER.readValue(
+          new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8),
+          new TypeReference<List<Object>>() {});
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Malformed search cursor", e);
+    }
+  }
+
+  /**
+   * @param offset
+   * @return a cursor positioned at the given offset
+   */
+  public static String ofOffset(int offset) {
+    return encode(offset);
+  }
+
+  /**
+   * @param pageRequest
+   * @return the offset of the requested page, taken from its cursor if it has one
+   * @throws IllegalArgumentException if the cursor is not an offset cursor
+   */
+  public static int offsetOf(SearchPageRequest pageRequest) {
+    if (pageRequest.getCursor() == null) {
+      return pageRequest.getOffset();
+    }
+    List<Object> values = decode(pageRequest.getCursor());
+    if (values.size() != 1 || !(values.get(0) instanceof Integer)
+        || (Integer) values.get(0) < 0) {
+      throw new IllegalArgumentException("Malformed search cursor");
+    }
+    return (Integer) values.get(0);
+  }
+}
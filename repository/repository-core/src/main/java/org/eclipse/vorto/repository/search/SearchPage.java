@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * A single page of search results.
+ */
+public class SearchPage {
+
+  private List<ModelInfo> models = new ArrayList<>();
+
+  private int offset;
+
+  private int limit;
+
+  private boolean hasMore;
+
+  private String nextCursor;
+
+  private Long total;
+
+  private boolean partial;
+
+  public SearchPage() {
+  }
+
+  /**
+   * Creates a page of a search that pages by offset, whose cursor is the offset of the next page
+   *
+   * @param models the models of the page
+   * @param offset the offset of the page
+   * @param limit the limit of the page
+   * @param hasMore whether there are further results after this page
+   */
+  public SearchPage(List<ModelInfo> models, int offset, int limit, boolean hasMore) {
+    this.models = models;
+    this.offset = offset;
+    this.limit = limit;
+    this.hasMore = hasMore;
+    this.nextCursor = hasMore ? SearchCursor.ofOffset(offset + limit) : null;
+  }
+
+  public List<ModelInfo> getModels() {
+    return models;
+  }
+
+  public void setModels(List<ModelInfo> models) {
+    this.models = models;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public void setOffset(int offset) {
+    this.offset = offset;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public void setLimit(int limit) {
+    this.limit = limit;
+  }
+
+  /**
+   * @return whether there are further results after this page
+   */
+  public boolean isHasMore() {
+    return hasMore;
+  }
+
+  public void setHasMore(boolean hasMore) {
+    this.hasMore = hasMore;
+  }
+
+  /**
+   * @return the cursor to request the next page with, or null if this is the last page
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * @return the total number of results, or null if the search service cannot tell it cheaply
+   */
+  public Long getTotal() {
+    return total;
+  }
+
+  public void setTotal(Long total) {
+    this.total = total;
+  }
+
+  /**
+   * @return whether results may be missing, because some tenants did not answer in time
+   */
+  public boolean isPartial() {
+    return partial;
+  }
+
+  public void setPartial(boolean partial) {
+    this.partial = partial;
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * Requests a single page of search results, either by offset, by the cursor handed out with
+ * the previous page, or by the last model of the previous page.
+ *
+ * @see SearchCursor
+ */
+public class SearchPageRequest {
+
+  private final int offset;
+
+  private final int limit;
+
+  private final SearchSortOrder sortOrder;
+
+  private final String cursor;
+
+  private ModelInfo createdAfter = null;
+
+  /**
+   * @param offset the number of results to skip
+   * @param limit the maximum number of results of the page
+   * @param sortOrder the ordering of the results
+   */
+  public SearchPageRequest(int offset, int limit, SearchSortOrder sortOrder) {
+    this(offset, limit, sortOrder, null);
+  }
+
+  /**
+   * @param cursor the cursor of the previous page, whose successor to return
+   * @param limit the maximum number of results of the page
+   * @param sortOrder the ordering of the results, which must be the one of the previous page
+   */
+  public static SearchPageRequest afterCursor(String cursor, int limit,
+      SearchSortOrder sortOrder) {
+    if (cursor == null || cursor.isEmpty()) {
+      throw new IllegalArgumentException("cursor must not be empty");
+    }
+    return new SearchPageRequest(0, limit, sortOrder, cursor);
+  }
+
+  /**
+   * Requests the models created after the given model, in {@link SearchSortOrder#CREATED_ASC}
+   * order. Contrary to an offset, the position does not shift if models before it are deleted
+   * meanwhile, e.g. while reading all models of a tenant in chunks.
+   *
+   * @param model the last model of the previous page, which must have a creation date
+   * @param limit the maximum number of results of the page
+   */
+  public static SearchPageRequest createdAfter(ModelInfo model, int limit) {
+    if (model == null || model.getCreationDate() == null) {
+      throw new IllegalArgumentException("model and its creation date must not be null");
+    }
+    SearchPageRequest pageRequest =
+        new SearchPageRequest(0, limit, SearchSortOrder.CREATED_ASC, null);
+    pageRequest.createdAfter = model;
+    return pageRequest;
+  }
+
+  private SearchPageRequest(int offset, int limit, SearchSortOrder sortOrder, String cursor) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("offset must not be negative");
+    }
+    if (limit < 1) {
+      throw new IllegalArgumentException("limit must be positive");
+    }
+    if (sortOrder == null) {
+      throw new IllegalArgumentException("sortOrder must not be null");
+    }
+    this.offset = offset;
+    this.limit = limit;
+    this.sortOrder = sortOrder;
+    this.cursor = cursor;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public SearchSortOrder getSortOrder() {
+    return sortOrder;
+  }
+
+  /**
+   * @return the cursor of the previous page, or null if the page is requested by offset
+   */
+  public String getCursor() {
+    return cursor;
+  }
+
+  /**
+   * @return the model whose successors to return, or null if the page is not requested by
+   *         position
+   */
+  public ModelInfo getCreatedAfter() {
+    return createdAfter;
+  }
+
+  @Override
+  public String toString() {
+    return "SearchPageRequest [offset=" + offset + ", limit=" + limit + ", sortOrder=" + sortOrder
+        + ", cursor=" + cursor
+        + (createdAfter != null ? ", createdAfter=" + createdAfter.getId().getPrettyFormat() : "")
+        + "]";
+  }
+}
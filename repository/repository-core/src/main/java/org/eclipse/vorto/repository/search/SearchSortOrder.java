@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.Comparator;
+import java.util.Date;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * Orderings supported by paged searches. Each ordering is total, i.e. ties are broken by the model
+ * id, so that consecutive pages neither repeat nor skip models.
+ */
+public enum SearchSortOrder {
+
+  NAME_ASC("[vorto:name] ASC, [vorto:namespace] ASC, [vorto:version] ASC",
+      Comparator.comparing((ModelInfo modelInfo) -> modelInfo.getId().getName())
+          .thenComparing(modelInfo -> modelInfo.getId().getNamespace())
+          .thenComparing(modelInfo -> modelInfo.getId().getVersion())),
+
+  NAME_DESC("[vorto:name] DESC, [vorto:namespace] ASC, [vorto:version] ASC",
+      Comparator.comparing((ModelInfo modelInfo) -> modelInfo.getId().getName())
+          .reversed()
+          .thenComparing(modelInfo -> modelInfo.getId().getNamespace())
+          .thenComparing(modelInfo -> modelInfo.getId().getVersion())),
+
+  CREATED_ASC("[jcr:created] ASC, [vorto:namespace] ASC, [vorto:name] ASC, [vorto:version] ASC",
+      Comparator.comparing(ModelInfo::getCreationDate,
+          Comparator.nullsLast(Comparator.<Date>naturalOrder()))
+          .thenComparing(modelInfo -> modelInfo.getId().getNamespace())
+          .thenComparing(modelInfo -> modelInfo.getId().getName())
+          .thenComparing(modelInfo -> modelInfo.getId().getVersion())),
+
+  CREATED_DESC("[jcr:created] DESC, [vorto:namespace] ASC, [vorto:name] ASC, [vorto:version] ASC",
+      Comparator.comparing(ModelInfo::getCreationDate,
+          Comparator.nullsLast(Comparator.<Date>reverseOrder()))
+          .thenComparing(modelInfo -> modelInfo.getId().getNamespace())
+          .thenComparing(modelInfo -> modelInfo.getId().getName())
+          .thenComparing(modelInfo -> modelInfo.getId().getVersion()));
+
+  private final String jcrOrdering;
+
+  private final Comparator<ModelInfo> comparator;
+
+  SearchSortOrder(String jcrOrdering, Comparator<ModelInfo> comparator) {
+    this.jcrOrdering = jcrOrdering;
+    this.comparator = comparator;
+  }
+
+  /**
+   * @return the JCR-SQL2 orderings, without the leading {@code ORDER BY}
+   */
+  public String getJcrOrdering() {
+    return jcrOrdering;
+  }
+
+  /**
+   * @return a comparator that orders {@link ModelInfo}s the same way, e.g. for merging the pages
+   *         of several tenants
+   */
+  public Comparator<ModelInfo> getComparator() {
+    return comparator;
+  }
+
+  /**
+   * @param value the name of the ordering, case insensitive
+   * @return the ordering for the given value
+   * @throws IllegalArgumentException if no such ordering exists
+   */
+  public static SearchSortOrder fromString(String value) {
+    for (SearchSortOrder order : values()) {
+      if (order.name().equalsIgnoreCase(value)) {
+        return order;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported sort order " + value);
+  }
+}
@@ -12,34 +12,77 @@
  */
 package org.eclipse.vorto.repository.search.impl;
 
+import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.log4j.Logger;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.domain.Tenant;
 import org.eclipse.vorto.repository.search.IIndexingService;
 import org.eclipse.vorto.repository.search.ISearchService;
 import org.eclipse.vorto.repository.search.IndexingResult;
+import org.eclipse.vorto.repository.search.SearchCursor;
+import org.eclipse.vorto.repository.search.SearchPage;
+import org.eclipse.vorto.repository.search.SearchPageRequest;
 import org.eclipse.vorto.repository.tenant.ITenantService;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
 
 /**
  * Simple search which merely delegates the search to the model repository
  *
+ * The tenants are queried concurrently on a bounded pool of worker threads. A tenant which does
+ * not answer within the tenant timeout is left out of the result, and a page of results is marked
+ * as partial.
  */
-public class SimpleSearchService implements ISearchService, IIndexingService {
+public class SimpleSearchService implements ISearchService, IIndexingService, Closeable {
+
+  public static final int DEFAULT_PARALLELISM = 8;
+
+  public static final long DEFAULT_TENANT_TIMEOUT_MILLIS = 30000;
+
+  private static Logger logger = Logger.getLogger(SimpleSearchService.class);
 
   private ITenantService tenantService;
 
   private IModelRepositoryFactory repositoryFactory;
 
+  private ExecutorService executor;
+
+  private long tenantTimeoutMillis = DEFAULT_TENANT_TIMEOUT_MILLIS;
+
   public SimpleSearchService(ITenantService tenantService,
       IModelRepositoryFactory repositoryFactory) {
+    this(tenantService, repositoryFactory, DEFAULT_PARALLELISM);
+  }
+
+  public SimpleSearchService(ITenantService tenantService,
+      IModelRepositoryFactory repositoryFactory, int parallelism) {
+    Preconditions.checkArgument(parallelism > 0, "parallelism must be positive.");
     this.tenantService = tenantService;
     this.repositoryFactory = repositoryFactory;
+    this.executor = searchExecutor(parallelism);
   }
 
   @Override
@@ -57,14 +100,143 @@ public class SimpleSearchService implements ISearchService, IIndexingService {
   
   private List<ModelInfo> search(String expression, Authentication authentication) {
     List<ModelInfo> result = new ArrayList<>();
-    
-    tenantService.getTenants().forEach(tenant -> {
-      IModelRepository repository = this.repositoryFactory.getRepository(tenant.getTenantId(), 
-          authentication);
-      result.addAll(repository.search(expression));
+    forEachTenant(authentication, repository -> repository.search(expression)).getResults()
+        .forEach(result::addAll);
+    return result;
+  }
+
+  /**
+   * Pages through all tenants existing in the system. As the results of the tenants are merged,
+   * each tenant is queried for the models up to the end of the requested page, ordered on the
+   * server side. The ordered tenant pages are then merged lazily, until the requested page is cut.
+   */
+  @Override
+  public SearchPage search(String expression, SearchPageRequest pageRequest) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    int offset = SearchCursor.offsetOf(pageRequest);
+    SearchPageRequest tenantPageRequest = new SearchPageRequest(0,
+        offset + pageRequest.getLimit(), pageRequest.getSortOrder());
+
+    TenantResults<SearchPage> tenantPages = forEachTenant(authentication,
+        repository -> repository.search(expression, tenantPageRequest));
+
+    boolean hasMore = false;
+    List<Iterator<ModelInfo>> ordered = new ArrayList<>(tenantPages.getResults().size());
+    for (SearchPage tenantPage : tenantPages.getResults()) {
+      ordered.add(tenantPage.getModels().iterator());
+      hasMore |= tenantPage.isHasMore();
+    }
+
+    Iterator<ModelInfo> merged =
+        Iterators.mergeSorted(ordered, pageRequest.getSortOrder().getComparator());
+    Iterators.advance(merged, offset);
+    List<ModelInfo> page = new ArrayList<>(pageRequest.getLimit());
+    Iterators.addAll(page, Iterators.limit(merged, pageRequest.getLimit()));
+
+    SearchPage searchPage =
+        new SearchPage(page, offset, pageRequest.getLimit(), hasMore || merged.hasNext());
+    searchPage.setPartial(!tenantPages.getTimedOutTenants().isEmpty());
+    return searchPage;
+  }
+
+  /**
+   * Runs the given query against the repository of every tenant. The tenants are queried
+   * concurrently, each of them within the tenant timeout.<br/>
+   * Queries which are no longer needed are cancelled without interrupting them. A running query
+   * is left to finish on the bounded pool, so that no thread is interrupted within the content
+   * repository while holding a session, e.g. one borrowed from a session pool.
+   *
+   * @return the results of the tenants which answered in time, in the order of the tenants, and
+   *         the tenants which did not
+   */
+  private <T> TenantResults<T> forEachTenant(Authentication authentication,
+      Function<IModelRepository, T> query) {
+    List<String> tenantIds = tenantService.getTenants().stream().map(Tenant::getTenantId)
+        .collect(Collectors.toList());
+    if (tenantIds.size() == 1) {
+      return new TenantResults<>(Collections.singletonList(
+          query.apply(repositoryFactory.getRepository(tenantIds.get(0), authentication))),
+          Collections.emptyList());
+    }
+
+    Map<String, Future<T>> futures = new LinkedHashMap<>();
+    for (String tenantId : tenantIds) {
+      futures.put(tenantId, executor.submit(
+          () -> query.apply(repositoryFactory.getRepository(tenantId, authentication))));
+    }
+
+    List<T> results = new ArrayList<>(futures.size());
+    List<String> timedOutTenants = new ArrayList<>();
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(tenantTimeoutMillis);
+    for (Map.Entry<String, Future<T>> tenant : futures.entrySet()) {
+      try {
+        results.add(tenant.getValue().get(Math.max(deadline - System.nanoTime(), 0),
+            TimeUnit.NANOSECONDS));
+      } catch (TimeoutException | CancellationException e) {
+        tenant.getValue().cancel(false);
+        timedOutTenants.add(tenant.getKey());
+      } catch (InterruptedException e) {
+        futures.values().forEach(future -> future.cancel(false));
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while searching tenants", e);
+      } catch (ExecutionException e) {
+        futures.values().forEach(future -> future.cancel(false));
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new IllegalStateException("Problem searching tenant " + tenant.getKey(),
+            e.getCause());
+      }
+    }
+
+    if (!timedOutTenants.isEmpty()) {
+      logger.warn(String.format(
+          "Search in tenants %s timed out after %d ms. Leaving them out of the results.",
+          timedOutTenants, tenantTimeoutMillis));
+    }
+    return new TenantResults<>(results, timedOutTenants);
+  }
+
+  private static class TenantResults<T> {
+    private final List<T> results;
+    private final List<String> timedOutTenants;
+
+    TenantResults(List<T> results, List<String> timedOutTenants) {
+      this.results = results;
+      this.timedOutTenants = timedOutTenants;
+    }
+
+    List<T> getResults() {
+      return results;
+    }
+
+    List<String> getTimedOutTenants() {
+      return timedOutTenants;
+    }
+  }
+
+  private static ExecutorService searchExecutor(int parallelism) {
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+      Thread thread = new Thread(runnable, "tenant-search-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
     });
+    return new DelegatingSecurityContextExecutorService(executor);
+  }
 
-    return result;
+  @Override
+  public void close() {
+    // running queries are not interrupted, as their threads may be within the content repository
+    executor.shutdown();
+  }
+
+  /**
+   * @param tenantTimeoutMillis time in milliseconds a search waits for the results of all tenants
+   */
+  public void setTenantTimeoutMillis(long tenantTimeoutMillis) {
+    Preconditions.checkArgument(tenantTimeoutMillis > 0, "tenantTimeoutMillis must be positive.");
+    this.tenantTimeoutMillis = tenantTimeoutMillis;
   }
 
   @Override
@@ -77,6 +249,11 @@ public class SimpleSearchService implements ISearchService, IIndexingService {
     return new IndexingResult();
   }
 
+  @Override
+  public int reindexTenant(String tenantId) {
+    return 0;
+  }
+
   @Override
   public void indexModel(ModelInfo modelInfo, String tenantId) {
     // NOOP
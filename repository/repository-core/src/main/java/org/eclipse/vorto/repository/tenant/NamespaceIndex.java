@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.tenant;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.domain.Tenant;
+
+/**
+ * Immutable index of the namespaces of all tenants.
+ *
+ * A tenant owns its namespaces together with all their sub-namespaces, so a namespace is resolved
+ * by looking up its components from the longest to the shortest one, e.g. "com.acme.lights" as
+ * "com.acme.lights", "com.acme" and "com". Each lookup costs at most one hash lookup per
+ * component.
+ */
+final class NamespaceIndex {
+
+  private final Map<String, String> tenantIdsByNamespace;
+
+  private final long createdOn;
+
+  private NamespaceIndex(Map<String, String> tenantIdsByNamespace, long createdOn) {
+    this.tenantIdsByNamespace = tenantIdsByNamespace;
+    this.createdOn = createdOn;
+  }
+
+  static NamespaceIndex of(Iterable<Tenant> tenants) {
+    Map<String, String> tenantIdsByNamespace = new HashMap<>();
+    for (Tenant tenant : tenants) {
+      if (tenant.getNamespaces() != null) {
+        for (Namespace namespace : tenant.getNamespaces()) {
+          tenantIdsByNamespace.put(namespace.getName(), tenant.getTenantId());
+        }
+      }
+    }
+    return new NamespaceIndex(tenantIdsByNamespace, System.currentTimeMillis());
+  }
+
+  /**
+   * @param namespace a namespace or any of its sub-namespaces
+   * @return the id of the tenant owning the namespace
+   */
+  Optional<String> getTenantId(String namespace) {
+    String component = namespace;
+    while (true) {
+      String tenantId = tenantIdsByNamespace.get(component);
+      if (tenantId != null) {
+        return Optional.of(tenantId);
+      }
+      int separator = component.lastIndexOf('.');
+      if (separator < 0) {
+        return Optional.empty();
+      }
+      component = component.substring(0, separator);
+    }
+  }
+
+  boolean isOlderThan(long maxAgeMillis) {
+    return System.currentTimeMillis() - createdOn > maxAgeMillis;
+  }
+}
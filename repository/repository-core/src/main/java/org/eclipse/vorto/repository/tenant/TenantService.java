@@ -18,6 +18,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.transaction.Transactional;
@@ -43,6 +44,8 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
@@ -64,6 +67,11 @@ public class TenantService implements ITenantService, ApplicationEventPublisherA
   @Value("${config.restrictTenant}")
   private String restrictTenantConfig;
 
+  @Value("${repo.cache.namespaceIndex.expireAfterSeconds:60}")
+  private long namespaceIndexExpireAfterSeconds = 60;
+
+  private volatile NamespaceIndex namespaceIndex;
+
   public TenantService(@Autowired ITenantRepository tenantRepo,
       @Autowired INamespaceRepository namespaceRepo,
       @Autowired IUserAccountService accountService) {
@@ -135,6 +143,7 @@ public class TenantService implements ITenantService, ApplicationEventPublisherA
     }
 
     tenant = tenantRepo.save(tenant);
+    invalidateNamespaceIndex();
 
     logger.info("Sending update/create event for {}", tenantId);
     eventPublisher.publishEvent(new AppEvent(this, tenant, userContext, eventType));
@@ -168,7 +177,9 @@ public class TenantService implements ITenantService, ApplicationEventPublisherA
 
   public Tenant changeTenantAdmins(Tenant tenant, Set<String> newTenantAdmins) {
     updateTenantAdmins(tenant, newTenantAdmins);
-    return tenantRepo.save(tenant);
+    Tenant savedTenant = tenantRepo.save(tenant);
+    eventPublisher.publishEvent(new AppEvent(this, savedTenant, EventType.TENANT_UPDATED));
+    return savedTenant;
   }
   
   private void updateTenantAdmins(Tenant tenant, Set<String> newTenantAdmins) {
@@ -233,9 +244,50 @@ public class TenantService implements ITenantService, ApplicationEventPublisherA
     return Optional.ofNullable(tenantRepo.findByTenantId(tenantId));
   }
 
+  /**
+   * Resolves the owning tenant through an index of the namespaces of all tenants, so that only
+   * the owning tenant is loaded. The index is rebuilt after any change of a tenant made through
+   * this service and, to pick up changes made on other instances, after it has expired.
+   */
   public Optional<Tenant> getTenantFromNamespace(String namespace) {
     PreConditions.notNullOrEmpty(namespace, "namespace");
-    return getTenants().stream().filter(tn -> tn.owns(namespace)).findFirst();
+    Optional<String> tenantId = getNamespaceIndex().getTenantId(namespace);
+    if (!tenantId.isPresent()) {
+      return Optional.empty();
+    }
+
+    Tenant tenant = tenantRepo.findByTenantId(tenantId.get());
+    if (tenant == null || !tenant.owns(namespace)) {
+      // the index is outdated, the tenant or its namespace has been removed in the meantime
+      invalidateNamespaceIndex();
+      return getNamespaceIndex().getTenantId(namespace)
+          .map(id -> tenantRepo.findByTenantId(id));
+    }
+    return Optional.of(tenant);
+  }
+
+  private NamespaceIndex getNamespaceIndex() {
+    NamespaceIndex index = namespaceIndex;
+    if (index == null
+        || index.isOlderThan(TimeUnit.SECONDS.toMillis(namespaceIndexExpireAfterSeconds))) {
+      index = NamespaceIndex.of(tenantRepo.findAll());
+      namespaceIndex = index;
+    }
+    return index;
+  }
+
+  private void invalidateNamespaceIndex() {
+    namespaceIndex = null;
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      // a concurrent lookup may rebuild the index before the change is committed
+      TransactionSynchronizationManager
+          .registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+              namespaceIndex = null;
+            }
+          });
+    }
   }
 
   @Transactional
@@ -252,6 +304,7 @@ public class TenantService implements ITenantService, ApplicationEventPublisherA
       updateTenantNamespace(tenant, namespaces, userContext);
 
       tenantRepo.save(tenant);
+      invalidateNamespaceIndex();
 
       return true;
     }
@@ -302,6 +355,7 @@ public class TenantService implements ITenantService, ApplicationEventPublisherA
           checkForConflict(namespaces, namespaceOwnedByAnotherTenant(tenant));
       tenant.getNamespaces().addAll(Namespace.toNamespace(newNamespaces, tenant));
       tenantRepo.save(tenant);
+      invalidateNamespaceIndex();
     }
 
     return false;
@@ -313,6 +367,7 @@ public class TenantService implements ITenantService, ApplicationEventPublisherA
     eventPublisher.publishEvent(new AppEvent(this, tenant, userContext, EventType.TENANT_DELETED));
     
     tenantRepo.delete(tenant);
+    invalidateNamespaceIndex();
 
     return true;
   }
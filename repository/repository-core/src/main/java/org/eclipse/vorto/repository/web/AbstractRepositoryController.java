@@ -15,9 +15,7 @@ package org.eclipse.vorto.repository.web;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,7 +31,7 @@ import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelAlreadyExistsException;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
-import org.eclipse.vorto.repository.core.impl.utils.DependencyManager;
+import org.eclipse.vorto.repository.core.impl.utils.ModelDependencyResolver;
 import org.eclipse.vorto.repository.core.impl.validation.ValidationException;
 import org.eclipse.vorto.repository.plugin.generator.GenerationException;
 import org.eclipse.vorto.repository.tenant.NewNamespacesNotSupersetException;
@@ -207,11 +205,10 @@ public abstract class AbstractRepositoryController extends ResponseEntityExcepti
   }
 
   protected IModelWorkspace getWorkspaceForModel(final ModelId modelId) {
-    List<ModelInfo> allModels = getModelWithAllDependencies(modelId);
-    DependencyManager dm = new DependencyManager(new HashSet<>(allModels));
-    allModels = dm.getSorted();
+    List<ModelInfo> allModels =
+        new ModelDependencyResolver(modelRepositoryFactory).resolveSorted(modelId);
 
-    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
+    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader().parallel();
     for (ModelInfo model : allModels) {
       FileContent modelContent = getModelRepository(model.getId())
           .getFileContent(model.getId(), Optional.of(model.getFileName())).get();
@@ -222,18 +219,6 @@ public abstract class AbstractRepositoryController extends ResponseEntityExcepti
   }
 
 
-  private List<ModelInfo> getModelWithAllDependencies(ModelId modelId) {
-    List<ModelInfo> modelInfos = new ArrayList<>();
-
-    ModelInfo modelResource = getModelRepository(modelId).getById(modelId);
-    modelInfos.add(modelResource);
-
-    for (ModelId reference : modelResource.getReferences()) {
-      modelInfos.addAll(getModelWithAllDependencies(reference));
-    }
-
-    return modelInfos;
-  }
    
   protected IModelRepository getModelRepository(ModelId modelId) {
     return modelRepositoryFactory.getRepositoryByModel(modelId);
@@ -14,6 +14,7 @@ package org.eclipse.vorto.repository.web.admin;
 
 import org.eclipse.vorto.repository.search.IIndexingService;
 import org.eclipse.vorto.repository.search.IndexingResult;
+import org.eclipse.vorto.repository.search.ReindexingProgress;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -34,5 +35,11 @@ public class IndexingController {
     IndexingResult result = indexingServices.reindexAllModels();
     return new ResponseEntity<>(result, HttpStatus.OK);
   }
+
+  @RequestMapping(value = "/rest/reindex/progress", method = RequestMethod.GET)
+  @PreAuthorize("hasRole('ROLE_SYS_ADMIN')")
+  public ResponseEntity<ReindexingProgress> getReindexingProgress() {
+    return new ResponseEntity<>(indexingServices.getReindexingProgress(), HttpStatus.OK);
+  }
   
 }
@@ -23,12 +23,14 @@ import org.apache.commons.io.IOUtils;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.model.ModelContent;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.conversion.ModelContentCache;
 import org.eclipse.vorto.repository.conversion.ModelIdToModelContentConverter;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
 import org.eclipse.vorto.repository.web.AbstractRepositoryController;
 import org.eclipse.vorto.repository.web.GenericApplicationException;
 import org.eclipse.vorto.repository.web.core.ModelDtoFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -47,6 +49,9 @@ public class ModelController extends AbstractRepositoryController {
 
   private static Logger logger = Logger.getLogger(ModelController.class);
 
+  @Autowired
+  private ModelContentCache modelContentCache;
+
   @PreAuthorize("hasRole('ROLE_USER')")
   @RequestMapping(value = "/{modelId:.+}", method = RequestMethod.GET)
   @CrossOrigin(origins = "https://www.eclipse.org")
@@ -80,7 +85,7 @@ public class ModelController extends AbstractRepositoryController {
       throw new ModelNotFoundException("Model does not exist", null);
     }
     
-    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(this.modelRepositoryFactory);
+    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(this.modelRepositoryFactory, this.modelContentCache);
     
     return converter.convert(modelID, Optional.empty());
   }
@@ -96,7 +101,7 @@ public class ModelController extends AbstractRepositoryController {
 
     final ModelId modelID = ModelId.fromPrettyFormat(modelId);
 
-    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(this.modelRepositoryFactory);
+    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(this.modelRepositoryFactory, this.modelContentCache);
     
     return converter.convert(modelID, Optional.of(targetplatformKey));
   }
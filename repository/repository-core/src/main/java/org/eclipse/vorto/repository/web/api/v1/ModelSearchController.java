@@ -19,8 +19,13 @@ import java.util.List;
 import java.util.stream.Collectors;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.search.ISearchService;
+import org.eclipse.vorto.repository.search.SearchPage;
+import org.eclipse.vorto.repository.search.SearchPageRequest;
+import org.eclipse.vorto.repository.search.SearchSortOrder;
 import org.eclipse.vorto.repository.web.AbstractRepositoryController;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -35,6 +40,10 @@ import io.swagger.annotations.ApiParam;
 @RestController("modelSearchController")
 @RequestMapping(value = "/api/v1/search")
 public class ModelSearchController extends AbstractRepositoryController {
+
+  private static final int DEFAULT_PAGE_SIZE = 50;
+
+  private static final int MAX_PAGE_SIZE = 1000;
   
   @Autowired
   private ISearchService searchService;
@@ -56,6 +65,40 @@ public class ModelSearchController extends AbstractRepositoryController {
     }).collect(Collectors.toList());
   }
    
+  @RequestMapping(value = "/models/page", method = RequestMethod.GET,
+      produces = "application/json")
+  @CrossOrigin(origins = "https://www.eclipse.org")
+  public ResponseEntity<SearchPage> searchPageByExpression(
+      @ApiParam(value = "a free-text search expression",
+          required = true) @RequestParam("expression") String expression,
+      @ApiParam(value = "the number of models to skip") @RequestParam(value = "offset",
+          defaultValue = "0") int offset,
+      @ApiParam(value = "the maximum number of models to return, at most " + MAX_PAGE_SIZE)
+      @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+      @ApiParam(value = "the ordering of the models, one of NAME_ASC, NAME_DESC, CREATED_ASC, CREATED_DESC")
+      @RequestParam(value = "sort", defaultValue = "CREATED_DESC") String sort,
+      @ApiParam(value = "the cursor of the previous page, takes precedence over the offset")
+      @RequestParam(value = "cursor", required = false) String cursor)
+      throws UnsupportedEncodingException {
+
+    if (limit > MAX_PAGE_SIZE) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+
+    try {
+      SearchSortOrder sortOrder = SearchSortOrder.fromString(sort);
+      SearchPageRequest pageRequest = cursor == null || cursor.isEmpty()
+          ? new SearchPageRequest(offset, limit, sortOrder)
+          : SearchPageRequest.afterCursor(cursor, limit, sortOrder);
+
+      return new ResponseEntity<>(
+          searchService.search(URLDecoder.decode(expression, "utf-8"), pageRequest),
+          HttpStatus.OK);
+    } catch (IllegalArgumentException e) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+  }
+
   public ISearchService getSearchService() {
     return searchService;
   }
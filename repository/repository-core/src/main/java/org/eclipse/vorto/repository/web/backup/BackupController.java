@@ -12,8 +12,9 @@
  */
 package org.eclipse.vorto.repository.web.backup;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Date;
@@ -21,7 +22,6 @@ import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletResponse;
-import org.apache.commons.io.IOUtils;
 import org.eclipse.vorto.repository.backup.IBackupRestoreService;
 import org.eclipse.vorto.repository.domain.Tenant;
 import org.eclipse.vorto.repository.web.AbstractRepositoryController;
@@ -79,7 +79,7 @@ public class BackupController extends AbstractRepositoryController {
     response.setContentType(APPLICATION_OCTET_STREAM);
 
     try {
-      IOUtils.copy(new ByteArrayInputStream(backupRestoreService.createBackup(tenantFilter)), response.getOutputStream());
+      backupRestoreService.createBackup(tenantFilter, response.getOutputStream());
       response.flushBuffer();
     } catch (IOException e) {
       throw new GenericApplicationException("Error copying file.", e);
@@ -120,9 +120,15 @@ public class BackupController extends AbstractRepositoryController {
       throw new UploadTooLargeException("backup", maxBackupSize);
     }
     
-    return backupRestoreService.restoreRepository(file.getBytes(), tenantPredicate)
-        .stream().map(tenant -> tenant.getNamespaces().iterator().next().getName())
-        .collect(Collectors.toList());
+    Path backupFile = Files.createTempFile("vorto-restore-", ".zip");
+    try {
+      file.transferTo(backupFile.toFile());
+      return backupRestoreService.restoreRepository(backupFile, tenantPredicate)
+          .stream().map(tenant -> tenant.getNamespaces().iterator().next().getName())
+          .collect(Collectors.toList());
+    } finally {
+      Files.deleteIfExists(backupFile);
+    }
   }
 
   @RequestMapping(method = RequestMethod.GET, value = "/rest/namespaces/backup")
@@ -76,6 +76,7 @@ import org.eclipse.vorto.repository.web.core.dto.ModelContent;
 import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
 import org.eclipse.vorto.repository.web.core.templates.InfomodelTemplate;
 import org.eclipse.vorto.repository.web.core.templates.ModelTemplate;
+import org.eclipse.vorto.repository.web.security.HasPermissionEvaluator;
 import org.eclipse.vorto.repository.workflow.IWorkflowService;
 import org.eclipse.vorto.repository.workflow.WorkflowException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -123,6 +124,9 @@ public class ModelRepositoryController extends AbstractRepositoryController {
   @Autowired
   private AttachmentValidator attachmentValidator;
 
+  @Autowired
+  private HasPermissionEvaluator permissionEvaluator;
+
   private static Logger logger = Logger.getLogger(ModelRepositoryController.class);
 
   @ApiOperation(value = "Returns the image of a vorto model")
@@ -392,11 +396,15 @@ public class ModelRepositoryController extends AbstractRepositoryController {
       userModels.addAll(modelIds);
     }
 
+    // the user may have lost access to some of the models authored, e.g. after a change of owner
+    Set<ModelId> readableModels = permissionEvaluator.getPermittedModels(
+        SecurityContextHolder.getContext().getAuthentication(), userModels, Permission.READ);
+
     logger.info("Exporting information models for " + user.getUsername() + " results: "
-        + userModels.size());
+        + readableModels.size());
 
     sendAsZipFile(response, user.getUsername() + "-models.zip",
-        getModelsAndDependencies(userModels));
+        getModelsAndDependencies(readableModels));
   }
 
   private IModelRepository getModelRepository(String tenantId) {
@@ -13,9 +13,20 @@
 package org.eclipse.vorto.repository.web.security;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.account.IUserAccountService;
+import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
@@ -63,15 +74,7 @@ public class HasPermissionEvaluator implements PermissionEvaluator {
           ModelInfo modelInfo = repositoryFactory.getRepository(tenant, authentication)
               .getById(modelId);
           if (modelInfo != null) {
-            if ("model:delete".equalsIgnoreCase((String) permission)) {
-              return modelInfo.getAuthor().equalsIgnoreCase(username);
-            } else if ("model:get".equalsIgnoreCase((String) permission)) {
-              return modelInfo.getState().equals(SimpleWorkflowModel.STATE_RELEASED.getName())
-                  || modelInfo.getState().equals(SimpleWorkflowModel.STATE_DEPRECATED.getName())
-                  || modelInfo.getAuthor().equals(username);
-            } else if ("model:owner".equalsIgnoreCase((String) permission)) {
-              return modelInfo.getAuthor().equals(username);
-            }
+            return hasPermission(modelInfo, permission, username);
           }
         } catch (NotAuthorizedException ex) {
           return false;
@@ -92,6 +95,99 @@ public class HasPermissionEvaluator implements PermissionEvaluator {
     return false;
   }
 
+  /**
+   * Evaluates the given permission for a collection of models in one pass, e.g. to filter a
+   * listing of the models in the tenants of the user. The models are grouped by their tenant and
+   * each tenant is checked with a single repository session, reading the policies of every model
+   * only once. A {@link Permission} requires the user to be able to read the policies of the
+   * model, so public models of other tenants are left out by such a check.
+   * 
+   * @param authentication the user to evaluate the permission for
+   * @param modelIds the models to evaluate the permission for
+   * @param targetPermission either a {@link Permission} or one of the 'model:' permissions
+   *        supported by {@link #hasPermission(Authentication, Object, Object)}
+   * @return the models the user has the permission for, in the order they were given. Models that
+   *         do not exist, are not accessible or can't be found in any tenant are left out.
+   */
+  public Set<ModelId> getPermittedModels(Authentication authentication,
+      Collection<ModelId> modelIds, Object targetPermission) {
+    final String username = authentication.getName();
+
+    Set<ModelId> permitted = new HashSet<>();
+    groupByTenant(modelIds).forEach((tenantId, tenantModelIds) -> {
+      if (targetPermission instanceof String) {
+        String permission = (String) targetPermission;
+        for (ModelInfo modelInfo : getModels(tenantId, tenantModelIds, authentication)) {
+          if (hasPermission(modelInfo, permission, username)) {
+            permitted.add(modelInfo.getId());
+          }
+        }
+      } else if (targetPermission instanceof Permission) {
+        permitted.addAll(repositoryFactory.getPolicyManager(tenantId, authentication)
+            .getModelsWithPermission(tenantModelIds, (Permission) targetPermission));
+      }
+    });
+
+    return modelIds.stream().filter(permitted::contains)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private boolean hasPermission(ModelInfo modelInfo, String permission, String username) {
+    if ("model:delete".equalsIgnoreCase(permission)) {
+      return modelInfo.getAuthor().equalsIgnoreCase(username);
+    } else if ("model:get".equalsIgnoreCase(permission)) {
+      return modelInfo.getState().equals(SimpleWorkflowModel.STATE_RELEASED.getName())
+          || modelInfo.getState().equals(SimpleWorkflowModel.STATE_DEPRECATED.getName())
+          || modelInfo.getAuthor().equals(username);
+    } else if ("model:owner".equalsIgnoreCase(permission)) {
+      return modelInfo.getAuthor().equals(username);
+    }
+    return false;
+  }
+
+  /**
+   * @return the given models grouped by the id of their tenant. Models whose namespace does not
+   *         belong to any tenant are left out.
+   */
+  private Map<String, List<ModelId>> groupByTenant(Collection<ModelId> modelIds) {
+    Map<String, Optional<String>> tenantsByNamespace = new HashMap<>();
+    Map<String, List<ModelId>> modelIdsByTenant = new LinkedHashMap<>();
+    for (ModelId modelId : modelIds) {
+      tenantsByNamespace
+          .computeIfAbsent(modelId.getNamespace(),
+              namespace -> tenantService.getTenantFromNamespace(namespace)
+                  .map(Tenant::getTenantId))
+          .ifPresent(tenantId -> modelIdsByTenant
+              .computeIfAbsent(tenantId, key -> new ArrayList<>()).add(modelId));
+    }
+    return modelIdsByTenant;
+  }
+
+  /**
+   * Loads the models of a tenant in a single session. If the user is not allowed to access some
+   * of them, the models are loaded one by one, leaving out the inaccessible ones.
+   */
+  private List<ModelInfo> getModels(String tenantId, List<ModelId> modelIds,
+      Authentication authentication) {
+    IModelRepository repository = repositoryFactory.getRepository(tenantId, authentication);
+    try {
+      return repository.getByIds(modelIds);
+    } catch (NotAuthorizedException ex) {
+      List<ModelInfo> models = new ArrayList<>();
+      for (ModelId modelId : modelIds) {
+        try {
+          ModelInfo modelInfo = repository.getById(modelId);
+          if (modelInfo != null) {
+            models.add(modelInfo);
+          }
+        } catch (NotAuthorizedException notAuthorized) {
+          // left out, as the user may not access the model
+        }
+      }
+      return models;
+    }
+  }
+
   @Override
   public boolean hasPermission(Authentication authentication, Serializable targetId,
       String targetType, Object permission) {
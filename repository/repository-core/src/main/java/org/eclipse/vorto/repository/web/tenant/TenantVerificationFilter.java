@@ -24,6 +24,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.eclipse.vorto.repository.oauth.internal.BearerTokenFilterUtils;
 import org.eclipse.vorto.repository.oauth.internal.JwtToken;
+import org.eclipse.vorto.repository.oauth.internal.VerifiedTokenCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,8 +43,9 @@ public class TenantVerificationFilter extends GenericFilterBean {
 
   private final Logger LOGGER = LoggerFactory.getLogger(getClass());
 
-  private Pattern releasedApiPrefixPattern = Pattern.compile("/api/v([^/]+)/tenants/([^/]+)/");
-  private Pattern unreleasedApiPrefixPattern = Pattern.compile("/rest/([^/]+)/");
+  private static final Pattern RELEASED_API_PREFIX_PATTERN =
+      Pattern.compile("/api/v([^/]+)/tenants/([^/]+)/");
+  private static final Pattern UNRELEASED_API_PREFIX_PATTERN = Pattern.compile("/rest/([^/]+)/");
 
   @Value("${server.config.singleTenantMode:#{true}}")
   private boolean singleTenantMode;
@@ -51,13 +53,16 @@ public class TenantVerificationFilter extends GenericFilterBean {
   @Autowired
   private OAuth2ClientContext oauthClientContext;
 
+  @Autowired
+  private VerifiedTokenCache verifiedTokenCache;
+
   @Override
   public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
       throws IOException, ServletException {
 
     if (!singleTenantMode && (request instanceof HttpServletRequest)) {
       HttpServletRequest httpRequest = (HttpServletRequest) request;
-      Optional<String> resourceTenant = getTenantFromUrl(httpRequest.getRequestURL().toString());
+      Optional<String> resourceTenant = getTenantFromUri(httpRequest.getRequestURI());
 
       if (resourceTenant.isPresent()) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -82,12 +87,15 @@ public class TenantVerificationFilter extends GenericFilterBean {
     chain.doFilter(request, response);
   }
 
-  private Optional<String> getTenantFromUrl(String url) {
-    Matcher matcher = releasedApiPrefixPattern.matcher(url);
+  private Optional<String> getTenantFromUri(String uri) {
+    if (uri == null) {
+      return Optional.empty();
+    }
+    Matcher matcher = RELEASED_API_PREFIX_PATTERN.matcher(uri);
     if (matcher.find()) {
       return Optional.ofNullable(matcher.group(2));
     }
-    matcher = unreleasedApiPrefixPattern.matcher(url);
+    matcher = UNRELEASED_API_PREFIX_PATTERN.matcher(uri);
     if (matcher.find()) {
       return Optional.ofNullable(matcher.group(1));
     }
@@ -98,7 +106,7 @@ public class TenantVerificationFilter extends GenericFilterBean {
       HttpServletRequest request) {
     Optional<JwtToken> jwtToken = getJwtTokenFromAuthentication(authentication);
     if (!jwtToken.isPresent()) {
-      jwtToken = BearerTokenFilterUtils.getBearerToken(request).flatMap(token -> JwtToken.instance(token));
+      jwtToken = BearerTokenFilterUtils.getBearerToken(request).flatMap(verifiedTokenCache::getToken);
     }
 
     return jwtToken.map(token -> (String) token.getPayloadMap().get(TENANT_ID));
@@ -108,7 +116,7 @@ public class TenantVerificationFilter extends GenericFilterBean {
     if (authentication != null && authentication instanceof OAuth2Authentication
         && oauthClientContext != null && oauthClientContext.getAccessToken() != null
         && oauthClientContext.getAccessToken().getAdditionalInformation() != null) {
-      return JwtToken.instance(
+      return verifiedTokenCache.getToken(
           (String) oauthClientContext.getAccessToken().getAdditionalInformation().get("id_token"));
     }
 
@@ -30,6 +30,7 @@ import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.events.AppEvent;
 import org.eclipse.vorto.repository.core.impl.InMemoryTemporaryStorage;
+import org.eclipse.vorto.repository.core.impl.JcrSessionPool;
 import org.eclipse.vorto.repository.core.impl.ModelRepositoryEventListener;
 import org.eclipse.vorto.repository.core.impl.ModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.impl.UserContext;
@@ -118,6 +119,8 @@ public abstract class AbstractIntegrationTest {
   private Tenant playgroundTenant = playgroundTenant();
 
   protected ISearchService searchService = null;
+
+  protected JcrSessionPool sessionPool = new JcrSessionPool(true, 4, 200, 300);
   
   @Before
   public void beforeEach() throws Exception {
@@ -189,6 +192,7 @@ public abstract class AbstractIntegrationTest {
       }
     };
     repositoryFactory.setApplicationEventPublisher(eventPublisher);
+    repositoryFactory.setSessionPool(sessionPool);
     repositoryFactory.start();
 
     supervisor.setRepositoryFactory(repositoryFactory);
@@ -14,10 +14,14 @@ package org.eclipse.vorto.repository;
 
 import org.eclipse.vorto.repository.account.UserAccountServiceTest;
 import org.eclipse.vorto.repository.backup.RepositoryAdminTest;
+import org.eclipse.vorto.repository.indexing.IndexingQueueTest;
 import org.eclipse.vorto.repository.indexing.IndexingTest;
 import org.eclipse.vorto.repository.mapping.PayloadMappingSpecificationTest;
 import org.eclipse.vorto.repository.model.BulkOperationServiceTest;
+import org.eclipse.vorto.repository.notification.EmailNotificationServiceTest;
+import org.eclipse.vorto.repository.notification.NotificationMessageTest;
 import org.eclipse.vorto.repository.tenant.TenantServiceTest;
+import org.eclipse.vorto.repository.web.security.HasPermissionEvaluatorTest;
 import org.eclipse.vorto.repository.workflow.WorkflowTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -29,8 +33,12 @@ import org.junit.runners.Suite.SuiteClasses;
               org.eclipse.vorto.repository.core.AllTests.class,
               org.eclipse.vorto.repository.importer.AllTests.class,
               IndexingTest.class,
+              IndexingQueueTest.class,
               BulkOperationServiceTest.class,
+              EmailNotificationServiceTest.class,
+              NotificationMessageTest.class,
               TenantServiceTest.class,
+              HasPermissionEvaluatorTest.class,
               PayloadMappingSpecificationTest.class,
               WorkflowTest.class})
 public class AllTests {
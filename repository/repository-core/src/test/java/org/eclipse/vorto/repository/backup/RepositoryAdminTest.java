@@ -14,11 +14,24 @@ package org.eclipse.vorto.repository.backup;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import org.apache.commons.io.IOUtils;
+import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.AbstractIntegrationTest;
+import org.eclipse.vorto.repository.backup.impl.BackupRestoreService;
 import org.eclipse.vorto.repository.core.IUserContext;
+import org.eclipse.vorto.repository.domain.Tenant;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.springframework.core.io.ClassPathResource;
 
 
@@ -37,6 +50,90 @@ public class RepositoryAdminTest extends AbstractIntegrationTest {
     assertNotNull(backedUpContent);
   }
 
+  @Test
+  public void testStreamBackupToFile() throws Exception {
+    importModel("Color.type");
+    importModel("Colorlight.fbmodel");
+
+    IUserContext admin = createUserContext("admin");
+    BackupRestoreService backupService =
+        new BackupRestoreService(repositoryFactory, tenantService, indexingService);
+    backupService.setAuthSupplier(() -> admin.getAuthentication());
+    backupService.setCompressionLevel(9);
+
+    File backupFile = File.createTempFile("vorto-backup", ".zip");
+    try {
+      try (OutputStream out = new FileOutputStream(backupFile)) {
+        backupService.createBackup(tenant -> true, out);
+      }
+
+      try (ZipFile zipFile = new ZipFile(backupFile)) {
+        List<? extends ZipEntry> entries = Collections.list(zipFile.entries());
+        assertEquals(1, entries.size());
+        assertTrue(entries.get(0).getName().endsWith(".xml"));
+        byte[] content = IOUtils.toByteArray(zipFile.getInputStream(entries.get(0)));
+        assertTrue(content.length > 0);
+      }
+    } finally {
+      backupFile.delete();
+    }
+  }
+
+  @Test
+  public void testRestoreFromFileReindexesRestoredTenant() throws Exception {
+    importModel("Color.type");
+    importModel("Colorlight.fbmodel");
+
+    IUserContext admin = createUserContext("admin");
+    BackupRestoreService backupService =
+        new BackupRestoreService(repositoryFactory, tenantService, indexingService);
+    backupService.setAuthSupplier(() -> admin.getAuthentication());
+
+    File backupFile = File.createTempFile("vorto-backup", ".zip");
+    try {
+      try (OutputStream out = new FileOutputStream(backupFile)) {
+        backupService.createBackup(tenant -> true, out);
+      }
+
+      importModel("Switcher.fbmodel");
+      assertEquals(3, getModelRepository(admin).search("*").size());
+
+      Collection<Tenant> restored =
+          backupService.restoreRepository(backupFile.toPath(), tenant -> true);
+
+      assertEquals(1, restored.size());
+      assertEquals("playground", restored.iterator().next().getTenantId());
+      assertEquals(2, getModelRepository(admin).search("*").size());
+      Mockito.verify(indexingService).reindexTenant("playground");
+      Mockito.verify(indexingService, Mockito.never()).reindexAllModels();
+    } finally {
+      backupFile.delete();
+    }
+  }
+
+  @Test
+  public void testReadAfterRestoreWithPooledSessions() throws Exception {
+    importModel("Color.type");
+    importModel("Colorlight.fbmodel");
+
+    IUserContext admin = createUserContext("admin");
+    BackupRestoreService backupService =
+        new BackupRestoreService(repositoryFactory, tenantService, indexingService);
+    backupService.setAuthSupplier(() -> admin.getAuthentication());
+    byte[] backup = backupService.createBackup(tenant -> true);
+
+    // leaves an idle read session of the workspace in the pool
+    assertEquals(2, getModelRepository(admin).search("*").size());
+    assertTrue(sessionPool.getStatistics().getIdle() > 0);
+
+    backupService.restoreRepository(backup, tenant -> true);
+
+    assertEquals(0, sessionPool.getStatistics().getActive());
+    assertEquals(2, getModelRepository(admin).search("*").size());
+    assertNotNull(getModelRepository(admin)
+        .getById(ModelId.fromReference("org.eclipse.vorto.examples.type.Color", "1.0.0")));
+  }
+
   @Test
   public void testRestoreBackup1() throws Exception {
     IUserContext admin = createUserContext("admin");
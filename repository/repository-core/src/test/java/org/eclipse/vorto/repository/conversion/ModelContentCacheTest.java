@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.conversion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import org.eclipse.vorto.model.ModelContent;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.junit.Test;
+
+public class ModelContentCacheTest {
+
+  private static final ModelId COLOR = ModelId.fromPrettyFormat("org.eclipse.vorto:Color:1.0.0");
+
+  private static final ModelId LAMP = ModelId.fromPrettyFormat("org.eclipse.vorto:Lamp:1.0.0");
+
+  private ModelContentCache cache = new ModelContentCache(1024 * 1024, 3600);
+
+  @Test
+  public void testCacheHit() {
+    cache.put(COLOR, Optional.of("ios"), content(COLOR), Collections.emptyList());
+
+    Optional<ModelContent> cached = cache.get(COLOR, Optional.of("ios"));
+    assertTrue(cached.isPresent());
+    assertEquals(COLOR, cached.get().getRoot());
+    assertNotSame(cached.get(), cache.get(COLOR, Optional.of("ios")).get());
+    assertFalse(cache.get(COLOR, Optional.empty()).isPresent());
+  }
+
+  @Test
+  public void testEvictOnNewMappingOfReferencedModel() {
+    cache.put(LAMP, Optional.of("ios"), content(LAMP), Arrays.asList(LAMP, COLOR));
+    cache.put(COLOR, Optional.empty(), content(COLOR), Collections.emptyList());
+
+    ModelInfo mapping = new ModelInfo(
+        ModelId.fromPrettyFormat("org.eclipse.vorto:ColorIos:1.0.0"), ModelType.Mapping);
+    mapping.setReferences(Arrays.asList(COLOR));
+    cache.onApplicationEvent(new AppEvent(this, mapping, EventType.MODEL_CREATED));
+
+    assertFalse(cache.get(LAMP, Optional.of("ios")).isPresent());
+    assertFalse(cache.get(COLOR, Optional.empty()).isPresent());
+  }
+
+  @Test
+  public void testKeepContentOnEventOfUnrelatedModel() {
+    cache.put(COLOR, Optional.empty(), content(COLOR), Collections.emptyList());
+
+    cache.onApplicationEvent(new AppEvent(this,
+        new ModelInfo(LAMP, ModelType.InformationModel), EventType.MODEL_UPDATED));
+
+    assertTrue(cache.get(COLOR, Optional.empty()).isPresent());
+  }
+
+  private static ModelContent content(ModelId root) {
+    ModelContent content = new ModelContent();
+    content.setRoot(root);
+    return content;
+  }
+}
@@ -23,9 +23,11 @@ import org.eclipse.vorto.repository.workflow.ModelState;
 import org.eclipse.vorto.repository.workflow.WorkflowException;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -80,6 +82,38 @@ public class ModelIdToModelContentConverterTest extends AbstractIntegrationTest
     assertEquals(0,((EntityModel)content.getModels().get(content.getRoot())).getStereotypes().size());
   }
 
+  @Test
+  public void testCacheContentOfReleasedModelsOnly() throws Exception {
+    ModelInfo color = importModel("Color.type");
+    ModelContentCache cache = new ModelContentCache(1024 * 1024, 3600);
+    ModelIdToModelContentConverter converter =
+        new ModelIdToModelContentConverter(this.repositoryFactory, cache);
+
+    converter.convert(color.getId(), Optional.empty());
+    assertFalse(cache.get(color.getId(), Optional.empty()).isPresent());
+
+    this.workflow.start(color.getId(), createUserContext("alex", "playground"));
+    setReleaseState(color);
+
+    converter.convert(color.getId(), Optional.empty());
+    assertTrue(cache.get(color.getId(), Optional.empty()).isPresent());
+  }
+
+  @Test
+  public void testConvertFromCache() throws Exception {
+    ModelInfo color = importModel("Color.type");
+    ModelContentCache cache = new ModelContentCache(1024 * 1024, 3600);
+    ModelContent cachedContent = new ModelContent();
+    cachedContent.setRoot(color.getId());
+    cache.put(color.getId(), Optional.empty(), cachedContent, Collections.emptyList());
+
+    ModelContent content = new ModelIdToModelContentConverter(this.repositoryFactory, cache)
+        .convert(color.getId(), Optional.empty());
+
+    assertEquals(color.getId(), content.getRoot());
+    assertTrue(content.getModels().isEmpty());
+  }
+
   private void setupTestDataForLatestTag() throws WorkflowException {
     IUserContext user = createUserContext("alex", "playground");
     ModelInfo color = importModel("Color.type");
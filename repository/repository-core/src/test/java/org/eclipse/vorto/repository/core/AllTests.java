@@ -21,9 +21,10 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({AttachmentValidatorTest.class, ErrorMessageProviderTest.class, MappingTest.class,
-    ModelDtoFactoryTest.class, ModelIdTest.class, ModelParserTest.class,
+    ModelDependencyResolverTest.class, ModelDtoFactoryTest.class, ModelIdTest.class,
+    ModelInfoCacheTest.class, ModelParserTest.class, ModelPolicyCacheTest.class,
     ModelRepositoryAttachmentTest.class, ModelRepositoryDiagnosticsTest.class,
-    ModelRepositoryTest.class, ModelRepositoryTest2.class,
+    ModelRepositoryTest.class, ModelRepositoryTest2.class, TenantRoleCacheTest.class,
     BlueToothDeviceInfoProfileResolverTest.class,
     Lwm2mObjectIdResolverTest.class, AllSearchTests.class})
 public class AllTests {
@@ -19,7 +19,9 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 import org.apache.commons.io.IOUtils;
 import org.eclipse.vorto.model.ModelId;
@@ -101,6 +103,27 @@ public class MappingTest extends AbstractIntegrationTest {
             .size());
   }
 
+  @Test
+  public void testGetMappingsOfDependenciesForTargetPlatform() throws Exception {
+    importModel("Color.type");
+    importModel("Colorlight.fbmodel");
+    importModel("sample.mapping");
+    Thread.sleep(2000);
+    IModelRepository repository =
+        repositoryFactory.getRepository(createUserContext("admin", "playground"));
+    ModelId colorLight = ModelId.fromReference("org.eclipse.vorto.examples.fb.ColorLight", "1.0.0");
+    ModelId color = ModelId.fromReference("org.eclipse.vorto.examples.type.Color", "1.0.0");
+
+    assertEquals(1, repository
+        .getMappingModelsForTargetPlatform(colorLight, "ios", Optional.empty()).size());
+    assertEquals(0, repository
+        .getMappingModelsForTargetPlatform(colorLight, "android", Optional.empty()).size());
+    assertEquals(1, repository.getMappingModelsForTargetPlatform(
+        Arrays.asList(colorLight, color), "ios", Optional.of("1.0.0")).size());
+    assertEquals(0, repository.getMappingModelsForTargetPlatform(
+        Collections.singletonList(colorLight), "ios", Optional.empty()).size());
+  }
+
   @Test
   public void testUsedByMappingOfEntity() throws Exception {
     importModel("Color.type");
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.impl.utils.ModelDependencyResolver;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ModelDependencyResolverTest {
+
+  private Map<ModelId, ModelInfo> models = new HashMap<>();
+
+  private IModelRepository repository = mock(IModelRepository.class);
+
+  private IModelRepositoryFactory repositoryFactory = mock(IModelRepositoryFactory.class);
+
+  @SuppressWarnings("unchecked")
+  @Before
+  public void setUp() {
+    when(repositoryFactory.getRepositoryByNamespace("org.eclipse.vorto")).thenReturn(repository);
+    when(repository.getTenantId()).thenReturn("playground");
+    when(repository.getByIds(anyCollectionOf(ModelId.class))).thenAnswer(invocation -> {
+      Collection<ModelId> ids = (Collection<ModelId>) invocation.getArguments()[0];
+      return ids.stream().filter(models::containsKey).map(models::get)
+          .collect(Collectors.toList());
+    });
+  }
+
+  @Test
+  public void testSharedDependencyIsFetchedOnce() {
+    ModelInfo unit = create("Unit", ModelType.Datatype);
+    ModelInfo temperature = create("Temperature", ModelType.Functionblock, unit);
+    ModelInfo humidity = create("Humidity", ModelType.Functionblock, unit);
+    ModelInfo sensor = create("Sensor", ModelType.InformationModel, temperature, humidity);
+
+    List<ModelInfo> sorted = new ModelDependencyResolver(repositoryFactory)
+        .resolveSorted(sensor.getId());
+
+    assertEquals(4, sorted.size());
+    assertEquals(unit.getId(), sorted.get(0).getId());
+    assertEquals(sensor.getId(), sorted.get(3).getId());
+
+    // one call per level of the dependency graph
+    verify(repository, times(3)).getByIds(anyCollectionOf(ModelId.class));
+  }
+
+  @Test(expected = ModelNotFoundException.class)
+  public void testMissingDependency() {
+    ModelInfo unit = new ModelInfo(new ModelId("Unit", "org.eclipse.vorto", "1.0.0"),
+        ModelType.Datatype);
+    ModelInfo temperature = create("Temperature", ModelType.Functionblock, unit);
+
+    new ModelDependencyResolver(repositoryFactory).resolveSorted(temperature.getId());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testMappingsOfAvailableDependenciesWithDanglingReference() {
+    ModelInfo unit = new ModelInfo(new ModelId("Unit", "org.eclipse.vorto", "1.0.0"),
+        ModelType.Datatype);
+    ModelInfo color = create("Color", ModelType.Datatype);
+    ModelInfo lamp = create("Lamp", ModelType.Functionblock, color, unit);
+    ModelInfo colorMapping = create("ColorIos", ModelType.Mapping, color);
+
+    ArgumentCaptor<Collection<ModelId>> mapped = ArgumentCaptor.forClass(Collection.class);
+    when(repository.getMappingModelsForTargetPlatform(mapped.capture(), eq("ios"),
+        eq(Optional.empty()))).thenReturn(Arrays.asList(colorMapping));
+
+    List<ModelInfo> mappings = new ModelDependencyResolver(repositoryFactory)
+        .resolveMappings(lamp.getId(), "ios", Optional.empty());
+
+    assertEquals(Arrays.asList(colorMapping), mappings);
+    assertEquals(2, mapped.getValue().size());
+    assertTrue(mapped.getValue().containsAll(Arrays.asList(lamp.getId(), color.getId())));
+  }
+
+  @Test
+  public void testMappingsOfMissingModel() {
+    assertTrue(new ModelDependencyResolver(repositoryFactory)
+        .resolveMappings(new ModelId("Lamp", "org.eclipse.vorto", "1.0.0"), "ios",
+            Optional.empty())
+        .isEmpty());
+  }
+
+  private ModelInfo create(String name, ModelType type, ModelInfo... references) {
+    ModelInfo modelInfo = new ModelInfo(new ModelId(name, "org.eclipse.vorto", "1.0.0"), type);
+    modelInfo.setReferences(
+        Arrays.stream(references).map(ModelInfo::getId).collect(Collectors.toList()));
+    models.put(modelInfo.getId(), modelInfo);
+    return modelInfo;
+  }
+}
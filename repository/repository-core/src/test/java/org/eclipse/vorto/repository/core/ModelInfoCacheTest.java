@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.impl.cache.ModelInfoCache;
+import org.junit.Test;
+
+public class ModelInfoCacheTest {
+
+  private static final ModelId COLOR = ModelId.fromPrettyFormat("org.eclipse.vorto:Color:1.0.0");
+
+  private static final ModelId LAMP = ModelId.fromPrettyFormat("org.eclipse.vorto:Lamp:1.0.0");
+
+  @Test
+  public void testReturnsCopyOfCachedModelInfo() {
+    ModelInfoCache cache = new ModelInfoCache(100, 60);
+    cache.put("playground", "alex", new ModelInfo(COLOR, ModelType.Datatype), 1L);
+
+    ModelInfo first = cache.get("playground", "alex", COLOR, 1L).get();
+    first.setState("Released");
+
+    ModelInfo second = cache.get("playground", "alex", COLOR, 1L).get();
+    assertNotSame(first, second);
+    assertNull(second.getState());
+  }
+
+  @Test
+  public void testEntriesAreScopedToTenantAndUser() {
+    ModelInfoCache cache = new ModelInfoCache(100, 60);
+    cache.put("playground", "alex", new ModelInfo(COLOR, ModelType.Datatype), 1L);
+
+    assertFalse(cache.get("playground", "erle", COLOR, 1L).isPresent());
+    assertFalse(cache.get("other", "alex", COLOR, 1L).isPresent());
+  }
+
+  @Test
+  public void testOutdatedStampIsNotServed() {
+    ModelInfoCache cache = new ModelInfoCache(100, 60);
+    cache.put("playground", "alex", new ModelInfo(COLOR, ModelType.Datatype), 1L);
+
+    assertFalse(cache.get("playground", "alex", COLOR, 2L).isPresent());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testModelEventsEvictReferencedModels() {
+    ModelInfoCache cache = new ModelInfoCache(100, 60);
+    cache.put("playground", "alex", new ModelInfo(COLOR, ModelType.Datatype), 1L);
+
+    ModelInfo lamp = new ModelInfo(LAMP, ModelType.Functionblock);
+    lamp.getReferences().add(COLOR);
+    cache.onApplicationEvent(new AppEvent(this, lamp, EventType.MODEL_CREATED));
+
+    assertFalse(cache.get("playground", "alex", COLOR, 1L).isPresent());
+  }
+
+  @Test
+  public void testDeleteEventEvictsReferencingModels() {
+    ModelInfoCache cache = new ModelInfoCache(100, 60);
+    ModelInfo color = new ModelInfo(COLOR, ModelType.Datatype);
+    color.addReferencedBy(LAMP);
+    cache.put("playground", "alex", color, 1L);
+
+    cache.onApplicationEvent(new AppEvent(this, LAMP, EventType.MODEL_DELETED));
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testBasicEntryIsOnlyServedToBasicLookups() {
+    ModelInfoCache cache = new ModelInfoCache(100, 60);
+    cache.putBasic("playground", "alex", new ModelInfo(COLOR, ModelType.Datatype), 1L);
+
+    assertFalse(cache.get("playground", "alex", COLOR, 1L).isPresent());
+    assertTrue(cache.getBasic("playground", "alex", COLOR, 1L).isPresent());
+  }
+
+  @Test
+  public void testBasicEntryDoesNotReplaceCompleteEntry() {
+    ModelInfoCache cache = new ModelInfoCache(100, 60);
+    ModelInfo color = new ModelInfo(COLOR, ModelType.Datatype);
+    color.setFileName("Color.type");
+    cache.put("playground", "alex", color, 1L);
+
+    cache.putBasic("playground", "alex", new ModelInfo(COLOR, ModelType.Datatype), 1L);
+
+    assertEquals("Color.type", cache.get("playground", "alex", COLOR, 1L).get().getFileName());
+    assertEquals("Color.type",
+        cache.getBasic("playground", "alex", COLOR, 1L).get().getFileName());
+  }
+
+  @Test
+  public void testReplacedEntryIsNoLongerEvictedByFormerReferences() {
+    ModelInfoCache cache = new ModelInfoCache(100, 60);
+    ModelInfo color = new ModelInfo(COLOR, ModelType.Datatype);
+    color.addReferencedBy(LAMP);
+    cache.put("playground", "alex", color, 1L);
+    cache.put("playground", "alex", new ModelInfo(COLOR, ModelType.Datatype), 2L);
+
+    cache.invalidate(LAMP);
+    assertTrue(cache.get("playground", "alex", COLOR, 2L).isPresent());
+
+    cache.invalidate(COLOR);
+    assertEquals(0, cache.size());
+  }
+}
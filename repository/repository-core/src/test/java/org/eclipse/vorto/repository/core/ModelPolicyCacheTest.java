@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.PolicyEntry.Permission;
+import org.eclipse.vorto.repository.core.PolicyEntry.PrincipalType;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.impl.cache.ModelPolicyCache;
+import org.junit.Test;
+
+public class ModelPolicyCacheTest {
+
+  private static final ModelId COLOR = ModelId.fromPrettyFormat("org.eclipse.vorto:Color:1.0.0");
+
+  private static final String COLOR_PATH = "/org/eclipse/vorto/Color/1.0.0";
+
+  private static final String LAMP_PATH = "/org/eclipse/vorto/Lamp/1.0.0";
+
+  private static final List<PolicyEntry> POLICIES =
+      Arrays.asList(PolicyEntry.of("alex", PrincipalType.User, Permission.FULL_ACCESS));
+
+  @Test
+  public void testReturnsCopyOfCachedPolicies() {
+    ModelPolicyCache cache = new ModelPolicyCache(100, 60);
+    cache.put("playground", "alex", COLOR_PATH, 0, POLICIES, null);
+
+    cache.getPolicyEntries("playground", "alex", COLOR_PATH).get().get(0).setPermission(null);
+
+    assertEquals(Permission.FULL_ACCESS,
+        cache.getPolicyEntries("playground", "alex", COLOR_PATH).get().get(0).getPermission());
+    assertFalse(cache.getPermissions("playground", "alex", COLOR_PATH).isPresent());
+    assertFalse(cache.getPolicyEntries("playground", "erle", COLOR_PATH).isPresent());
+  }
+
+  @Test
+  public void testPolicyChangeEvictsTenant() {
+    ModelPolicyCache cache = new ModelPolicyCache(100, 60);
+    cache.put("playground", "alex", COLOR_PATH, 0, POLICIES, EnumSet.allOf(Permission.class));
+    cache.put("playground", "alex", LAMP_PATH, 0, POLICIES, EnumSet.allOf(Permission.class));
+    cache.put("other", "alex", COLOR_PATH, 0, POLICIES, EnumSet.allOf(Permission.class));
+
+    cache.invalidate("playground", COLOR_PATH);
+
+    assertFalse(cache.getPermissions("playground", "alex", COLOR_PATH).isPresent());
+    assertFalse(cache.getPermissions("playground", "alex", LAMP_PATH).isPresent());
+    assertTrue(cache.getPermissions("other", "alex", COLOR_PATH).isPresent());
+  }
+
+  @Test
+  public void testPoliciesReadBeforeChangeAreNotCached() {
+    ModelPolicyCache cache = new ModelPolicyCache(100, 60);
+    long aclVersion = cache.getAclVersion("playground");
+
+    cache.invalidate("playground", COLOR_PATH);
+    cache.put("playground", "alex", COLOR_PATH, aclVersion, POLICIES, null);
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testUserAndModelEventsEvictPolicies() {
+    ModelPolicyCache cache = new ModelPolicyCache(100, 60);
+    cache.put("playground", "alex", COLOR_PATH, 0, POLICIES, null);
+    cache.put("playground", "erle", LAMP_PATH, 0, POLICIES, null);
+
+    cache.onApplicationEvent(new AppEvent(this, "erle", EventType.USER_MODIFIED));
+    assertNull(cache.getPolicyEntries("playground", "erle", LAMP_PATH).orElse(null));
+
+    cache.onApplicationEvent(
+        new AppEvent(this, new ModelInfo(COLOR, ModelType.Datatype), EventType.MODEL_DELETED));
+    assertEquals(0, cache.size());
+  }
+}
@@ -462,6 +462,31 @@ public class ModelRepositoryAttachmentTest extends AbstractIntegrationTest {
     }
   }
 
+  @Test
+  public void testHasImageFollowsAttachments() throws Exception {
+    IUserContext erle = createUserContext("erle", "playground");
+    importModel("Color.type", erle);
+    importModel("Colorlight.fbmodel", erle);
+    importModel("ColorLightIM.infomodel", erle);
+    ModelId modelId = new ModelId("ColorLightIM", "com.mycompany", "1.0.0");
+    IModelRepository repository = repositoryFactory.getRepository(erle);
+
+    assertFalse(repository.getById(modelId).isHasImage());
+
+    repository.attachFile(modelId, new FileContent("sample.png",
+        IOUtils.toByteArray(new ClassPathResource("sample_models/sample.png").getInputStream())),
+        erle, Attachment.TAG_IMAGE);
+    assertTrue(repository.getById(modelId).isHasImage());
+    assertTrue(repository.search("name:ColorLightIM").get(0).isHasImage());
+
+    repository.deleteAttachment(modelId, "sample.png");
+    assertFalse(repository.getById(modelId).isHasImage());
+
+    // models stored with this version carry the summary already
+    assertEquals(0, getRepoManager(createUserContext("admin", "playground"))
+        .migrateAttachmentTags());
+  }
+
   @Test
   public void testOverwriteImageWithSameTag() {
     IUserContext erle = createUserContext("erle", "playground");
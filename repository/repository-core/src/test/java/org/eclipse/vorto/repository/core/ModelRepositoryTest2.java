@@ -15,7 +15,9 @@ package org.eclipse.vorto.repository.core;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.AbstractIntegrationTest;
 import org.junit.Test;
@@ -36,5 +38,36 @@ public class ModelRepositoryTest2 extends AbstractIntegrationTest {
     assertTrue(referencedBy.stream().anyMatch(model -> model.getId().getName().equals("ColorLight")));
     assertTrue(referencedBy.stream().anyMatch(model -> model.getId().getName().equals("ColorLight2")));
   }
+
+  @Test
+  public void testReferencedByMultipleModels() {
+    IUserContext creator = createUserContext("creator", "playground");
+    importModel("Color.type", creator);
+    importModel("Color4.type", creator);
+    importModel("Colorlight.fbmodel", creator);
+    importModel("Colorlight2.fbmodel", creator);
+    importModel("Colorlight3.fbmodel", creator);
+
+    List<ModelInfo> referencedBy = repositoryFactory.getRepository(creator).getModelsReferencing(
+        Arrays.asList(new ModelId("Color", "org.eclipse.vorto.examples.type", "1.0.0"),
+            new ModelId("Color4", "org.eclipse.vorto.examples.type", "1.0.0")));
+    assertEquals(3, referencedBy.size());
+  }
+
+  @Test
+  public void testTransitivelyReferencedByApi() {
+    IUserContext creator = createUserContext("creator", "playground");
+    importModel("Color.type", creator);
+    importModel("Colorlight.fbmodel", creator);
+    importModel("ColorLightIM.infomodel", creator);
+
+    Map<String, List<ModelInfo>> referencedBy = repositoryFactory.getModelRetrievalService(creator)
+        .getModelsReferencingTransitively(
+            new ModelId("Color", "org.eclipse.vorto.examples.type", "1.0.0"));
+    List<ModelInfo> models = referencedBy.get("playground");
+    assertEquals(2, models.size());
+    assertTrue(models.stream().anyMatch(model -> model.getId().getName().equals("ColorLight")));
+    assertTrue(models.stream().anyMatch(model -> model.getId().getName().equals("ColorLightIM")));
+  }
   
 }
@@ -14,16 +14,22 @@ package org.eclipse.vorto.repository.core;
 
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.EnumSet;
+import java.util.Set;
 import javax.jcr.Repository;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import org.eclipse.vorto.repository.AbstractIntegrationTest;
+import org.eclipse.vorto.repository.core.impl.JcrSessionPool;
 import org.eclipse.vorto.repository.core.impl.RequestRepositorySessionHelper;
+import org.eclipse.vorto.repository.domain.Role;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.security.authentication.TestingAuthenticationToken;
 
 public class RequestRepositorySessionHelperTest extends AbstractIntegrationTest {
 
@@ -71,6 +77,106 @@ public class RequestRepositorySessionHelperTest extends AbstractIntegrationTest
 
     }
 
+    @Test
+    public void testReadSessionsAreReusedFromPool() throws RepositoryException {
+        JcrSessionPool pool = new JcrSessionPool(true, 4, 200, 300);
+        RequestRepositorySessionHelper helper = createPooledHelper(pool, EnumSet.of(Role.USER));
+
+        Session mySession = helper.getReadSession();
+        helper.releaseReadSession(mySession);
+        Assert.assertTrue(mySession.isLive());
+
+        Session sessionForReuse = helper.getReadSession();
+        Assert.assertSame(mySession, sessionForReuse);
+        // a borrowed session is refreshed to the latest persisted state
+        verify(sessionForReuse).refresh(false);
+        helper.releaseReadSession(sessionForReuse);
+
+        Assert.assertEquals(1, pool.getStatistics().getHits());
+        Assert.assertEquals(1, pool.getStatistics().getMisses());
+        Assert.assertEquals(1, pool.getStatistics().getIdle());
+        Assert.assertEquals(0, pool.getStatistics().getActive());
+    }
+
+    @Test
+    public void testReadSessionsAreNotSharedAcrossRoles() throws RepositoryException {
+        JcrSessionPool pool = new JcrSessionPool(true, 4, 200, 300);
+
+        RequestRepositorySessionHelper userHelper = createPooledHelper(pool, EnumSet.of(Role.USER));
+        Session userSession = userHelper.getReadSession();
+        userHelper.releaseReadSession(userSession);
+
+        RequestRepositorySessionHelper adminHelper =
+            createPooledHelper(pool, EnumSet.of(Role.USER, Role.TENANT_ADMIN));
+        Session adminSession = adminHelper.getReadSession();
+
+        Assert.assertNotSame(userSession, adminSession);
+        Assert.assertEquals(0, pool.getStatistics().getHits());
+    }
+
+    @Test
+    public void testPoolDiscardsDeadAndSurplusSessions() throws RepositoryException {
+        JcrSessionPool pool = new JcrSessionPool(true, 1, 200, 300);
+        RequestRepositorySessionHelper helper = createPooledHelper(pool, EnumSet.of(Role.USER));
+
+        Session first = helper.getReadSession();
+        Session second = helper.getReadSession();
+        helper.releaseReadSession(first);
+        helper.releaseReadSession(second);
+        // only one idle session is kept per user and tenant
+        Assert.assertTrue(first.isLive());
+        Assert.assertFalse(second.isLive());
+
+        first.logout();
+        Session third = helper.getReadSession();
+        Assert.assertNotSame(first, third);
+        Assert.assertEquals(2, pool.getStatistics().getEvictions());
+    }
+
+    @Test
+    public void testIdleSessionsExpire() throws RepositoryException {
+        JcrSessionPool pool = new JcrSessionPool(true, 4, 200, 0);
+        RequestRepositorySessionHelper helper = createPooledHelper(pool, EnumSet.of(Role.USER));
+
+        Session mySession = helper.getReadSession();
+        helper.releaseReadSession(mySession);
+        pool.evictExpired();
+
+        Assert.assertFalse(mySession.isLive());
+        Assert.assertEquals(0, pool.getStatistics().getIdle());
+    }
+
+    @Test
+    public void testReadsUseSessionOfRequest() throws RepositoryException {
+        JcrSessionPool pool = new JcrSessionPool(true, 4, 200, 300);
+        RequestRepositorySessionHelper helper = new RequestRepositorySessionHelper();
+        helper.afterPropertiesSet();
+        helper.setTenantId(TEST_TENANT_ID);
+        helper.setRepository(createMockRepository());
+        helper.setUser(new TestingAuthenticationToken("alex", null));
+        helper.setSessionPool(pool);
+
+        Session mySession = helper.getSession();
+        Session readSession = helper.getReadSession();
+        helper.releaseReadSession(readSession);
+
+        Assert.assertSame(mySession, readSession);
+        Assert.assertTrue(readSession.isLive());
+        Assert.assertEquals(0, pool.getStatistics().getMisses());
+        helper.destroy();
+    }
+
+    private RequestRepositorySessionHelper createPooledHelper(JcrSessionPool pool, Set<Role> roles)
+            throws RepositoryException {
+        RequestRepositorySessionHelper helper = new RequestRepositorySessionHelper(false);
+        helper.setTenantId(TEST_TENANT_ID);
+        helper.setRepository(createMockRepository());
+        helper.setUser(new TestingAuthenticationToken("alex", null));
+        helper.setRolesInTenant(roles);
+        helper.setSessionPool(pool);
+        return helper;
+    }
+
     private Repository createMockRepository() throws RepositoryException {
         Repository myRepository = Mockito.mock(Repository.class);
         when(myRepository.login(anyObject(), anyString())).thenAnswer(inv -> createNewMockSession());
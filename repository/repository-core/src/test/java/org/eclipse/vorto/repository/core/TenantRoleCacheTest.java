@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.EnumSet;
+import java.util.Set;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.impl.cache.TenantRoleCache;
+import org.eclipse.vorto.repository.domain.Role;
+import org.eclipse.vorto.repository.domain.Tenant;
+import org.junit.Test;
+import com.google.common.collect.Sets;
+
+public class TenantRoleCacheTest {
+
+  @Test
+  public void testEntriesAreScopedToTenantAndUser() {
+    TenantRoleCache cache = new TenantRoleCache(100, 60);
+    cache.put("playground", "alex", EnumSet.of(Role.MODEL_CREATOR, Role.USER));
+
+    assertEquals(EnumSet.of(Role.MODEL_CREATOR, Role.USER), cache.get("playground", "alex").get());
+    assertFalse(cache.get("playground", "erle").isPresent());
+    assertFalse(cache.get("other", "alex").isPresent());
+  }
+
+  @Test
+  public void testCachedRolesAreNotShared() {
+    TenantRoleCache cache = new TenantRoleCache(100, 60);
+    Set<Role> roles = EnumSet.of(Role.USER);
+    cache.put("playground", "alex", roles);
+    roles.add(Role.TENANT_ADMIN);
+
+    assertEquals(EnumSet.of(Role.USER), cache.get("playground", "alex").get());
+  }
+
+  @Test
+  public void testUserEventsEvictRolesOfUserInAllTenants() {
+    TenantRoleCache cache = new TenantRoleCache(100, 60);
+    cache.put("playground", "alex", EnumSet.of(Role.USER));
+    cache.put("other", "alex", EnumSet.of(Role.USER));
+    cache.put("playground", "erle", EnumSet.of(Role.USER));
+
+    cache.onApplicationEvent(new AppEvent(this, "alex", EventType.USER_MODIFIED));
+
+    assertFalse(cache.get("playground", "alex").isPresent());
+    assertFalse(cache.get("other", "alex").isPresent());
+    assertTrue(cache.get("playground", "erle").isPresent());
+  }
+
+  @Test
+  public void testTenantEventsEvictRolesInTenant() {
+    TenantRoleCache cache = new TenantRoleCache(100, 60);
+    cache.put("playground", "alex", EnumSet.of(Role.USER));
+    cache.put("other", "alex", EnumSet.of(Role.USER));
+
+    Tenant playground =
+        Tenant.newTenant("playground", "org.eclipse", Sets.newHashSet("org.eclipse"));
+    cache.onApplicationEvent(new AppEvent(this, playground, EventType.TENANT_UPDATED));
+
+    assertFalse(cache.get("playground", "alex").isPresent());
+    assertTrue(cache.get("other", "alex").isPresent());
+  }
+
+  @Test
+  public void testModelEventsKeepRoles() {
+    TenantRoleCache cache = new TenantRoleCache(100, 60);
+    cache.put("playground", "alex", EnumSet.of(Role.USER));
+
+    cache.onApplicationEvent(new AppEvent(this, "alex", EventType.MODEL_UPDATED));
+
+    assertEquals(1, cache.size());
+  }
+}
@@ -18,7 +18,7 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({SearchUnitTest.class, GeneralSearchTest.class, MixedSearchTest.class,
-    NameSearchSimpleTest.class,
+    NameSearchSimpleTest.class, PagedSearchTest.class, TenantFanOutSearchTest.class,
     AuthorSearchSimpleTest.class,
     UserReferenceSearchSimpleTest.class, TypeSearchSimpleTest.class, StateSearchSimpleTest.class,
     NamespaceSearchSimpleTest.class, VersionSearchSimpleTest.class})
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.utils.ModelSearchUtil;
+import org.eclipse.vorto.repository.search.SearchPage;
+import org.eclipse.vorto.repository.search.SearchPageRequest;
+import org.eclipse.vorto.repository.search.SearchParameters;
+import org.eclipse.vorto.repository.search.SearchSortOrder;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests paging through search results, ordered on the server side.
+ */
+public class PagedSearchTest {
+
+  static SearchTestInfrastructure testInfrastructure;
+
+  @BeforeClass
+  public static void beforeClass() throws Exception {
+    testInfrastructure = new SearchTestInfrastructure();
+    testInfrastructure.importModel(testInfrastructure.DATATYPE_MODEL);
+    testInfrastructure.importModel(testInfrastructure.FUNCTIONBLOCK_MODEL);
+    testInfrastructure.importModel(testInfrastructure.INFORMATION_MODEL);
+    testInfrastructure.importModel(testInfrastructure.MAPPING_MODEL);
+  }
+
+  @AfterClass
+  public static void afterClass() throws Exception {
+    testInfrastructure.terminate();
+  }
+
+  @Test
+  public void testEmptySearchQuery() {
+    assertEquals(
+        "SELECT * FROM [nt:file] WHERE [vorto:type] IS NOT NULL ORDER BY [vorto:name] ASC, [vorto:namespace] ASC, [vorto:version] ASC",
+        ModelSearchUtil.toJCRQuery(SearchParameters.build(""), SearchSortOrder.NAME_ASC));
+  }
+
+  @Test
+  public void testTaggedSearchQuery() {
+    assertEquals(
+        "SELECT * FROM [nt:file] WHERE LOWER([vorto:type]) = 'functionblock' AND [vorto:type] IS NOT NULL ORDER BY [jcr:created] DESC, [vorto:namespace] ASC, [vorto:name] ASC, [vorto:version] ASC",
+        ModelSearchUtil.toJCRQuery(SearchParameters.build("type:Functionblock"),
+            SearchSortOrder.CREATED_DESC));
+  }
+
+  @Test
+  public void testPageThroughAllModels() {
+    List<ModelInfo> all = testInfrastructure.getSearchService().search("");
+    assertEquals(4, all.size());
+
+    SearchPage first = testInfrastructure.getSearchService().search("",
+        new SearchPageRequest(0, 3, SearchSortOrder.NAME_ASC));
+    assertEquals(3, first.getModels().size());
+    assertTrue(first.isHasMore());
+
+    SearchPage second = testInfrastructure.getSearchService().search("",
+        new SearchPageRequest(3, 3, SearchSortOrder.NAME_ASC));
+    assertEquals(1, second.getModels().size());
+    assertFalse(second.isHasMore());
+
+    List<ModelInfo> paged = new ArrayList<>(first.getModels());
+    paged.addAll(second.getModels());
+    assertEquals(
+        all.stream().sorted(SearchSortOrder.NAME_ASC.getComparator()).map(ModelInfo::getId)
+            .collect(Collectors.toList()),
+        paged.stream().map(ModelInfo::getId).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testPageIsOrderedByCreationDate() {
+    SearchPage page = testInfrastructure.getSearchService().search("",
+        new SearchPageRequest(0, 10, SearchSortOrder.CREATED_DESC));
+    assertEquals(4, page.getModels().size());
+    assertFalse(page.isHasMore());
+    for (int i = 1; i < page.getModels().size(); i++) {
+      assertFalse(page.getModels().get(i).getCreationDate()
+          .after(page.getModels().get(i - 1).getCreationDate()));
+    }
+  }
+
+  @Test
+  public void testTaggedSearchPage() {
+    SearchPage page = testInfrastructure.getSearchService().search("type:Functionblock",
+        new SearchPageRequest(0, 10, SearchSortOrder.NAME_ASC));
+    assertEquals(1, page.getModels().size());
+    assertFalse(page.isHasMore());
+  }
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.domain.Tenant;
+import org.eclipse.vorto.repository.search.SearchPage;
+import org.eclipse.vorto.repository.search.SearchPageRequest;
+import org.eclipse.vorto.repository.search.SearchSortOrder;
+import org.eclipse.vorto.repository.search.impl.SimpleSearchService;
+import org.eclipse.vorto.repository.tenant.ITenantService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+/**
+ * Tests the concurrent search of the {@link SimpleSearchService} over several tenants, with the
+ * repositories of the tenants mocked.
+ */
+public class TenantFanOutSearchTest {
+
+  private ITenantService tenantService = mock(ITenantService.class);
+
+  private IModelRepositoryFactory repositoryFactory = mock(IModelRepositoryFactory.class);
+
+  private SimpleSearchService searchService;
+
+  private CountDownLatch release = new CountDownLatch(1);
+
+  private CountDownLatch finished = new CountDownLatch(1);
+
+  private CountDownLatch interrupted = new CountDownLatch(1);
+
+  @Before
+  public void setUp() {
+    when(tenantService.getTenants())
+        .thenReturn(Arrays.asList(tenant("first"), tenant("second"), tenant("slow")));
+    mockRepository("first", model("Alpha"), model("Delta"));
+    mockRepository("second", model("Bravo"), model("Charlie"), model("Echo"));
+
+    // the slow tenant answers once released, and records if its search has been interrupted
+    IModelRepository slow = mock(IModelRepository.class);
+    when(slow.search(Matchers.anyString())).thenAnswer(invocation -> {
+      awaitRelease();
+      return Collections.singletonList(model("Foxtrot"));
+    });
+    when(slow.search(Matchers.anyString(), Matchers.any(SearchPageRequest.class)))
+        .thenAnswer(invocation -> {
+          awaitRelease();
+          return page(Collections.singletonList(model("Foxtrot")),
+              (SearchPageRequest) invocation.getArguments()[1]);
+        });
+    when(repositoryFactory.getRepository(Matchers.eq("slow"), Matchers.any()))
+        .thenReturn(slow);
+
+    searchService = new SimpleSearchService(tenantService, repositoryFactory, 2);
+  }
+
+  private void awaitRelease() throws InterruptedException {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      interrupted.countDown();
+      throw e;
+    } finally {
+      finished.countDown();
+    }
+  }
+
+  /**
+   * Releases the slow tenant, whose search must run to its end instead of being interrupted
+   */
+  private void assertSlowSearchFinishes() throws InterruptedException {
+    release.countDown();
+    assertTrue(finished.await(10, TimeUnit.SECONDS));
+    assertEquals(1, interrupted.getCount());
+  }
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    searchService.close();
+  }
+
+  @Test
+  public void testSearchMergesTenantsInOrder() {
+    release.countDown();
+    assertEquals(Arrays.asList("Alpha", "Delta", "Bravo", "Charlie", "Echo", "Foxtrot"),
+        names(searchService.search("")));
+  }
+
+  @Test
+  public void testSearchLeavesOutTenantWhichTimesOut() throws Exception {
+    // the slow tenant is never released, so it times out whatever the timeout
+    searchService.setTenantTimeoutMillis(1000);
+
+    assertEquals(Arrays.asList("Alpha", "Delta", "Bravo", "Charlie", "Echo"),
+        names(searchService.search("")));
+    assertSlowSearchFinishes();
+  }
+
+  @Test
+  public void testPagedSearchIsPartialIfTenantTimesOut() throws Exception {
+    searchService.setTenantTimeoutMillis(1000);
+
+    SearchPage page =
+        searchService.search("", new SearchPageRequest(0, 10, SearchSortOrder.NAME_ASC));
+    assertEquals(Arrays.asList("Alpha", "Bravo", "Charlie", "Delta", "Echo"),
+        names(page.getModels()));
+    assertTrue(page.isPartial());
+    assertSlowSearchFinishes();
+  }
+
+  @Test
+  public void testPagedSearchMergesOrderedTenantPages() {
+    release.countDown();
+    SearchPage page =
+        searchService.search("", new SearchPageRequest(1, 3, SearchSortOrder.NAME_ASC));
+    assertEquals(Arrays.asList("Bravo", "Charlie", "Delta"), names(page.getModels()));
+    assertTrue(page.isHasMore());
+    assertFalse(page.isPartial());
+
+    page = searchService.search("", new SearchPageRequest(4, 3, SearchSortOrder.NAME_ASC));
+    assertEquals(Arrays.asList("Echo", "Foxtrot"), names(page.getModels()));
+    assertFalse(page.isHasMore());
+  }
+
+  private void mockRepository(String tenantId, ModelInfo... models) {
+    IModelRepository repository = mock(IModelRepository.class);
+    when(repository.search(Matchers.anyString())).thenReturn(Arrays.asList(models));
+    when(repository.search(Matchers.anyString(), Matchers.any(SearchPageRequest.class)))
+        .thenAnswer(invocation -> page(Arrays.asList(models),
+            (SearchPageRequest) invocation.getArguments()[1]));
+    when(repositoryFactory.getRepository(Matchers.eq(tenantId), Matchers.any()))
+        .thenReturn(repository);
+  }
+
+  private static SearchPage page(List<ModelInfo> models, SearchPageRequest pageRequest) {
+    List<ModelInfo> sorted = models.stream().sorted(pageRequest.getSortOrder().getComparator())
+        .collect(Collectors.toList());
+    return new SearchPage(
+        sorted.stream().limit(pageRequest.getLimit()).collect(Collectors.toList()), 0,
+        pageRequest.getLimit(), sorted.size() > pageRequest.getLimit());
+  }
+
+  private static Tenant tenant(String tenantId) {
+    Tenant tenant = new Tenant();
+    tenant.setTenantId(tenantId);
+    return tenant;
+  }
+
+  private static ModelInfo model(String name) {
+    return new ModelInfo(new ModelId(name, "org.eclipse.vorto", "1.0.0"), ModelType.Datatype);
+  }
+
+  private static List<String> names(List<ModelInfo> models) {
+    return models.stream().map(model -> model.getId().getName()).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.indexing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.search.IIndexingService;
+import org.eclipse.vorto.repository.search.IndexingOperation;
+import org.eclipse.vorto.repository.search.IndexingOperation.Type;
+import org.eclipse.vorto.repository.search.IndexingQueue;
+import org.eclipse.vorto.repository.search.IndexingResult;
+import org.junit.Test;
+
+public class IndexingQueueTest {
+
+  private RecordingIndexingService indexingService = new RecordingIndexingService();
+
+  @Test
+  public void updatesOfAPendingModelAreIndexedOnce() {
+    IndexingQueue queue = createQueue(100, 10, 3);
+    ModelInfo created = modelInfo("Lamp", "creator");
+    ModelInfo updated = modelInfo("Lamp", "newauthor");
+
+    queue.enqueue(IndexingOperation.index(created, "playground"));
+    queue.enqueue(IndexingOperation.update(updated));
+    queue.flush();
+
+    assertEquals(1, indexingService.batches.size());
+    List<IndexingOperation> batch = indexingService.batches.get(0);
+    assertEquals(1, batch.size());
+    assertEquals(Type.INDEX, batch.get(0).getType());
+    assertEquals("playground", batch.get(0).getTenantId());
+    assertEquals("newauthor", batch.get(0).getModelInfo().getAuthor());
+  }
+
+  @Test
+  public void deletionOfAPendingModelWins() {
+    IndexingQueue queue = createQueue(100, 10, 3);
+    ModelInfo created = modelInfo("Lamp", "creator");
+
+    queue.enqueue(IndexingOperation.index(created, "playground"));
+    queue.enqueue(IndexingOperation.delete(created.getId()));
+    queue.flush();
+
+    assertEquals(1, indexingService.applied().size());
+    assertEquals(Type.DELETE, indexingService.applied().get(0).getType());
+  }
+
+  @Test
+  public void pendingOperationsAreSentInBatches() {
+    IndexingQueue queue = createQueue(100, 2, 3);
+    for (int i = 0; i < 5; i++) {
+      queue.enqueue(IndexingOperation.index(modelInfo("Model" + i, "creator"), "playground"));
+    }
+    queue.flush();
+
+    assertEquals(3, indexingService.batches.size());
+    assertEquals(2, indexingService.batches.get(0).size());
+    assertEquals(2, indexingService.batches.get(1).size());
+    assertEquals(1, indexingService.batches.get(2).size());
+    assertEquals("Model0", indexingService.applied().get(0).getModelId().getName());
+    assertEquals("Model4", indexingService.applied().get(4).getModelId().getName());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void failedOperationsAreRetried() {
+    IndexingQueue queue = createQueue(100, 10, 3);
+    indexingService.failures.put("Lamp", 2);
+
+    queue.enqueue(IndexingOperation.index(modelInfo("Lamp", "creator"), "playground"));
+    queue.enqueue(IndexingOperation.index(modelInfo("Switch", "creator"), "playground"));
+    queue.flush();
+
+    assertEquals(3, indexingService.batches.size());
+    assertEquals(2, indexingService.applied().size());
+    assertEquals("Switch", indexingService.applied().get(0).getModelId().getName());
+    assertEquals("Lamp", indexingService.applied().get(1).getModelId().getName());
+  }
+
+  @Test
+  public void failedOperationsAreRetriedAfterTheBackoff() {
+    IndexingQueue queue = new IndexingQueue(indexingService, true, 100, 10, 60000, 3, 200, 1000);
+    indexingService.failures.put("Lamp", 1);
+
+    long start = System.currentTimeMillis();
+    queue.enqueue(IndexingOperation.index(modelInfo("Lamp", "creator"), "playground"));
+    queue.flush();
+
+    assertTrue(System.currentTimeMillis() - start >= 200);
+    assertEquals(2, indexingService.batches.size());
+    assertEquals(1, indexingService.applied().size());
+  }
+
+  @Test
+  public void workerDoesNotRetryBeforeTheBackoff() throws Exception {
+    IndexingQueue queue = new IndexingQueue(indexingService, true, 100, 10, 20, 3, 1000, 1000);
+    indexingService.failures.put("Lamp", 1);
+    queue.start();
+    try {
+      queue.enqueue(IndexingOperation.index(modelInfo("Lamp", "creator"), "playground"));
+      for (int i = 0; i < 100 && indexingService.batches.isEmpty(); i++) {
+        Thread.sleep(20);
+      }
+      Thread.sleep(200);
+
+      assertEquals(1, indexingService.batches.size());
+      assertEquals(1, queue.size());
+    } finally {
+      queue.shutdown();
+    }
+    assertEquals(1, indexingService.applied().size());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void operationsAreDroppedAfterTheLastRetry() {
+    IndexingQueue queue = createQueue(100, 10, 2);
+    indexingService.failures.put("Lamp", Integer.MAX_VALUE);
+
+    queue.enqueue(IndexingOperation.index(modelInfo("Lamp", "creator"), "playground"));
+    queue.flush();
+
+    assertEquals(3, indexingService.batches.size());
+    assertTrue(indexingService.applied().isEmpty());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void workerFlushesAfterTheFlushInterval() throws Exception {
+    IndexingQueue queue = new IndexingQueue(indexingService, true, 100, 10, 50, 3, 10, 1000);
+    queue.start();
+    try {
+      queue.enqueue(IndexingOperation.index(modelInfo("Lamp", "creator"), "playground"));
+      for (int i = 0; i < 100 && indexingService.applied().isEmpty(); i++) {
+        Thread.sleep(50);
+      }
+      assertEquals(1, indexingService.applied().size());
+    } finally {
+      queue.shutdown();
+    }
+  }
+
+  @Test
+  public void shutdownFlushesPendingOperations() {
+    IndexingQueue queue = new IndexingQueue(indexingService, true, 100, 10, 60000, 3, 10, 1000);
+    queue.start();
+    for (int i = 0; i < 3; i++) {
+      queue.enqueue(IndexingOperation.index(modelInfo("Model" + i, "creator"), "playground"));
+    }
+    queue.shutdown();
+
+    assertEquals(3, indexingService.applied().size());
+    assertEquals(0, queue.size());
+  }
+
+  private IndexingQueue createQueue(int capacity, int batchSize, int maxRetries) {
+    // not started, so that the test controls when batches are sent
+    return new IndexingQueue(indexingService, true, capacity, batchSize, 60000, maxRetries, 10,
+        1000);
+  }
+
+  private static ModelInfo modelInfo(String name, String author) {
+    ModelInfo modelInfo =
+        new ModelInfo(new ModelId(name, "org.eclipse.vorto.examples", "1.0.0"), ModelType.Functionblock);
+    modelInfo.setAuthor(author);
+    return modelInfo;
+  }
+
+  /**
+   * In-process stand-in for the search index, which records the batches it receives and fails
+   * operations of a model for a given number of attempts.
+   */
+  private static class RecordingIndexingService implements IIndexingService {
+
+    private final List<List<IndexingOperation>> batches =
+        Collections.synchronizedList(new ArrayList<>());
+
+    private final Map<String, Integer> failures = new HashMap<>();
+
+    @Override
+    public synchronized Collection<IndexingOperation> bulk(
+        Collection<IndexingOperation> operations) {
+      List<IndexingOperation> batch = new ArrayList<>();
+      List<IndexingOperation> failed = new ArrayList<>();
+      for (IndexingOperation operation : operations) {
+        int remainingFailures = failures.getOrDefault(operation.getModelId().getName(), 0);
+        if (remainingFailures > 0) {
+          failures.put(operation.getModelId().getName(), remainingFailures - 1);
+          failed.add(operation);
+        } else {
+          batch.add(operation);
+        }
+      }
+      batches.add(batch);
+      return failed;
+    }
+
+    private List<IndexingOperation> applied() {
+      List<IndexingOperation> applied = new ArrayList<>();
+      synchronized (batches) {
+        batches.forEach(applied::addAll);
+      }
+      return applied;
+    }
+
+    @Override
+    public IndexingResult reindexAllModels() {
+      return new IndexingResult();
+    }
+
+    @Override
+    public IndexingResult forceReindexAllModels() {
+      return new IndexingResult();
+    }
+
+    @Override
+    public int reindexTenant(String tenantId) {
+      return 0;
+    }
+
+    @Override
+    public void indexModel(ModelInfo modelInfo, String tenantId) {
+      bulk(Collections.singletonList(IndexingOperation.index(modelInfo, tenantId)));
+    }
+
+    @Override
+    public void updateIndex(ModelInfo modelInfo) {
+      bulk(Collections.singletonList(IndexingOperation.update(modelInfo)));
+    }
+
+    @Override
+    public void deleteIndex(ModelId modelId) {
+      bulk(Collections.singletonList(IndexingOperation.delete(modelId)));
+    }
+
+    @Override
+    public void deleteIndexForTenant(String tenantId) {
+      // not queued
+    }
+  }
+}
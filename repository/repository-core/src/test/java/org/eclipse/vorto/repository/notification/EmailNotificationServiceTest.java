@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.mail.Session;
+import org.eclipse.vorto.repository.domain.User;
+import org.eclipse.vorto.repository.notification.impl.EmailDispatcher;
+import org.eclipse.vorto.repository.notification.impl.EmailNotificationService;
+import org.eclipse.vorto.repository.notification.impl.EmailOutbox;
+import org.eclipse.vorto.repository.notification.impl.OutgoingEmail;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.subethamail.smtp.MessageContext;
+import org.subethamail.smtp.MessageHandler;
+import org.subethamail.smtp.server.SMTPServer;
+
+public class EmailNotificationServiceTest {
+
+  @Rule
+  public TemporaryFolder outboxFolder = new TemporaryFolder();
+
+  private int port;
+
+  private SMTPServer server;
+
+  private final List<String> recipients = new CopyOnWriteArrayList<>();
+
+  private final Set<String> connections = ConcurrentHashMap.newKeySet();
+
+  @Before
+  public void setUp() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+  }
+
+  @After
+  public void tearDown() {
+    if (server != null) {
+      server.stop();
+    }
+  }
+
+  @Test
+  public void testNotificationsAreDeliveredInBackgroundOverOneConnection() throws Exception {
+    startServer();
+    EmailNotificationService service = createService(true);
+    service.start();
+    try {
+      for (int i = 0; i < 3; i++) {
+        service.sendNotification(message("alex" + i + "@example.org"));
+      }
+      awaitDelivery(3);
+    } finally {
+      service.stop();
+    }
+
+    assertEquals(3, recipients.size());
+    assertEquals(1, connections.size());
+  }
+
+  @Test
+  public void testNotificationIsSentRightAwayIfAsyncDeliveryIsDisabled() throws Exception {
+    startServer();
+    EmailNotificationService service = createService(false);
+    service.start();
+
+    service.sendNotification(message("alex@example.org"));
+
+    assertEquals(1, recipients.size());
+    assertTrue(recipients.get(0).contains("alex@example.org"));
+  }
+
+  @Test
+  public void testEmailsAreRetriedUntilServerIsAvailable() throws Exception {
+    EmailDispatcher dispatcher = createDispatcher(50);
+    dispatcher.start();
+    try {
+      dispatcher.submit(OutgoingEmail.of("alex@example.org", "Test", "<p>Test</p>"));
+      Thread.sleep(200);
+      assertTrue(recipients.isEmpty());
+
+      startServer();
+      awaitDelivery(1);
+    } finally {
+      dispatcher.stop(1000);
+    }
+    assertEquals(1, recipients.size());
+  }
+
+  @Test
+  public void testPendingEmailsAreKeptInOutbox() throws Exception {
+    EmailDispatcher dispatcher = createDispatcher(60000);
+    dispatcher.start();
+    dispatcher.submit(OutgoingEmail.of("alex@example.org", "Test", "<p>Test</p>"));
+    dispatcher.submit(OutgoingEmail.of("erle@example.org", "Test", "<p>Test</p>"));
+    dispatcher.stop(1000);
+    assertEquals(2, outboxFolder.getRoot().listFiles().length);
+
+    startServer();
+    EmailDispatcher restartedDispatcher = createDispatcher(60000);
+    restartedDispatcher.start();
+    try {
+      awaitDelivery(2);
+    } finally {
+      restartedDispatcher.stop(1000);
+    }
+    assertEquals(2, recipients.size());
+    assertEquals(0, outboxFolder.getRoot().listFiles().length);
+  }
+
+  private EmailNotificationService createService(boolean async) {
+    EmailNotificationService service = new EmailNotificationService();
+    service.setMailFrom("vorto-dev@eclipse.org");
+    service.setSmtpHost("localhost");
+    service.setSmtpPort(Integer.toString(port));
+    service.setNeedsAuth("false");
+    service.setAsyncEnabled(async);
+    service.setOutboxDirectory(outboxFolder.getRoot().getAbsolutePath());
+    return service;
+  }
+
+  private EmailDispatcher createDispatcher(long backoffMillis) {
+    Properties props = new Properties();
+    props.setProperty("mail.smtp.host", "localhost");
+    props.setProperty("mail.smtp.port", Integer.toString(port));
+    return new EmailDispatcher(Session.getInstance(props), "vorto-dev@eclipse.org",
+        new EmailOutbox(outboxFolder.getRoot().getAbsolutePath()), 10, 5, 100, backoffMillis,
+        backoffMillis, 30000);
+  }
+
+  private void startServer() throws IOException {
+    server = new SMTPServer(this::createHandler);
+    server.setBindAddress(InetAddress.getByName("localhost"));
+    server.setPort(port);
+    server.start();
+  }
+
+  private MessageHandler createHandler(MessageContext context) {
+    return new MessageHandler() {
+      @Override
+      public void from(String from) {}
+
+      @Override
+      public void recipient(String recipient) {
+        recipients.add(recipient);
+        connections.add(context.getRemoteAddress().toString());
+      }
+
+      @Override
+      public void data(InputStream data) throws IOException {
+        while (data.read() != -1) {
+          // consume the message
+        }
+      }
+
+      @Override
+      public void done() {}
+    };
+  }
+
+  private void awaitDelivery(int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (recipients.size() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+  }
+
+  private static IMessage message(String emailAddress) {
+    User recipient = User.create("alex", "GITHUB", null);
+    recipient.setEmailAddress(emailAddress);
+    return new IMessage() {
+      @Override
+      public User getRecipient() {
+        return recipient;
+      }
+
+      @Override
+      public String getSubject() {
+        return "Test";
+      }
+
+      @Override
+      public String getContent() {
+        return "<p>Test</p>";
+      }
+    };
+  }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.domain.User;
+import org.eclipse.vorto.repository.notification.message.CommentReplyMessage;
+import org.eclipse.vorto.repository.notification.message.WorkItemPendingMessage;
+import org.junit.Test;
+
+public class NotificationMessageTest {
+
+  private ModelInfo model =
+      new ModelInfo(ModelId.fromPrettyFormat("com.mycompany:Color:1.0.0"), ModelType.Datatype);
+
+  @Test
+  public void testCommentReplyIsRenderedOnceForAllRecipients() {
+    List<CommentReplyMessage> messages = CommentReplyMessage.forRecipients(
+        Arrays.asList(User.create("alex", "GITHUB", null), User.create("erle", "GITHUB", null)),
+        model, "Looks good");
+
+    assertEquals(2, messages.size());
+    assertEquals("erle", messages.get(1).getRecipient().getUsername());
+    assertTrue(messages.get(0).getContent().contains("Looks good"));
+    assertTrue(messages.get(0).getContent().contains("com.mycompany:Color:1.0.0"));
+    assertSame(messages.get(0).getContent(), messages.get(1).getContent());
+  }
+
+  @Test
+  public void testPendingWorkItemIsPersonalized() {
+    String alexContent =
+        new WorkItemPendingMessage(User.create("alex", "GITHUB", null), model).getContent();
+    String erleContent =
+        new WorkItemPendingMessage(User.create("erle", "GITHUB", null), model).getContent();
+
+    assertTrue(alexContent.startsWith("Dear alex"));
+    assertTrue(erleContent.startsWith("Dear erle"));
+  }
+}
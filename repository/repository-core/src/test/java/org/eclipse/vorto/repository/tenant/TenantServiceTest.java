@@ -343,6 +343,43 @@ public class TenantServiceTest {
     return !Namespace.newNamespace(namespace).isInConflictWith(str);
   }
   
+  @Test
+  public void testGetTenantFromNamespace() {
+    Tenant playground = Tenant.newTenant("playground", "org.eclipse",
+        Sets.newHashSet("org.eclipse", "com.mycompany"));
+    Tenant other = Tenant.newTenant("other", "com.other", Sets.newHashSet("com.other"));
+    Mockito.when(tenantRepo.findAll()).thenReturn(Lists.newArrayList(playground, other));
+    Mockito.when(tenantRepo.findByTenantId("playground")).thenReturn(playground);
+    Mockito.when(tenantRepo.findByTenantId("other")).thenReturn(other);
+    TenantService tenantService = getTenantService();
+
+    assertEquals(playground, tenantService.getTenantFromNamespace("org.eclipse").get());
+    assertEquals(playground,
+        tenantService.getTenantFromNamespace("org.eclipse.vorto.examples").get());
+    assertEquals(other, tenantService.getTenantFromNamespace("com.other.lights").get());
+    assertFalse(tenantService.getTenantFromNamespace("com.othercompany").isPresent());
+    assertFalse(tenantService.getTenantFromNamespace("org").isPresent());
+
+    Mockito.verify(tenantRepo, Mockito.times(1)).findAll();
+  }
+
+  @Test
+  public void testGetTenantFromNamespaceAfterNamespaceRemoved() {
+    Tenant playground = Tenant.newTenant("playground", "org.eclipse",
+        Sets.newHashSet("org.eclipse", "com.mycompany"));
+    Mockito.when(tenantRepo.findAll()).thenReturn(Lists.newArrayList(playground));
+    Mockito.when(tenantRepo.findByTenantId("playground")).thenReturn(playground);
+    TenantService tenantService = getTenantService();
+
+    assertTrue(tenantService.getTenantFromNamespace("com.mycompany").isPresent());
+
+    playground.removeNamespace("com.mycompany");
+    assertFalse(tenantService.getTenantFromNamespace("com.mycompany").isPresent());
+    assertTrue(tenantService.getTenantFromNamespace("org.eclipse").isPresent());
+
+    Mockito.verify(tenantRepo, Mockito.times(2)).findAll();
+  }
+
   private TenantService getTenantService() {
     return new TenantService(tenantRepo, nsRepo, accountService);
   }
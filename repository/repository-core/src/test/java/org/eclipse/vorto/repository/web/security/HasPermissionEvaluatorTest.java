@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.web.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.account.IUserAccountService;
+import org.eclipse.vorto.repository.core.IModelPolicyManager;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.PolicyEntry.Permission;
+import org.eclipse.vorto.repository.domain.Tenant;
+import org.eclipse.vorto.repository.tenant.ITenantService;
+import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
+import org.eclipse.vorto.repository.workflow.impl.SimpleWorkflowModel;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class HasPermissionEvaluatorTest {
+
+  private static final ModelId RELEASED = ModelId.fromPrettyFormat("com.mycompany:Released:1.0.0");
+
+  private static final ModelId DRAFT = ModelId.fromPrettyFormat("com.mycompany:Draft:1.0.0");
+
+  private static final ModelId OWN_DRAFT = ModelId.fromPrettyFormat("org.other:OwnDraft:1.0.0");
+
+  private static final ModelId NO_TENANT = ModelId.fromPrettyFormat("org.unknown:Model:1.0.0");
+
+  private IModelRepositoryFactory repositoryFactory = mock(IModelRepositoryFactory.class);
+
+  private ITenantService tenantService = mock(ITenantService.class);
+
+  private IModelRepository playground = mock(IModelRepository.class);
+
+  private IModelRepository other = mock(IModelRepository.class);
+
+  private Authentication alex = new TestingAuthenticationToken("alex", null);
+
+  private HasPermissionEvaluator evaluator;
+
+  @Before
+  public void setUp() {
+    when(tenantService.getTenantFromNamespace(anyString())).thenReturn(Optional.empty());
+    when(tenantService.getTenantFromNamespace("com.mycompany"))
+        .thenReturn(Optional.of(Tenant.newTenant("playground", "com.mycompany",
+            Collections.singleton("com.mycompany"))));
+    when(tenantService.getTenantFromNamespace("org.other")).thenReturn(Optional
+        .of(Tenant.newTenant("other", "org.other", Collections.singleton("org.other"))));
+    when(repositoryFactory.getRepository("playground", alex)).thenReturn(playground);
+    when(repositoryFactory.getRepository("other", alex)).thenReturn(other);
+
+    evaluator = new HasPermissionEvaluator(repositoryFactory, tenantService,
+        mock(IUserAccountService.class));
+  }
+
+  @Test
+  public void testGetPermittedModelsLoadsModelsOncePerTenant() {
+    when(playground.getByIds(Arrays.asList(DRAFT, RELEASED))).thenReturn(
+        Arrays.asList(model(DRAFT, "erle", SimpleWorkflowModel.STATE_DRAFT.getName()),
+            model(RELEASED, "erle", SimpleWorkflowModel.STATE_RELEASED.getName())));
+    when(other.getByIds(Collections.singletonList(OWN_DRAFT))).thenReturn(Collections
+        .singletonList(model(OWN_DRAFT, "alex", SimpleWorkflowModel.STATE_DRAFT.getName())));
+
+    assertEquals(Arrays.asList(OWN_DRAFT, RELEASED),
+        asList(evaluator.getPermittedModels(alex,
+            Arrays.asList(DRAFT, OWN_DRAFT, NO_TENANT, RELEASED), "model:get")));
+    verify(playground, times(1)).getByIds(anyCollection());
+    verify(other, times(1)).getByIds(anyCollection());
+    verify(tenantService, times(1)).getTenantFromNamespace("com.mycompany");
+  }
+
+  @Test
+  public void testGetPermittedModelsLeavesOutInaccessibleModels() {
+    when(playground.getByIds(anyCollection())).thenThrow(new NotAuthorizedException(DRAFT));
+    when(playground.getById(DRAFT)).thenThrow(new NotAuthorizedException(DRAFT));
+    when(playground.getById(RELEASED))
+        .thenReturn(model(RELEASED, "alex", SimpleWorkflowModel.STATE_DRAFT.getName()));
+
+    assertEquals(Collections.singletonList(RELEASED), asList(
+        evaluator.getPermittedModels(alex, Arrays.asList(DRAFT, RELEASED), "model:owner")));
+  }
+
+  @Test
+  public void testGetPermittedModelsChecksPoliciesOncePerTenant() {
+    IModelPolicyManager policyManager = mock(IModelPolicyManager.class);
+    when(repositoryFactory.getPolicyManager("playground", alex)).thenReturn(policyManager);
+    when(policyManager.getModelsWithPermission(anyCollection(), eq(Permission.READ)))
+        .thenReturn(Sets.newHashSet(RELEASED));
+
+    assertEquals(Collections.singletonList(RELEASED), asList(evaluator.getPermittedModels(alex,
+        Arrays.asList(DRAFT, RELEASED, NO_TENANT), Permission.READ)));
+    verify(policyManager, times(1)).getModelsWithPermission(anyCollection(), any());
+    verify(policyManager, times(0)).hasPermission(any(), any());
+  }
+
+  private static ModelInfo model(ModelId modelId, String author, String state) {
+    ModelInfo modelInfo = new ModelInfo(modelId, ModelType.Datatype);
+    modelInfo.setAuthor(author);
+    modelInfo.setState(state);
+    return modelInfo;
+  }
+
+  private static List<ModelId> asList(Iterable<ModelId> modelIds) {
+    return Lists.newArrayList(modelIds);
+  }
+}
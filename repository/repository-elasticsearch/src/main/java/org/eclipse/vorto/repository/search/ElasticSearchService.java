@@ -12,6 +12,7 @@
  */
 package org.eclipse.vorto.repository.search;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -19,10 +20,17 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -43,8 +51,11 @@ import org.eclipse.vorto.repository.tenant.ITenantService;
 import org.eclipse.vorto.repository.utils.PreConditions;
 import org.eclipse.vorto.repository.web.api.v1.dto.NamespaceDto;
 import org.eclipse.vorto.repository.workflow.ModelState;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.DocWriteResponse;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -61,6 +72,7 @@ import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.indices.CreateIndexRequest;
 import org.elasticsearch.client.indices.CreateIndexResponse;
 import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.client.indices.PutMappingRequest;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -68,10 +80,19 @@ import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.reindex.BulkByScrollResponse;
 import org.elasticsearch.index.reindex.DeleteByQueryRequest;
 import org.elasticsearch.index.reindex.ReindexRequest;
+import org.elasticsearch.index.reindex.UpdateByQueryRequest;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
+import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 /**
@@ -88,7 +109,25 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
 
   private static final String TENANT_ID = "tenantId";
 
-  private static final int MAX_SEARCH_RESULTS = 1000;
+  private static final int SEARCH_BATCH_SIZE = 1000;
+
+  /**
+   * Time a document was last written, used to tell outdated documents after a reindexing
+   */
+  private static final String INDEXED_ON = "indexedOn";
+
+  public static final int DEFAULT_REINDEX_PARALLELISM = 4;
+
+  public static final int DEFAULT_REINDEX_CHUNK_SIZE = 500;
+
+  /**
+   * The fields needed to build a {@link ModelInfo} from a search hit
+   */
+  private static final String[] SEARCH_RESULT_FIELDS = {BasicIndexFieldExtractor.MODEL_ID,
+      BasicIndexFieldExtractor.MODEL_TYPE, BasicIndexFieldExtractor.STATE,
+      BasicIndexFieldExtractor.VISIBILITY, BasicIndexFieldExtractor.AUTHOR,
+      BasicIndexFieldExtractor.DESCRIPTION, BasicIndexFieldExtractor.DISPLAY_NAME,
+      BasicIndexFieldExtractor.MODEL_HASIMAGE, BasicIndexFieldExtractor.MODEL_CREATIONDATE};
 
   private static final String PUBLIC = "public";
 
@@ -108,6 +147,14 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
 
   private ITenantService tenantService;
 
+  private int reindexParallelism = DEFAULT_REINDEX_PARALLELISM;
+
+  private int reindexChunkSize = DEFAULT_REINDEX_CHUNK_SIZE;
+
+  private final ReentrantLock reindexLock = new ReentrantLock();
+
+  private volatile ReindexCheckpoint reindexCheckpoint;
+
   /**
    * An un-tagged name token in a search will search into the following fields:
    * <ul>
@@ -188,6 +235,49 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
       logger.info(String.format("Index '%s' created.", VORTO_INDEX));
     } else {
       logger.info("Index already exist");
+      // adds fields that were introduced after the index had been created
+      updateMapping(VORTO_INDEX, createMappingForIndex());
+      backfillSortableName();
+    }
+  }
+
+  /**
+   * Sets the {@link BasicIndexFieldExtractor#MODEL_NAME_SORTABLE} field of the documents that were
+   * indexed before the field was introduced, which would otherwise be sorted last when sorting by
+   * name. The model name is taken from the model ID of the document.
+   */
+  private void backfillSortableName() {
+    UpdateByQueryRequest request = new UpdateByQueryRequest(VORTO_INDEX);
+    request.setQuery(QueryBuilders.boolQuery()
+        .mustNot(QueryBuilders.existsQuery(BasicIndexFieldExtractor.MODEL_NAME_SORTABLE)));
+    request.setScript(new Script(ScriptType.INLINE, "painless",
+        String.format("String id = ctx._source.%s; "
+            + "ctx._source.%s = id.substring(id.indexOf(':') + 1, id.lastIndexOf(':'))",
+            BasicIndexFieldExtractor.MODEL_ID, BasicIndexFieldExtractor.MODEL_NAME_SORTABLE),
+        Collections.emptyMap()));
+    // models changed meanwhile are written with the field anyway
+    request.setConflicts("proceed");
+    request.setRefresh(true);
+    try {
+      BulkByScrollResponse response = client.updateByQuery(request, RequestOptions.DEFAULT);
+      if (response.getUpdated() > 0) {
+        logger.warn(String.format("Added field '%s' to %d documents of index '%s' indexed before "
+            + "the field was introduced", BasicIndexFieldExtractor.MODEL_NAME_SORTABLE,
+            response.getUpdated(), VORTO_INDEX));
+      }
+    } catch (IOException e) {
+      throw new IndexingException(String.format("Error adding field '%s' to the documents of '%s' index.",
+          BasicIndexFieldExtractor.MODEL_NAME_SORTABLE, VORTO_INDEX), e);
+    }
+  }
+
+  private void updateMapping(String index, Map<String, Object> mapping) {
+    PutMappingRequest request = new PutMappingRequest(index);
+    request.source(mapping);
+    try {
+      client.indices().putMapping(request, RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new IndexingException("Error while updating mapping of index '" + index + "'.", e);
     }
   }
 
@@ -242,10 +332,30 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
    */
   @Override
   public IndexingResult forceReindexAllModels() {
-    // no Vorto index - nothing to do
+    if (!reindexLock.tryLock()) {
+      throw new IndexingException("Reindexing of all models is already running.", null);
+    }
+    try {
+      // no Vorto index - nothing to do
+      if (!recreateIndex()) {
+        return new IndexingResult();
+      }
+      // finally, re-import all models, starting over if an earlier reindexing failed
+      ReindexCheckpoint checkpoint = new ReindexCheckpoint();
+      reindexCheckpoint = checkpoint;
+      return reindexAllModels(checkpoint);
+    } finally {
+      reindexLock.unlock();
+    }
+  }
+
+  /**
+   * @return false if the vorto index did not exist and has just been created
+   */
+  private boolean recreateIndex() {
     if (!indexExist(VORTO_INDEX)) {
       createIndexIfNotExisting();
-      return new IndexingResult();
+      return false;
     }
     // first delete the VORTO_INDEX_TEMP index if it exists
     if (indexExist(VORTO_INDEX_TEMP)) {
@@ -307,8 +417,7 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
       throw new IndexingException(ioe.getMessage(), ioe);
     }
 
-    // finally, re-import all models
-    return reindexAllModels();
+    return true;
   }
 
   private boolean createIndexWithMapping(String index, Map<String, Object> mapping) {
@@ -326,6 +435,7 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
   private Map<String, Object> createMappingForIndex() {
     Map<String, Object> properties = new HashMap<>();
     properties.put(TENANT_ID, createPropertyWithType(FieldType.KEY));
+    properties.put(INDEXED_ON, Collections.singletonMap("type", "long"));
 
     for (IIndexFieldExtractor extractor : fieldExtractors) {
       extractor.getFields().forEach((key, value) -> {
@@ -344,47 +454,187 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     return property;
   }
 
-  private void deleteAllModels(String index) {
-    deleteByQuery(index, QueryBuilders.matchAllQuery());
-  }
-
+  /**
+   * Reindexes the models of all tenants. The tenants are indexed concurrently, each of them in
+   * chunks of models read from the repository, so that neither the models of a tenant nor a
+   * single bulk request grow with the size of the tenant. Models are written over their existing
+   * documents, so that search keeps working while the reindexing runs. Only once all tenants are
+   * indexed, documents which were not written since the reindexing started (i.e. of models which
+   * no longer exist) are deleted.<br/>
+   * If a tenant fails, the other tenants are still indexed and an {@link IndexingException} is
+   * thrown at the end. Calling this method again then resumes with the chunk that failed and skips
+   * the tenants that are done. Progress is reported by {@link #getReindexingProgress()}.
+   */
   @Override
   public IndexingResult reindexAllModels() {
+    if (!reindexLock.tryLock()) {
+      throw new IndexingException("Reindexing of all models is already running.", null);
+    }
+    try {
+      ReindexCheckpoint checkpoint = reindexCheckpoint;
+      if (checkpoint == null || checkpoint.isComplete()) {
+        checkpoint = new ReindexCheckpoint();
+        reindexCheckpoint = checkpoint;
+      } else {
+        logger.info("Resuming reindexing of all models");
+      }
+      return reindexAllModels(checkpoint);
+    } finally {
+      reindexLock.unlock();
+    }
+  }
+
+  private IndexingResult reindexAllModels(ReindexCheckpoint checkpoint) {
+    Collection<Tenant> tenants = tenantService.getTenants();
+    checkpoint.start(tenants.size());
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    ExecutorService executor = reindexExecutor(Math.min(reindexParallelism, tenants.size()));
+    Map<Tenant, Future<?>> tasks = new LinkedHashMap<>();
+    try {
+      for (Tenant tenant : tenants) {
+        if (!checkpoint.isIndexed(tenant.getTenantId())) {
+          tasks.put(tenant,
+              executor.submit(() -> reindexTenant(tenant.getTenantId(), authentication, checkpoint)));
+        }
+      }
+
+      List<String> failedTenants = new ArrayList<>();
+      for (Map.Entry<Tenant, Future<?>> task : tasks.entrySet()) {
+        String tenantId = task.getKey().getTenantId();
+        try {
+          task.getValue().get();
+        } catch (ExecutionException e) {
+          logger.error(String.format("Error trying to index all models in '%s' tenant.", tenantId),
+              e.getCause());
+          checkpoint.setFailed(tenantId);
+          failedTenants.add(tenantId);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          checkpoint.stop(false);
+          throw new IndexingException("Interrupted while reindexing all models.", e);
+        }
+      }
+
+      if (!failedTenants.isEmpty()) {
+        checkpoint.stop(false);
+        throw new IndexingException(String.format(
+            "Error trying to index all models in tenants %s. Reindex again to resume.",
+            failedTenants), null);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    deleteModelsIndexedBefore(checkpoint.getStartedOn(), QueryBuilders.matchAllQuery());
+    checkpoint.stop(true);
+
     IndexingResult result = new IndexingResult();
+    tenants.forEach(tenant -> {
+      // temporary fix: getting namespace name instead of tenant ID here
+      // in the long run, once the tenant service is gone we can normalize
+      result.addIndexedNamespace(NamespaceDto.fromTenant(tenant).getName(),
+          checkpoint.getIndexedModels(tenant.getTenantId()));
+    });
+    return result;
+  }
+
+  /**
+   * Reindexes the models of the given tenant in chunks, like {@link #reindexAllModels()}, and then
+   * deletes the documents of the tenant which were not written since.
+   */
+  @Override
+  public int reindexTenant(String tenantId) {
+    PreConditions.notNullOrEmpty(tenantId, TENANT_ID);
 
-    // (1) Delete all models in the index
-    deleteAllModels(VORTO_INDEX);
+    ReindexCheckpoint checkpoint = new ReindexCheckpoint();
+    reindexTenant(tenantId, SecurityContextHolder.getContext().getAuthentication(), checkpoint);
+    deleteModelsIndexedBefore(checkpoint.getStartedOn(),
+        QueryBuilders.termQuery(TENANT_ID, tenantId));
+    return checkpoint.getIndexedModels(tenantId);
+  }
 
-    // (2) Index all models in all the tenants
-    tenantService.getTenants().stream().forEach(tenant -> {
-      IModelRepository repo = this.repositoryFactory.getRepository(tenant.getTenantId());
-      List<ModelInfo> modelsToIndex = repo.search("");
-      if (!modelsToIndex.isEmpty()) {
+  private void reindexTenant(String tenantId, Authentication authentication,
+      ReindexCheckpoint checkpoint) {
+    IModelRepository repo = this.repositoryFactory.getRepository(tenantId, authentication);
+    // models are read in order of creation, so that models created meanwhile are appended, and
+    // after the last indexed model, so that models deleted meanwhile do not shift the position
+    ModelChunkReader reader = new ModelChunkReader(repo, reindexChunkSize,
+        checkpoint.getLastIndexedModel(tenantId));
+    int indexed = checkpoint.getIndexedModels(tenantId);
+    while (reader.hasNext()) {
+      List<ModelInfo> models = reader.next();
+      if (!models.isEmpty()) {
         BulkRequest bulkRequest = new BulkRequest();
+        models.forEach(model -> bulkRequest.add(createIndexRequest(model, tenantId)));
 
-        modelsToIndex.forEach(model -> {
-          bulkRequest.add(createIndexRequest(model, repo.getTenantId()));
-        });
-
+        BulkResponse bulkResponse;
         try {
-          BulkResponse bulkResponse = client.bulk(bulkRequest, RequestOptions.DEFAULT);
-          // temporary fix: getting namespace name instead of tenant ID here
-          // in the long run, once the tenant service is gone we can normalize
-          result.addIndexedNamespace(NamespaceDto.fromTenant(tenant).getName(), modelsToIndex.size());
-          logger.info(
-            String.format(
-              "Received %d replies for tenant '%s' with %d models",
-              bulkResponse.getItems().length, repo.getTenantId(), modelsToIndex.size()
-            )
-          );
+          bulkResponse = client.bulk(bulkRequest, RequestOptions.DEFAULT);
         } catch (IOException e) {
           throw new IndexingException(
-            String.format("Error trying to index all models in '%s' tenant.", repo.getTenantId()), e);
+              String.format("Error trying to index all models in '%s' tenant.", tenantId), e);
+        }
+        if (bulkResponse.hasFailures()) {
+          throw new IndexingException(
+              String.format("Error trying to index all models in '%s' tenant: %s", tenantId,
+                  bulkResponse.buildFailureMessage()), null);
         }
+
+        indexed += models.size();
+        checkpoint.setIndexedModels(tenantId, indexed, reader.getLastModel());
+        logger.info(String.format("Indexed %d models of tenant '%s'", indexed, tenantId));
       }
+    }
+
+    checkpoint.setIndexed(tenantId);
+  }
+
+  private ExecutorService reindexExecutor(int parallelism) {
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(parallelism, 1), runnable -> {
+      Thread thread = new Thread(runnable, "reindex-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
     });
+    return new DelegatingSecurityContextExecutorService(executor);
+  }
 
-    return result;
+  /**
+   * Deletes the documents matching the given query which were written before the given time,
+   * including the ones written before documents were stamped.
+   */
+  private void deleteModelsIndexedBefore(long time, QueryBuilder query) {
+    try {
+      // makes the documents written by the reindexing visible to the query
+      client.indices().refresh(new RefreshRequest(VORTO_INDEX), RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new IndexingException(String.format("Error refreshing the '%s' index.", VORTO_INDEX), e);
+    }
+
+    DeleteByQueryRequest request = new DeleteByQueryRequest(VORTO_INDEX);
+    request.setQuery(QueryBuilders.boolQuery()
+        .filter(query)
+        .should(QueryBuilders.rangeQuery(INDEXED_ON).lt(time))
+        .should(QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery(INDEXED_ON)))
+        .minimumShouldMatch(1));
+    // models changed meanwhile are kept anyway
+    request.setConflicts("proceed");
+    request.setRefresh(true);
+    try {
+      BulkByScrollResponse response = client.deleteByQuery(request, RequestOptions.DEFAULT);
+      logger.info(String.format("Deleted %d models which no longer exist from the index '%s'",
+          response.getDeleted(), VORTO_INDEX));
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error deleting outdated models in the '%s' index.", VORTO_INDEX), e);
+    }
+  }
+
+  @Override
+  public ReindexingProgress getReindexingProgress() {
+    ReindexCheckpoint checkpoint = reindexCheckpoint;
+    return checkpoint == null ? new ReindexingProgress() : checkpoint.toProgress();
   }
 
   private void deleteByQuery(String index, QueryBuilder query) {
@@ -438,6 +688,7 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
   private IndexRequest createIndexRequest(ModelInfo modelInfo, String tenantId) {
     Map<String, Object> jsonMap = new HashMap<>();
     jsonMap.put(TENANT_ID, tenantId);
+    jsonMap.put(INDEXED_ON, System.currentTimeMillis());
 
     for (IIndexFieldExtractor extractor : fieldExtractors) {
       extractor.extractFields(modelInfo).forEach((key, value) -> {
@@ -471,6 +722,7 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
 
   private Map<String, Object> updateMap(ModelInfo modelInfo) {
     Map<String, Object> jsonMap = new HashMap<>();
+    jsonMap.put(INDEXED_ON, System.currentTimeMillis());
     for (IIndexFieldExtractor extractor : fieldExtractors) {
       extractor.extractFields(modelInfo).forEach((key, value) -> {
         jsonMap.put(key, value);
@@ -501,6 +753,62 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     deleteByQuery(VORTO_INDEX, QueryBuilders.termQuery(TENANT_ID, tenantId));
   }
 
+  /**
+   * Sends the given operations as a single bulk request. Items rejected because the cluster is
+   * overloaded or unavailable are returned for a retry, items rejected for any other reason (e.g.
+   * an update of a model which is not in the index) are logged and dropped.
+   */
+  @Override
+  public Collection<IndexingOperation> bulk(Collection<IndexingOperation> operations) {
+    if (operations.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<IndexingOperation> requested = new ArrayList<>(operations);
+    BulkRequest bulkRequest = new BulkRequest();
+    requested.forEach(operation -> bulkRequest.add(createWriteRequest(operation)));
+
+    BulkResponse bulkResponse;
+    try {
+      bulkResponse = client.bulk(bulkRequest, RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      logger.warn(String.format("Error sending %d operations to the index", requested.size()), e);
+      return requested;
+    }
+
+    if (!bulkResponse.hasFailures()) {
+      return Collections.emptyList();
+    }
+
+    List<IndexingOperation> failed = new ArrayList<>();
+    for (BulkItemResponse item : bulkResponse.getItems()) {
+      if (!item.isFailed()) {
+        continue;
+      }
+      IndexingOperation operation = requested.get(item.getItemId());
+      RestStatus status = item.getFailure().getStatus();
+      if (status == RestStatus.TOO_MANY_REQUESTS || status.getStatus() >= 500) {
+        failed.add(operation);
+      } else {
+        logger.warn(String.format("Dropping %s: %s", operation, item.getFailureMessage()));
+      }
+    }
+    return failed;
+  }
+
+  private DocWriteRequest<?> createWriteRequest(IndexingOperation operation) {
+    switch (operation.getType()) {
+      case INDEX:
+        return createIndexRequest(operation.getModelInfo(), operation.getTenantId());
+      case UPDATE:
+        return new UpdateRequest(VORTO_INDEX, DOC, operation.getModelId().getPrettyFormat())
+            .doc(updateMap(operation.getModelInfo()));
+      case DELETE:
+      default:
+        return new DeleteRequest(VORTO_INDEX, DOC, operation.getModelId().getPrettyFormat());
+    }
+  }
+
   /**
    * @see ElasticSearchService#search(String, IUserContext)
    * @param searchExpression
@@ -600,13 +908,113 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
    * @return
    */
   public List<ModelInfo> search(String searchExpression, IUserContext userContext) {
+    QueryBuilder query =
+        toESQuery(SearchParameters.build(findTenantsOfUser(userContext), searchExpression));
+
+    // fetches all hits in batches, each one continuing after the last hit of its predecessor
+    List<ModelInfo> result = new ArrayList<>();
+    Object[] searchAfter = null;
+    SearchHits hits;
+    do {
+      SearchSourceBuilder searchSourceBuilder = createSearchSource(query, SEARCH_BATCH_SIZE);
+      searchSourceBuilder.sort(SortBuilders.fieldSort(BasicIndexFieldExtractor.MODEL_ID));
+      if (searchAfter != null) {
+        searchSourceBuilder.searchAfter(searchAfter);
+      }
+
+      hits = executeSearch(searchExpression, searchSourceBuilder);
+      Stream.of(hits.getHits()).map(this::fromSearchHit).forEach(result::add);
+      if (hits.getHits().length > 0) {
+        searchAfter = hits.getHits()[hits.getHits().length - 1].getSortValues();
+      }
+    } while (hits.getHits().length == SEARCH_BATCH_SIZE);
+
+    return result;
+  }
+
+  /**
+   * Returns a single page of the models matching the given expression, see
+   * {@link ElasticSearchService#search(String, IUserContext)} for the syntax of the expression.
+   * <br/>
+   * Pages requested by cursor continue right after the last hit of the previous page
+   * ({@code search_after}), and are therefore not limited by the maximum result window of the
+   * index, contrary to pages requested by offset.
+   */
+  @Override
+  public SearchPage search(String searchExpression, SearchPageRequest pageRequest) {
+    IUserContext userContext =
+        UserContext.user(SecurityContextHolder.getContext().getAuthentication());
+    QueryBuilder query =
+        toESQuery(SearchParameters.build(findTenantsOfUser(userContext), searchExpression));
+
+    // one hit beyond the page tells whether there are further pages
+    SearchSourceBuilder searchSourceBuilder = createSearchSource(query, pageRequest.getLimit() + 1);
+    createSort(pageRequest.getSortOrder()).forEach(searchSourceBuilder::sort);
+    if (pageRequest.getCursor() != null) {
+      searchSourceBuilder.searchAfter(SearchCursor.decode(pageRequest.getCursor()).toArray());
+    } else {
+      searchSourceBuilder.from(pageRequest.getOffset());
+    }
 
+    SearchHits hits = executeSearch(searchExpression, searchSourceBuilder);
+    List<SearchHit> pageHits = Stream.of(hits.getHits()).limit(pageRequest.getLimit())
+        .collect(Collectors.toList());
+    boolean hasMore = hits.getHits().length > pageRequest.getLimit();
+
+    SearchPage page = new SearchPage();
+    page.setModels(pageHits.stream().map(this::fromSearchHit).collect(Collectors.toList()));
+    page.setOffset(pageRequest.getOffset());
+    page.setLimit(pageRequest.getLimit());
+    page.setHasMore(hasMore);
+    if (hasMore) {
+      page.setNextCursor(
+          SearchCursor.encode(pageHits.get(pageHits.size() - 1).getSortValues()));
+    }
+    page.setTotal(hits.getTotalHits());
+    return page;
+  }
+
+  private static SearchSourceBuilder createSearchSource(QueryBuilder query, int size) {
     SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-    searchSourceBuilder.query(toESQuery(SearchParameters.build(findTenantsOfUser(userContext), searchExpression)));
-    searchSourceBuilder.from(0);
-    searchSourceBuilder.size(MAX_SEARCH_RESULTS);
+    searchSourceBuilder.query(query);
+    searchSourceBuilder.size(size);
+    searchSourceBuilder.fetchSource(SEARCH_RESULT_FIELDS, null);
+    searchSourceBuilder.trackTotalHits(true);
     searchSourceBuilder.timeout(new TimeValue(3, TimeUnit.MINUTES));
+    return searchSourceBuilder;
+  }
 
+  /**
+   * Every ordering ends with the model id, so that the sort values of a hit identify its position
+   * unambiguously for {@code search_after}.
+   */
+  private static List<SortBuilder<?>> createSort(SearchSortOrder sortOrder) {
+    List<SortBuilder<?>> sort = new ArrayList<>();
+    switch (sortOrder) {
+      case NAME_ASC:
+        sort.add(SortBuilders.fieldSort(BasicIndexFieldExtractor.MODEL_NAME_SORTABLE)
+            .order(SortOrder.ASC).unmappedType(KEYWORD));
+        break;
+      case NAME_DESC:
+        sort.add(SortBuilders.fieldSort(BasicIndexFieldExtractor.MODEL_NAME_SORTABLE)
+            .order(SortOrder.DESC).unmappedType(KEYWORD));
+        break;
+      case CREATED_ASC:
+        sort.add(SortBuilders.fieldSort(BasicIndexFieldExtractor.MODEL_CREATIONDATE)
+            .order(SortOrder.ASC));
+        break;
+      case CREATED_DESC:
+      default:
+        sort.add(SortBuilders.fieldSort(BasicIndexFieldExtractor.MODEL_CREATIONDATE)
+            .order(SortOrder.DESC));
+        break;
+    }
+    sort.add(SortBuilders.fieldSort(BasicIndexFieldExtractor.MODEL_ID).order(SortOrder.ASC));
+    return sort;
+  }
+
+  private SearchHits executeSearch(String searchExpression,
+      SearchSourceBuilder searchSourceBuilder) {
     SearchRequest searchRequest = new SearchRequest(VORTO_INDEX);
     searchRequest.source(searchSourceBuilder);
 
@@ -616,7 +1024,7 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
       SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
       SearchHits hits = response.getHits();
       logger.info(String.format("Number of hits: %d", hits.getTotalHits()));
-      return Stream.of(hits.getHits()).map(this::fromSearchHit).collect(Collectors.toList());
+      return hits;
     } catch (IOException e) {
       throw new IndexingException(
         String.format("Error while querying the index for '%s' expression", Strings.nullToEmpty(searchExpression)), e
@@ -840,4 +1248,28 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     this.fieldExtractors = fieldExtractors;
   }
 
+  /**
+   * @param reindexParallelism number of tenants indexed concurrently by a reindexing
+   */
+  public void setReindexParallelism(int reindexParallelism) {
+    Preconditions.checkArgument(reindexParallelism > 0, "reindexParallelism must be positive.");
+    this.reindexParallelism = reindexParallelism;
+  }
+
+  /**
+   * @param reindexChunkSize number of models read and indexed at once by a reindexing
+   */
+  public void setReindexChunkSize(int reindexChunkSize) {
+    Preconditions.checkArgument(reindexChunkSize > 0, "reindexChunkSize must be positive.");
+    this.reindexChunkSize = reindexChunkSize;
+  }
+
+  /**
+   * @param reindexCheckpoint state of an unfinished reindexing, resumed by the next call of
+   *        {@link #reindexAllModels()}
+   */
+  void setReindexCheckpoint(ReindexCheckpoint reindexCheckpoint) {
+    this.reindexCheckpoint = reindexCheckpoint;
+  }
+
 }
@@ -0,0 +1,699 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.apache.log4j.Logger;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.IUserContext;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.UserContext;
+import org.eclipse.vorto.repository.domain.Tenant;
+import org.eclipse.vorto.repository.search.extractor.BasicIndexFieldExtractor;
+import org.eclipse.vorto.repository.search.extractor.IIndexFieldExtractor;
+import org.eclipse.vorto.repository.search.extractor.IIndexFieldExtractor.FieldType;
+import org.eclipse.vorto.repository.tenant.ITenantService;
+import org.eclipse.vorto.repository.utils.PreConditions;
+import org.eclipse.vorto.repository.web.api.v1.dto.NamespaceDto;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Search Service implementation using a Lucene index embedded in the repository process, e.g. on
+ * the local disk.<br/>
+ * It indexes the same fields as the {@link ElasticSearchService} and supports the same search
+ * expressions, see {@link ElasticSearchService#search(String, IUserContext)}. It is meant for
+ * single node installations, as the index is not shared between repository instances.<br/>
+ * Changes are committed to the index, and become visible to searches, as soon as they are
+ * written. A write that fails is rolled back completely.
+ */
+public class LuceneSearchService implements IIndexingService, ISearchService, Closeable {
+
+  private static final String TENANT_ID = "tenantId";
+
+  private static final String PUBLIC = "public";
+
+  private static final int REINDEX_CHUNK_SIZE = 500;
+
+  private static Logger logger = Logger.getLogger(LuceneSearchService.class);
+
+  private Collection<IIndexFieldExtractor> fieldExtractors = new ArrayList<IIndexFieldExtractor>();
+
+  private IModelRepositoryFactory repositoryFactory;
+
+  private ITenantService tenantService;
+
+  private final Directory directory;
+
+  /**
+   * Same as the standard analyzer of Elasticsearch, i.e. without stop words
+   */
+  private final Analyzer analyzer = new StandardAnalyzer(CharArraySet.EMPTY_SET);
+
+  /**
+   * replaced, along with the {@link #searcherManager}, when a failed write is rolled back
+   */
+  private volatile IndexWriter writer;
+
+  private volatile SearcherManager searcherManager;
+
+  /**
+   * serializes writes, commits and rollbacks, so that a reindexing is never interleaved with other
+   * changes
+   */
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  /**
+   * @param directory the directory of the index. It is closed along with this service.
+   * @param repositoryFactory
+   * @param tenantService
+   */
+  public LuceneSearchService(Directory directory, IModelRepositoryFactory repositoryFactory,
+      ITenantService tenantService) {
+    this.directory = directory;
+    this.repositoryFactory = repositoryFactory;
+    this.tenantService = tenantService;
+    this.fieldExtractors.add(new BasicIndexFieldExtractor());
+
+    try {
+      this.writer = openWriter();
+      this.searcherManager = new SearcherManager(writer, null);
+    } catch (IOException e) {
+      throw new IndexingException("Cannot open search index.", e);
+    }
+  }
+
+  private IndexWriter openWriter() throws IOException {
+    return new IndexWriter(directory,
+        new IndexWriterConfig(analyzer).setOpenMode(OpenMode.CREATE_OR_APPEND));
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      searcherManager.close();
+      writer.close();
+    } finally {
+      directory.close();
+    }
+  }
+
+  /**
+   * Updates the documents of all models of all tenants and deletes the documents of models which
+   * no longer exist. The current documents stay searchable until the reindexing is done.
+   */
+  @Override
+  public IndexingResult reindexAllModels() {
+    IndexingResult result = new IndexingResult();
+    write(() -> {
+      Set<String> indexedModels = new HashSet<>();
+      for (Tenant tenant : tenantService.getTenants()) {
+        int indexed = indexTenant(tenant.getTenantId(), indexedModels);
+
+        // temporary fix: getting namespace name instead of tenant ID here
+        // in the long run, once the tenant service is gone we can normalize
+        result.addIndexedNamespace(NamespaceDto.fromTenant(tenant).getName(), indexed);
+      }
+
+      for (String modelId : getIndexedModelIds()) {
+        if (!indexedModels.contains(modelId)) {
+          writer.deleteDocuments(new Term(BasicIndexFieldExtractor.MODEL_ID, modelId));
+        }
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Replaces the documents of the tenant in a single commit, so that searches see either the
+   * previous or the reindexed models of the tenant. If reading the models fails, the documents of
+   * the tenant are kept.
+   */
+  @Override
+  public int reindexTenant(String tenantId) {
+    PreConditions.notNullOrEmpty(tenantId, TENANT_ID);
+
+    AtomicInteger indexed = new AtomicInteger();
+    write(() -> {
+      writer.deleteDocuments(new Term(TENANT_ID, tenantId));
+      indexed.set(indexTenant(tenantId, new HashSet<>()));
+    });
+    return indexed.get();
+  }
+
+  /**
+   * Updates the documents of all models of the tenant, reading the models in chunks
+   *
+   * @param indexedModels collects the IDs of the indexed models
+   * @return the number of models indexed
+   */
+  private int indexTenant(String tenantId, Set<String> indexedModels) throws IOException {
+    ModelChunkReader reader =
+        new ModelChunkReader(this.repositoryFactory.getRepository(tenantId), REINDEX_CHUNK_SIZE);
+    int indexed = 0;
+    while (reader.hasNext()) {
+      for (ModelInfo model : reader.next()) {
+        updateDocument(model, tenantId);
+        indexedModels.add(model.getId().getPrettyFormat());
+        indexed++;
+      }
+    }
+    logger.info(String.format("Indexed %d models of tenant '%s'", indexed, tenantId));
+    return indexed;
+  }
+
+  /**
+   * The index has no mapping to migrate, so this is the same as {@link #reindexAllModels()}
+   */
+  @Override
+  public IndexingResult forceReindexAllModels() {
+    return reindexAllModels();
+  }
+
+  @Override
+  public void indexModel(ModelInfo modelInfo, String tenantId) {
+    PreConditions.notNull(modelInfo, "modelInfo must not be null.");
+    PreConditions.notNullOrEmpty(tenantId, TENANT_ID);
+
+    logger.info(String.format("Indexing model '%s'", modelInfo.getId()));
+    write(() -> updateDocument(modelInfo, tenantId));
+  }
+
+  @Override
+  public void updateIndex(ModelInfo modelInfo) {
+    PreConditions.notNull(modelInfo, "modelInfo must not be null.");
+
+    logger.info(String.format("Updating index of model '%s'", modelInfo.getId()));
+    write(() -> {
+      if (!updateIndexedDocument(modelInfo)) {
+        throw new IndexingException(String.format("Model '%s' is not indexed.",
+            modelInfo.getId().getPrettyFormat()), null);
+      }
+    });
+  }
+
+  @Override
+  public void deleteIndex(ModelId modelId) {
+    PreConditions.notNull(modelId, "modelId must not be null.");
+
+    write(() -> writer
+        .deleteDocuments(new Term(BasicIndexFieldExtractor.MODEL_ID, modelId.getPrettyFormat())));
+  }
+
+  @Override
+  public void deleteIndexForTenant(String tenantId) {
+    write(() -> writer.deleteDocuments(new Term(TENANT_ID, tenantId)));
+  }
+
+  /**
+   * Applies the given operations in a single commit. Updates of models which are not in the
+   * index are dropped.
+   */
+  @Override
+  public Collection<IndexingOperation> bulk(Collection<IndexingOperation> operations) {
+    try {
+      write(() -> {
+        for (IndexingOperation operation : operations) {
+          switch (operation.getType()) {
+            case INDEX:
+              updateDocument(operation.getModelInfo(), operation.getTenantId());
+              break;
+            case UPDATE:
+              if (!updateIndexedDocument(operation.getModelInfo())) {
+                logger.warn(String.format("Dropping %s: model is not indexed", operation));
+              }
+              break;
+            case DELETE:
+            default:
+              writer.deleteDocuments(new Term(BasicIndexFieldExtractor.MODEL_ID,
+                  operation.getModelId().getPrettyFormat()));
+              break;
+          }
+        }
+      });
+      return Collections.emptyList();
+    } catch (IndexingException e) {
+      logger.warn(String.format("Error writing %d operations to the index", operations.size()), e);
+      return new ArrayList<>(operations);
+    }
+  }
+
+  /**
+   * @see ElasticSearchService#search(String, IUserContext)
+   */
+  @Override
+  public List<ModelInfo> search(String searchExpression) {
+    return search(searchExpression,
+        UserContext.user(SecurityContextHolder.getContext().getAuthentication()));
+  }
+
+  /**
+   * Searches the models matching the given expression, ranked by relevance. See
+   * {@link ElasticSearchService#search(String, IUserContext)} for the syntax of the expression.
+   */
+  @Override
+  public List<ModelInfo> search(String searchExpression, IUserContext userContext) {
+    Query query = toLuceneQuery(
+        SearchParameters.build(findTenantsOfUser(userContext), searchExpression));
+
+    return read(searcher -> {
+      TopDocs hits = searcher.search(query, Math.max(1, searcher.getIndexReader().maxDoc()));
+      List<ModelInfo> result = new ArrayList<>(hits.scoreDocs.length);
+      for (ScoreDoc hit : hits.scoreDocs) {
+        result.add(fromDocument(searcher.doc(hit.doc)));
+      }
+      return result;
+    });
+  }
+
+  /**
+   * Returns a single page of the models matching the given expression. Pages requested by cursor
+   * continue right after the last hit of the previous page.
+   */
+  @Override
+  public SearchPage search(String searchExpression, SearchPageRequest pageRequest) {
+    IUserContext userContext =
+        UserContext.user(SecurityContextHolder.getContext().getAuthentication());
+    Query query = toLuceneQuery(
+        SearchParameters.build(findTenantsOfUser(userContext), searchExpression));
+    Sort sort = createSort(pageRequest.getSortOrder());
+
+    return read(searcher -> {
+      // one hit beyond the page tells whether there are further pages
+      TopFieldDocs hits;
+      int from;
+      if (pageRequest.getCursor() != null) {
+        FieldDoc after = new FieldDoc(Integer.MAX_VALUE, Float.NaN,
+            fromCursor(SearchCursor.decode(pageRequest.getCursor()), sort));
+        hits = searcher.searchAfter(after, query, pageRequest.getLimit() + 1, sort);
+        from = 0;
+      } else {
+        hits = searcher.search(query, pageRequest.getOffset() + pageRequest.getLimit() + 1, sort);
+        from = pageRequest.getOffset();
+      }
+
+      List<ModelInfo> models = new ArrayList<>();
+      FieldDoc last = null;
+      for (int i = from; i < hits.scoreDocs.length && models.size() < pageRequest.getLimit(); i++) {
+        last = (FieldDoc) hits.scoreDocs[i];
+        models.add(fromDocument(searcher.doc(last.doc)));
+      }
+      boolean hasMore = hits.scoreDocs.length > from + pageRequest.getLimit();
+
+      SearchPage page = new SearchPage();
+      page.setModels(models);
+      page.setOffset(pageRequest.getOffset());
+      page.setLimit(pageRequest.getLimit());
+      page.setHasMore(hasMore);
+      if (hasMore) {
+        page.setNextCursor(SearchCursor.encode(toCursor(last)));
+      }
+      page.setTotal(hits.totalHits);
+      return page;
+    });
+  }
+
+  /**
+   * Every ordering ends with the model id, so that the sort values of a hit identify its position
+   * unambiguously.
+   */
+  private static Sort createSort(SearchSortOrder sortOrder) {
+    SortField first;
+    switch (sortOrder) {
+      case NAME_ASC:
+        first = new SortField(BasicIndexFieldExtractor.MODEL_NAME_SORTABLE, SortField.Type.STRING);
+        break;
+      case NAME_DESC:
+        first = new SortField(BasicIndexFieldExtractor.MODEL_NAME_SORTABLE,
+            SortField.Type.STRING, true);
+        break;
+      case CREATED_ASC:
+        first = new SortField(BasicIndexFieldExtractor.MODEL_CREATIONDATE, SortField.Type.LONG);
+        break;
+      case CREATED_DESC:
+      default:
+        first =
+            new SortField(BasicIndexFieldExtractor.MODEL_CREATIONDATE, SortField.Type.LONG, true);
+        break;
+    }
+    return new Sort(first,
+        new SortField(BasicIndexFieldExtractor.MODEL_ID, SortField.Type.STRING));
+  }
+
+  private static Object[] toCursor(FieldDoc hit) {
+    Object[] values = new Object[hit.fields.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = hit.fields[i] instanceof BytesRef ? ((BytesRef) hit.fields[i]).utf8ToString()
+          : hit.fields[i];
+    }
+    return values;
+  }
+
+  private static Object[] fromCursor(List<Object> cursor, Sort sort) {
+    SortField[] sortFields = sort.getSort();
+    if (cursor.size() != sortFields.length) {
+      throw new IllegalArgumentException("Cursor does not match the sort order.");
+    }
+    Object[] values = new Object[sortFields.length];
+    for (int i = 0; i < values.length; i++) {
+      Object value = cursor.get(i);
+      if (sortFields[i].getType() == SortField.Type.LONG && value instanceof Number) {
+        values[i] = ((Number) value).longValue();
+      } else if (sortFields[i].getType() == SortField.Type.STRING && value instanceof String) {
+        values[i] = new BytesRef((String) value);
+      } else {
+        throw new IllegalArgumentException("Cursor does not match the sort order.");
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Builds the same query as {@link ElasticSearchService#toESQuery(SearchParameters)}
+   */
+  private Query toLuceneQuery(SearchParameters parameters) {
+    BooleanQuery.Builder result = new BooleanQuery.Builder();
+
+    // adding tenant ids
+    Set<String> tenantIds = parameters.getTenantIds();
+    if (tenantIds.isEmpty()) {
+      result.add(isPublic(), Occur.MUST);
+    } else {
+      result.add(new BooleanQuery.Builder().add(isPublic(), Occur.SHOULD)
+          .add(isOwnedByTenants(tenantIds), Occur.SHOULD).build(), Occur.MUST);
+    }
+
+    addChildQuery(result, parameters.getTaggedNames(),
+        ElasticSearchService.TAGGED_NAME_FIELDS_FOR_QUERY);
+    addChildQuery(result, parameters.getUntaggedNames(),
+        ElasticSearchService.UNTAGGED_NAME_FIELDS_FOR_QUERY);
+    addChildQuery(result, parameters.getStates(), BasicIndexFieldExtractor.STATE);
+    addChildQuery(result, parameters.getTypes(), BasicIndexFieldExtractor.MODEL_TYPE);
+    addChildQuery(result, parameters.getAuthors(), BasicIndexFieldExtractor.AUTHOR);
+    addChildQuery(result, parameters.getUserReferences(),
+        ElasticSearchService.USER_REFERENCE_FIELDS_FOR_QUERY);
+    addChildQuery(result, parameters.getVisibilities(), BasicIndexFieldExtractor.VISIBILITY);
+    addChildQuery(result, parameters.getNamespaces(), BasicIndexFieldExtractor.NAMESPACE);
+    addChildQuery(result, parameters.getVersions(), BasicIndexFieldExtractor.VERSION);
+
+    return result.build();
+  }
+
+  private static Query isPublic() {
+    return new TermQuery(new Term(BasicIndexFieldExtractor.VISIBILITY, PUBLIC));
+  }
+
+  private static Query isOwnedByTenants(Collection<String> tenants) {
+    return new TermInSetQuery(TENANT_ID,
+        tenants.stream().map(BytesRef::new).collect(Collectors.toList()));
+  }
+
+  private void addChildQuery(BooleanQuery.Builder parent, Collection<String> values, String key) {
+    addChildQuery(parent, values, Collections.singletonMap(key, 1.0f));
+  }
+
+  /**
+   * Adds a required clause matching any of the given values in any of the given fields
+   */
+  private void addChildQuery(BooleanQuery.Builder parent, Collection<String> values,
+      Map<String, Float> keys) {
+    if (values.isEmpty()) {
+      return;
+    }
+    if (values.size() == 1) {
+      parent.add(parseQueryString(values.iterator().next(), keys), Occur.MUST);
+    } else {
+      BooleanQuery.Builder child = new BooleanQuery.Builder();
+      for (String value : values) {
+        child.add(parseQueryString(value, keys), Occur.SHOULD);
+      }
+      parent.add(child.build(), Occur.MUST);
+    }
+  }
+
+  /**
+   * Parses a value with wildcards like a {@code query_string} query of Elasticsearch. Values
+   * which are no valid query syntax are searched literally.
+   */
+  private Query parseQueryString(String value, Map<String, Float> keys) {
+    QueryParser parser =
+        new MultiFieldQueryParser(keys.keySet().toArray(new String[keys.size()]), analyzer, keys);
+    parser.setAllowLeadingWildcard(true);
+    try {
+      return parser.parse(value);
+    } catch (ParseException e) {
+      try {
+        return parser.parse(QueryParser.escape(value));
+      } catch (ParseException e1) {
+        throw new IndexingException(String.format("Cannot search for '%s'", value), e1);
+      }
+    }
+  }
+
+  private Collection<String> findTenantsOfUser(IUserContext userContext) {
+    if (userContext.isAnonymous()) {
+      return Collections.emptyList();
+    } else {
+      return tenantService.getTenants().stream()
+          .filter(getUserFilter(userContext))
+          .map(t -> t.getTenantId())
+          .collect(Collectors.toList());
+    }
+  }
+
+  private Predicate<Tenant> getUserFilter(IUserContext userContext) {
+    if (userContext.isSysAdmin()) {
+      return tenant -> true;
+    } else {
+      return tenant -> tenant.hasUser(userContext.getUsername());
+    }
+  }
+
+  private void updateDocument(ModelInfo modelInfo, String tenantId) throws IOException {
+    writer.updateDocument(
+        new Term(BasicIndexFieldExtractor.MODEL_ID, modelInfo.getId().getPrettyFormat()),
+        toDocument(modelInfo, tenantId));
+  }
+
+  /**
+   * Replaces the document of the given model, keeping the tenant it is indexed for
+   *
+   * @return false if the model is not indexed
+   */
+  private boolean updateIndexedDocument(ModelInfo modelInfo) throws IOException {
+    Term id = new Term(BasicIndexFieldExtractor.MODEL_ID, modelInfo.getId().getPrettyFormat());
+    String tenantId = read(searcher -> {
+      TopDocs hits = searcher.search(new TermQuery(id), 1);
+      return hits.scoreDocs.length == 0 ? null : searcher.doc(hits.scoreDocs[0].doc).get(TENANT_ID);
+    });
+    if (tenantId == null) {
+      return false;
+    }
+    writer.updateDocument(id, toDocument(modelInfo, tenantId));
+    return true;
+  }
+
+  private Set<String> getIndexedModelIds() {
+    return read(searcher -> {
+      Set<String> modelIds = new HashSet<>();
+      TopDocs hits =
+          searcher.search(new MatchAllDocsQuery(), Math.max(1, searcher.getIndexReader().maxDoc()));
+      for (ScoreDoc hit : hits.scoreDocs) {
+        modelIds.add(searcher.doc(hit.doc).get(BasicIndexFieldExtractor.MODEL_ID));
+      }
+      return modelIds;
+    });
+  }
+
+  private Document toDocument(ModelInfo modelInfo, String tenantId) {
+    Map<String, FieldType> fieldTypes = new HashMap<>();
+    fieldExtractors.forEach(extractor -> fieldTypes.putAll(extractor.getFields()));
+
+    Document document = new Document();
+    document.add(new StringField(TENANT_ID, tenantId, Store.YES));
+    for (IIndexFieldExtractor extractor : fieldExtractors) {
+      extractor.extractFields(modelInfo).forEach((key, value) -> {
+        if (value == null) {
+          return;
+        }
+        if (fieldTypes.get(key) == FieldType.KEY) {
+          document.add(new StringField(key, value, Store.YES));
+        } else {
+          document.add(new TextField(key, value, Store.YES));
+        }
+      });
+    }
+
+    // values to sort by
+    document.add(new SortedDocValuesField(BasicIndexFieldExtractor.MODEL_ID,
+        new BytesRef(modelInfo.getId().getPrettyFormat())));
+    document.add(new SortedDocValuesField(BasicIndexFieldExtractor.MODEL_NAME_SORTABLE,
+        new BytesRef(modelInfo.getId().getName())));
+    document.add(new NumericDocValuesField(BasicIndexFieldExtractor.MODEL_CREATIONDATE,
+        modelInfo.getCreationDate().getTime()));
+    return document;
+  }
+
+  private ModelInfo fromDocument(Document document) {
+    ModelInfo modelInfo = new ModelInfo();
+    modelInfo.setId(ModelId.fromPrettyFormat(document.get(BasicIndexFieldExtractor.MODEL_ID)));
+    modelInfo.setType(ModelType.valueOf(document.get(BasicIndexFieldExtractor.MODEL_TYPE)));
+    modelInfo.setState(document.get(BasicIndexFieldExtractor.STATE));
+    modelInfo.setVisibility(document.get(BasicIndexFieldExtractor.VISIBILITY));
+    modelInfo.setAuthor(document.get(BasicIndexFieldExtractor.AUTHOR));
+    modelInfo.setDescription(document.get(BasicIndexFieldExtractor.DESCRIPTION));
+    modelInfo.setDisplayName(document.get(BasicIndexFieldExtractor.DISPLAY_NAME));
+    modelInfo.setHasImage(
+        Boolean.parseBoolean(document.get(BasicIndexFieldExtractor.MODEL_HASIMAGE)));
+    modelInfo.setCreationDate(
+        new Date(Long.parseLong(document.get(BasicIndexFieldExtractor.MODEL_CREATIONDATE))));
+    return modelInfo;
+  }
+
+  /**
+   * Applies the given changes and commits them, making them visible to searches. If the changes
+   * can't be applied completely, e.g. because the repository can't be read during a reindexing,
+   * the changes applied so far are rolled back, so that no later commit picks them up.
+   */
+  private void write(IndexWrite write) {
+    writeLock.lock();
+    try {
+      write.apply();
+      writer.commit();
+      searcherManager.maybeRefreshBlocking();
+    } catch (IOException e) {
+      rollback();
+      throw new IndexingException("Error while writing to the search index.", e);
+    } catch (RuntimeException e) {
+      rollback();
+      throw e;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Discards all uncommitted changes. Rolling back closes the index writer, so a new writer and
+   * searcher manager are opened on the last commit. Searches keep using the searchers they
+   * already acquired.
+   */
+  private void rollback() {
+    if (!writer.hasUncommittedChanges()) {
+      return;
+    }
+
+    logger.warn("Rolling back uncommitted changes of the search index");
+    try {
+      writer.rollback();
+    } catch (IOException e) {
+      logger.error("Error while rolling back changes of the search index", e);
+    }
+
+    try {
+      SearcherManager previousSearcherManager = searcherManager;
+      writer = openWriter();
+      searcherManager = new SearcherManager(writer, null);
+      previousSearcherManager.close();
+    } catch (IOException e) {
+      throw new IndexingException("Cannot reopen search index.", e);
+    }
+  }
+
+  private <T> T read(IndexRead<T> read) {
+    try {
+      SearcherManager manager = searcherManager;
+      IndexSearcher searcher;
+      try {
+        searcher = manager.acquire();
+      } catch (AlreadyClosedException e) {
+        // replaced by a rollback in the meantime
+        manager = searcherManager;
+        searcher = manager.acquire();
+      }
+      try {
+        return read.apply(searcher);
+      } finally {
+        manager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new IndexingException("Error while reading the search index.", e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface IndexWrite {
+    void apply() throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface IndexRead<T> {
+    T apply(IndexSearcher searcher) throws IOException;
+  }
+
+  public Collection<IIndexFieldExtractor> getFieldExtractors() {
+    return fieldExtractors;
+  }
+
+  public void setFieldExtractors(Collection<IIndexFieldExtractor> fieldExtractors) {
+    this.fieldExtractors = fieldExtractors;
+  }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * State of a reindexing of all models, kept across attempts so that a failed reindexing can be
+ * resumed. For every tenant, it records how many models have been indexed so far, the last model
+ * indexed and whether the tenant is done.
+ */
+class ReindexCheckpoint {
+
+  private final long startedOn = System.currentTimeMillis();
+
+  private final Map<String, Integer> indexedModels = new ConcurrentHashMap<>();
+
+  private final Map<String, ModelInfo> lastIndexedModels = new ConcurrentHashMap<>();
+
+  private final Set<String> indexedTenants = ConcurrentHashMap.newKeySet();
+
+  private final Set<String> failedTenants = ConcurrentHashMap.newKeySet();
+
+  private volatile int numberOfTenants;
+
+  private volatile boolean running;
+
+  private volatile boolean complete;
+
+  /**
+   * @return the time the first attempt was started. Documents indexed before were not written
+   *         by this reindexing.
+   */
+  long getStartedOn() {
+    return startedOn;
+  }
+
+  void start(int numberOfTenants) {
+    this.numberOfTenants = numberOfTenants;
+    this.failedTenants.clear();
+    this.running = true;
+  }
+
+  void stop(boolean complete) {
+    this.running = false;
+    this.complete = complete;
+  }
+
+  boolean isComplete() {
+    return complete;
+  }
+
+  boolean isIndexed(String tenantId) {
+    return indexedTenants.contains(tenantId);
+  }
+
+  int getIndexedModels(String tenantId) {
+    return indexedModels.getOrDefault(tenantId, 0);
+  }
+
+  /**
+   * @return the last model indexed of the given tenant, after which indexing is resumed, or null
+   *         if no model has been indexed yet
+   */
+  ModelInfo getLastIndexedModel(String tenantId) {
+    return lastIndexedModels.get(tenantId);
+  }
+
+  void setIndexedModels(String tenantId, int numberOfModels, ModelInfo lastIndexedModel) {
+    indexedModels.put(tenantId, numberOfModels);
+    lastIndexedModels.put(tenantId, lastIndexedModel);
+  }
+
+  void setIndexed(String tenantId) {
+    indexedTenants.add(tenantId);
+  }
+
+  void setFailed(String tenantId) {
+    failedTenants.add(tenantId);
+  }
+
+  ReindexingProgress toProgress() {
+    ReindexingProgress progress = new ReindexingProgress();
+    progress.setRunning(running);
+    progress.setStartedOn(new Date(startedOn));
+    progress.setNumberOfTenants(numberOfTenants);
+    progress.setNumberOfIndexedTenants(indexedTenants.size());
+    progress.setNumberOfIndexedModels(
+        indexedModels.values().stream().mapToInt(Integer::intValue).sum());
+    progress.setFailedTenants(new ArrayList<>(failedTenants));
+    return progress;
+  }
+}
@@ -39,6 +39,8 @@ public class BasicIndexFieldExtractor implements IIndexFieldExtractor {
   public static final String MODEL_ID = "modelId";
   
   public static final String MODEL_NAME_SEARCHABLE = "searchableName";
+
+  public static final String MODEL_NAME_SORTABLE = "sortableName";
   
   public static final String MODEL_HASIMAGE = "hasImage";
   
@@ -54,6 +56,7 @@ public class BasicIndexFieldExtractor implements IIndexFieldExtractor {
     
     basicFields.put(BasicIndexFieldExtractor.MODEL_ID, modelInfo.getId().getPrettyFormat());
     basicFields.put(BasicIndexFieldExtractor.MODEL_NAME_SEARCHABLE, tokenizeModelIDForSearch(modelInfo.getId().getPrettyFormat()));
+    basicFields.put(BasicIndexFieldExtractor.MODEL_NAME_SORTABLE, modelInfo.getId().getName());
     basicFields.put(BasicIndexFieldExtractor.MODEL_TYPE, modelInfo.getType().toString());
     basicFields.put(BasicIndexFieldExtractor.AUTHOR, modelInfo.getAuthor());
     basicFields.put(BasicIndexFieldExtractor.MODIFIED_BY, modelInfo.getLastModifiedBy());
@@ -75,6 +78,7 @@ public class BasicIndexFieldExtractor implements IIndexFieldExtractor {
     
     basicFields.put(BasicIndexFieldExtractor.MODEL_ID, FieldType.KEY);
     basicFields.put(BasicIndexFieldExtractor.MODEL_NAME_SEARCHABLE, FieldType.TEXT);
+    basicFields.put(BasicIndexFieldExtractor.MODEL_NAME_SORTABLE, FieldType.KEY);
     basicFields.put(BasicIndexFieldExtractor.MODEL_TYPE, FieldType.TEXT);
     basicFields.put(BasicIndexFieldExtractor.AUTHOR, FieldType.TEXT);
     basicFields.put(BasicIndexFieldExtractor.MODIFIED_BY, FieldType.TEXT);
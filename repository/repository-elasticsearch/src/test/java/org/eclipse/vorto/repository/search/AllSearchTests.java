@@ -17,11 +17,13 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({GeneralSearchTest.class, MixedSearchTest.class,
+@SuiteClasses({GeneralSearchTest.class, MixedSearchTest.class, PagedSearchTest.class,
     NameSearchSimpleTest.class,
     AuthorSearchSimpleTest.class,
     UserReferenceSearchSimpleTest.class, TypeSearchSimpleTest.class, StateSearchSimpleTest.class,
-    NamespaceSearchSimpleTest.class, VersionSearchSimpleTest.class})
+    NamespaceSearchSimpleTest.class, VersionSearchSimpleTest.class, ReindexTest.class,
+    ResumedReindexTest.class,
+    LuceneSearchServiceTest.class})
 public class AllSearchTests {
 
 }
@@ -0,0 +1,266 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.lucene.store.FSDirectory;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.FatalModelRepositoryException;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.IUserContext;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.UserContext;
+import org.eclipse.vorto.repository.domain.Tenant;
+import org.eclipse.vorto.repository.domain.TenantUser;
+import org.eclipse.vorto.repository.domain.User;
+import org.eclipse.vorto.repository.tenant.ITenantService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Matchers;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Tests the embedded Lucene search service against an index in a temporary directory
+ */
+public class LuceneSearchServiceTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private IModelRepositoryFactory repositoryFactory = mock(IModelRepositoryFactory.class);
+
+  private ITenantService tenantService = mock(ITenantService.class);
+
+  private LuceneSearchService searchService;
+
+  private IUserContext alex = UserContext.user("alex", "playground");
+
+  @Before
+  public void setUp() throws IOException {
+    Tenant playground = Tenant.newTenant("playground", "org.eclipse.vorto.examples",
+        Collections.singleton("org.eclipse.vorto.examples"));
+    TenantUser tenantUser = new TenantUser();
+    tenantUser.setRoles(new HashSet<>());
+    User.create("alex", "GITHUB", null).addTenantUser(tenantUser);
+    playground.addUser(tenantUser);
+    when(tenantService.getTenants()).thenReturn(Collections.singletonList(playground));
+
+    searchService = createSearchService();
+    searchService.indexModel(model("ColorLight", ModelType.InformationModel, "Private", 1),
+        "playground");
+    searchService.indexModel(model("Switcher", ModelType.Functionblock, "Private", 2),
+        "playground");
+    searchService.indexModel(model("Color", ModelType.Datatype, "Public", 3), "other");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    searchService.close();
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void testSearchOnlyVisibleModels() {
+    assertEquals(3, searchService.search("", alex).size());
+    assertEquals(Arrays.asList("Color"),
+        names(searchService.search("", UserContext.user("anonymous", null))));
+  }
+
+  @Test
+  public void testSearchByName() {
+    assertEquals(Arrays.asList("Color", "ColorLight"),
+        sorted(searchService.search("color", alex)));
+    assertEquals(Arrays.asList("ColorLight"), names(searchService.search("name:Color*ght", alex)));
+  }
+
+  @Test
+  public void testSearchByTags() {
+    assertEquals(Arrays.asList("Switcher"),
+        names(searchService.search("type:Functionblock", alex)));
+    assertEquals(Arrays.asList("Color", "Switcher"),
+        sorted(searchService.search("type:Functionblock type:Datatype", alex)));
+    assertEquals(Arrays.asList("ColorLight"),
+        names(searchService.search("Color visibility:Private", alex)));
+    assertEquals(3,
+        searchService.search("namespace:org.eclipse.vorto.examples version:1.0.0", alex).size());
+    assertTrue(searchService.search("author:nobody", alex).isEmpty());
+  }
+
+  @Test
+  public void testUpdateKeepsTenant() {
+    ModelInfo switcher = model("Switcher", ModelType.Functionblock, "Private", 2);
+    switcher.setState("Deprecated");
+    searchService.updateIndex(switcher);
+
+    assertEquals(Arrays.asList("Switcher"), names(searchService.search("state:Deprecated", alex)));
+    assertTrue(searchService.search("state:Deprecated", UserContext.user("anonymous", null))
+        .isEmpty());
+  }
+
+  @Test
+  public void testDelete() {
+    searchService.deleteIndex(ModelId.fromPrettyFormat("org.eclipse.vorto.examples:Color:1.0.0"));
+    assertEquals(2, searchService.search("", alex).size());
+
+    searchService.deleteIndexForTenant("playground");
+    assertTrue(searchService.search("", alex).isEmpty());
+  }
+
+  @Test
+  public void testBulk() {
+    ModelInfo lamp = model("Lamp", ModelType.Functionblock, "Public", 4);
+    ModelInfo unknown = model("Unknown", ModelType.Functionblock, "Public", 5);
+    ModelId color = ModelId.fromPrettyFormat("org.eclipse.vorto.examples:Color:1.0.0");
+    Collection<IndexingOperation> failed = searchService.bulk(
+        Arrays.asList(IndexingOperation.index(lamp, "playground"),
+            IndexingOperation.update(unknown), IndexingOperation.delete(color)));
+
+    assertTrue(failed.isEmpty());
+    assertEquals(Arrays.asList("ColorLight", "Lamp", "Switcher"),
+        sorted(searchService.search("", alex)));
+  }
+
+  @Test
+  public void testPageByCursor() {
+    SecurityContextHolder.getContext()
+        .setAuthentication(new TestingAuthenticationToken("alex", "alex"));
+
+    SearchPage first =
+        searchService.search("", new SearchPageRequest(0, 2, SearchSortOrder.NAME_ASC));
+    assertEquals(Arrays.asList("Color", "ColorLight"), names(first.getModels()));
+    assertTrue(first.isHasMore());
+    assertNotNull(first.getNextCursor());
+    assertEquals(Long.valueOf(3), first.getTotal());
+
+    SearchPage second = searchService.search("",
+        SearchPageRequest.afterCursor(first.getNextCursor(), 2, SearchSortOrder.NAME_ASC));
+    assertEquals(Arrays.asList("Switcher"), names(second.getModels()));
+    assertFalse(second.isHasMore());
+  }
+
+  @Test
+  public void testPageByOffset() {
+    SecurityContextHolder.getContext()
+        .setAuthentication(new TestingAuthenticationToken("alex", "alex"));
+
+    SearchPage page =
+        searchService.search("", new SearchPageRequest(1, 10, SearchSortOrder.CREATED_DESC));
+    assertEquals(Arrays.asList("Switcher", "ColorLight"), names(page.getModels()));
+    assertFalse(page.isHasMore());
+  }
+
+  @Test
+  public void testReindexReplacesIndexedModels() {
+    IModelRepository repository = mock(IModelRepository.class);
+    when(repositoryFactory.getRepository("playground")).thenReturn(repository);
+    when(repository.search(Matchers.eq(""), Matchers.any(SearchPageRequest.class)))
+        .thenReturn(new SearchPage(
+            Arrays.asList(model("Switcher", ModelType.Functionblock, "Private", 2),
+                model("Lamp", ModelType.Functionblock, "Private", 4)), 0, 500, false));
+
+    IndexingResult result = searchService.reindexAllModels();
+
+    assertEquals(2, result.getTotalNumberOfIndexedModels());
+    assertEquals(Arrays.asList("Lamp", "Switcher"), sorted(searchService.search("", alex)));
+  }
+
+  @Test
+  public void testReindexTenantKeepsOtherTenants() {
+    IModelRepository repository = mock(IModelRepository.class);
+    when(repositoryFactory.getRepository("playground")).thenReturn(repository);
+    when(repository.search(Matchers.eq(""), Matchers.any(SearchPageRequest.class)))
+        .thenReturn(new SearchPage(
+            Arrays.asList(model("Lamp", ModelType.Functionblock, "Private", 4)), 0, 500, false));
+
+    assertEquals(1, searchService.reindexTenant("playground"));
+    assertEquals(Arrays.asList("Color", "Lamp"), sorted(searchService.search("", alex)));
+  }
+
+  @Test
+  public void testFailedReindexTenantIsRolledBack() throws IOException {
+    IModelRepository repository = mock(IModelRepository.class);
+    when(repositoryFactory.getRepository("playground")).thenReturn(repository);
+    when(repository.search(Matchers.eq(""), Matchers.any(SearchPageRequest.class)))
+        .thenReturn(new SearchPage(
+            Arrays.asList(model("Switcher", ModelType.Functionblock, "Private", 2)), 0, 500,
+            true))
+        .thenThrow(new FatalModelRepositoryException("Repository not available", null));
+
+    try {
+      searchService.reindexTenant("playground");
+      fail("Reindexing should fail");
+    } catch (FatalModelRepositoryException e) {
+      // expected
+    }
+    searchService.indexModel(model("Lamp", ModelType.Functionblock, "Private", 4), "playground");
+
+    assertEquals(Arrays.asList("Color", "ColorLight", "Lamp", "Switcher"),
+        sorted(searchService.search("", alex)));
+
+    searchService.close();
+    searchService = createSearchService();
+    assertEquals(4, searchService.search("", alex).size());
+  }
+
+  @Test
+  public void testIndexIsKeptOnDisk() throws IOException {
+    searchService.close();
+    searchService = createSearchService();
+
+    assertEquals(3, searchService.search("", alex).size());
+  }
+
+  private LuceneSearchService createSearchService() throws IOException {
+    return new LuceneSearchService(FSDirectory.open(folder.getRoot().toPath()), repositoryFactory,
+        tenantService);
+  }
+
+  private static ModelInfo model(String name, ModelType type, String visibility, long created) {
+    ModelInfo modelInfo =
+        new ModelInfo(new ModelId(name, "org.eclipse.vorto.examples", "1.0.0"), type);
+    modelInfo.setAuthor("alex");
+    modelInfo.setState("Draft");
+    modelInfo.setVisibility(visibility);
+    modelInfo.setCreationDate(new Date(created));
+    return modelInfo;
+  }
+
+  private static List<String> names(List<ModelInfo> models) {
+    return models.stream().map(model -> model.getId().getName()).collect(Collectors.toList());
+  }
+
+  private static List<String> sorted(List<ModelInfo> models) {
+    return names(models).stream().sorted().collect(Collectors.toList());
+  }
+}
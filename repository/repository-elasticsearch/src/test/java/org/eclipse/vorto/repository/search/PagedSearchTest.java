@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Tests paging through search results with offsets and with {@code search_after} cursors.
+ */
+public class PagedSearchTest {
+
+  static SearchTestInfrastructure testInfrastructure;
+
+  @BeforeClass
+  public static void beforeClass() throws Exception {
+    testInfrastructure = new SearchTestInfrastructure();
+    testInfrastructure.importModel(testInfrastructure.FUNCTIONBLOCK_MODEL);
+    testInfrastructure.importModel(testInfrastructure.INFORMATION_MODEL);
+    testInfrastructure.importModel(testInfrastructure.DATATYPE_MODEL);
+    testInfrastructure.importModel(testInfrastructure.MAPPING_MODEL);
+  }
+
+  @AfterClass
+  public static void afterClass() throws Exception {
+    testInfrastructure.terminate();
+  }
+
+  @Before
+  public void authenticate() {
+    SecurityContextHolder.getContext()
+        .setAuthentication(testInfrastructure.getDefaultUser().getAuthentication());
+  }
+
+  @After
+  public void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void testPageByCursor() {
+    SearchPage first = testInfrastructure.getSearchService().search("",
+        new SearchPageRequest(0, 3, SearchSortOrder.NAME_ASC));
+    assertEquals(3, first.getModels().size());
+    assertTrue(first.isHasMore());
+    assertNotNull(first.getNextCursor());
+    assertEquals(Long.valueOf(4), first.getTotal());
+
+    SearchPage second = testInfrastructure.getSearchService().search("",
+        SearchPageRequest.afterCursor(first.getNextCursor(), 3, SearchSortOrder.NAME_ASC));
+    assertEquals(1, second.getModels().size());
+    assertFalse(second.isHasMore());
+    assertNull(second.getNextCursor());
+
+    List<String> paged = new ArrayList<>();
+    first.getModels().forEach(model -> paged.add(model.getId().getName()));
+    second.getModels().forEach(model -> paged.add(model.getId().getName()));
+    assertEquals(paged.stream().sorted().collect(Collectors.toList()), paged);
+  }
+
+  @Test
+  public void testPageByOffset() {
+    SearchPage page = testInfrastructure.getSearchService().search("",
+        new SearchPageRequest(2, 10, SearchSortOrder.CREATED_DESC));
+    assertEquals(2, page.getModels().size());
+    assertFalse(page.isHasMore());
+    assertEquals(Long.valueOf(4), page.getTotal());
+  }
+
+  @Test
+  public void testSearchIsNotTruncated() {
+    List<ModelInfo> all = testInfrastructure.getSearchService().search("",
+        testInfrastructure.getDefaultUser());
+    assertEquals(4, all.size());
+  }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Tests reindexing all models in chunks, with several tenants indexed concurrently.
+ */
+public class ReindexTest {
+
+  static SearchTestInfrastructure testInfrastructure;
+
+  @BeforeClass
+  public static void beforeClass() throws Exception {
+    testInfrastructure = new SearchTestInfrastructure();
+    testInfrastructure.importModel(testInfrastructure.FUNCTIONBLOCK_MODEL);
+    testInfrastructure.importModel(testInfrastructure.INFORMATION_MODEL);
+    testInfrastructure.importModel(testInfrastructure.DATATYPE_MODEL);
+    testInfrastructure.importModel(testInfrastructure.MAPPING_MODEL);
+
+    ElasticSearchService searchService =
+        (ElasticSearchService) testInfrastructure.getSearchService();
+    searchService.setReindexChunkSize(1);
+    searchService.setReindexParallelism(2);
+  }
+
+  @AfterClass
+  public static void afterClass() throws Exception {
+    testInfrastructure.terminate();
+  }
+
+  @Before
+  public void authenticate() {
+    SecurityContextHolder.getContext()
+        .setAuthentication(testInfrastructure.getDefaultUser().getAuthentication());
+  }
+
+  @After
+  public void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void testReindexInChunks() {
+    IndexingResult result = testInfrastructure.indexingService.reindexAllModels();
+    assertEquals(4, result.getTotalNumberOfIndexedModels());
+
+    ReindexingProgress progress = testInfrastructure.indexingService.getReindexingProgress();
+    assertFalse(progress.isRunning());
+    assertEquals(1, progress.getNumberOfTenants());
+    assertEquals(1, progress.getNumberOfIndexedTenants());
+    assertEquals(4, progress.getNumberOfIndexedModels());
+    assertTrue(progress.getFailedTenants().isEmpty());
+
+    assertEquals(4, testInfrastructure.getSearchService()
+        .search("", testInfrastructure.getDefaultUser()).size());
+  }
+
+  @Test
+  public void testReindexDeletesModelsNoLongerInRepository() throws Exception {
+    ModelInfo removed = new ModelInfo(
+        new ModelId("Removed", "org.eclipse.vorto.examples", "1.0.0"), ModelType.Functionblock);
+    removed.setAuthor("alex");
+    testInfrastructure.indexingService.indexModel(removed, "playground");
+    // documents written in the same millisecond as the reindexing starts are kept
+    Thread.sleep(10);
+
+    testInfrastructure.indexingService.reindexAllModels();
+
+    List<String> names = testInfrastructure.getSearchService()
+        .search("", testInfrastructure.getDefaultUser()).stream()
+        .map(model -> model.getId().getName()).collect(Collectors.toList());
+    assertEquals(4, names.size());
+    assertFalse(names.contains("Removed"));
+  }
+
+  @Test
+  public void testReindexTenantDeletesModelsNoLongerInRepository() throws Exception {
+    ModelInfo removed = new ModelInfo(
+        new ModelId("Removed", "org.eclipse.vorto.examples", "1.0.0"), ModelType.Functionblock);
+    removed.setAuthor("alex");
+    testInfrastructure.indexingService.indexModel(removed, "playground");
+    // documents written in the same millisecond as the reindexing starts are kept
+    Thread.sleep(10);
+
+    assertEquals(4, testInfrastructure.indexingService.reindexTenant("playground"));
+
+    List<String> names = testInfrastructure.getSearchService()
+        .search("", testInfrastructure.getDefaultUser()).stream()
+        .map(model -> model.getId().getName()).collect(Collectors.toList());
+    assertEquals(4, names.size());
+    assertFalse(names.contains("Removed"));
+  }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Tests resuming an interrupted reindexing after models have been deleted from the repository.
+ */
+public class ResumedReindexTest {
+
+  private SearchTestInfrastructure testInfrastructure;
+
+  @Before
+  public void before() throws Exception {
+    testInfrastructure = new SearchTestInfrastructure();
+    testInfrastructure.importModel(testInfrastructure.FUNCTIONBLOCK_MODEL);
+    testInfrastructure.importModel(testInfrastructure.DATATYPE_MODEL);
+    testInfrastructure.importModel(testInfrastructure.MAPPING_MODEL);
+    ((ElasticSearchService) testInfrastructure.getSearchService()).setReindexChunkSize(1);
+
+    SecurityContextHolder.getContext()
+        .setAuthentication(testInfrastructure.getDefaultUser().getAuthentication());
+  }
+
+  @After
+  public void after() throws Exception {
+    SecurityContextHolder.clearContext();
+    testInfrastructure.terminate();
+  }
+
+  @Test
+  public void testResumeAfterModelOfFirstChunkDeleted() throws Exception {
+    IModelRepository repo =
+        testInfrastructure.getRepositoryFactory().getRepository(testInfrastructure.getDefaultUser());
+    ModelInfo first = repo.search("", new SearchPageRequest(0, 1, SearchSortOrder.CREATED_ASC))
+        .getModels().get(0);
+    assertEquals(testInfrastructure.FUNCTIONBLOCK_MODEL, first.getFileName());
+
+    // the reindexing was interrupted after its first chunk - the documents of the other models
+    // were written before it started, so they are deleted unless reindexed
+    Thread.sleep(10);
+    ReindexCheckpoint checkpoint = new ReindexCheckpoint();
+    checkpoint.setIndexedModels("playground", 1, first);
+    ElasticSearchService searchService =
+        (ElasticSearchService) testInfrastructure.getSearchService();
+    searchService.setReindexCheckpoint(checkpoint);
+
+    // deleting the indexed model would shift an offset-based reindexing past the next model
+    repo.removeModel(first.getId());
+
+    searchService.reindexAllModels();
+    assertTrue(searchService.getReindexingProgress().getFailedTenants().isEmpty());
+
+    List<String> fileNames = testInfrastructure.getSearchService()
+        .search("", testInfrastructure.getDefaultUser()).stream()
+        .map(ModelInfo::getFileName).collect(Collectors.toList());
+    assertEquals(2, fileNames.size());
+    assertTrue(fileNames.contains(testInfrastructure.DATATYPE_MODEL));
+    assertTrue(fileNames.contains(testInfrastructure.MAPPING_MODEL));
+  }
+}
@@ -12,7 +12,9 @@
  */
 package org.eclipse.vorto.repository.oauth;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
@@ -27,7 +29,10 @@ import org.eclipse.vorto.repository.domain.Role;
 import org.eclipse.vorto.repository.domain.Tenant;
 import org.eclipse.vorto.repository.domain.User;
 import org.eclipse.vorto.repository.oauth.internal.JwtToken;
+import org.eclipse.vorto.repository.oauth.internal.Key;
+import org.eclipse.vorto.repository.oauth.internal.PublicKeyHelper;
 import org.eclipse.vorto.repository.oauth.internal.VerificationHelper;
+import org.eclipse.vorto.repository.oauth.internal.VerifiedTokenCache;
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -70,5 +75,31 @@ public class HydraTokenVerifierTest extends AbstractVerifierTest {
   public void verifyInvalidResourceAccess() {
     assertFalse(getVerifier().verify(requestModel("vorto.private.someoneelse:Datatype1:1.0.0"), JwtToken.instance(jwtToken).get()));
   }
+
+  @Test
+  public void verifySignatureOnceWithTokenCache() {
+    VerifiedTokenCache tokenCache = new VerifiedTokenCache(100, 60);
+    BoschIoTSuiteOAuthProviderV2 verifier = getVerifier();
+    verifier.setVerifiedTokenCache(tokenCache);
+    JwtToken token = tokenCache.getToken(jwtToken).get();
+
+    assertTrue(verifier.verify(requestModel("vorto.private.erle:Datatype1:1.0.0"), token));
+    assertTrue(tokenCache.isVerified(token, publicKey().get().get("public:1b26d10b-b16c-4804-bc80-c1e39ba56e20")));
+    assertSame(token, tokenCache.getToken(jwtToken).get());
+
+    assertFalse(verifier.verify(requestModel("vorto.private.someoneelse:Datatype1:1.0.0"), tokenCache.getToken(jwtToken).get()));
+    Key rotatedKey = PublicKeyHelperTest.getCiamKeys().keys[0];
+    assertFalse(tokenCache.isVerified(token, PublicKeyHelper.toPublicKey(rotatedKey.n, rotatedKey.e)));
+  }
+
+  @Test
+  public void expiredTokenIsNotCached() {
+    VerifiedTokenCache tokenCache = new VerifiedTokenCache(100, 60);
+    BoschIoTSuiteOAuthProviderV2 verifier = getVerifier();
+    verifier.setVerifiedTokenCache(tokenCache);
+
+    assertFalse(verifier.verify(requestModel("vorto.private.erle:Datatype1:1.0.0"), tokenCache.getToken(expiredToken).get()));
+    assertEquals(0, tokenCache.size());
+  }
   
 }
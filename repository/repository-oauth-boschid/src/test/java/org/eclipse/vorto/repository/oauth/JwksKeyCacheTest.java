@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.oauth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.repository.oauth.internal.JwksKeyCache;
+import org.eclipse.vorto.repository.oauth.internal.Keys;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.client.RestTemplate;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class JwksKeyCacheTest {
+
+  private static final String CIAM_KID = "7ZnVKaYt4jhwXQn4Ri_tXltE8lk";
+
+  private static final String KEYCLOAK_KID = "IdoGf9WlqIJQ9Fb0agZKPp3EDd8fJuWX_8EqBlLiMbw";
+
+  private HttpServer server;
+
+  private String publicKeyUri;
+
+  private final AtomicInteger requests = new AtomicInteger();
+
+  private volatile Keys keys = PublicKeyHelperTest.getCiamKeys();
+
+  private volatile int status = 200;
+
+  private volatile String cacheControl = "max-age=3600";
+
+  private JwksKeyCache cache;
+
+  @Before
+  public void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/jwks", this::serveKeys);
+    server.start();
+    publicKeyUri = "http://localhost:" + server.getAddress().getPort() + "/jwks";
+  }
+
+  @After
+  public void stopServer() {
+    if (cache != null) {
+      cache.stop();
+    }
+    server.stop(0);
+  }
+
+  @Test
+  public void testKnownKeysAreServedFromMemory() {
+    cache = new JwksKeyCache(new RestTemplate(), publicKeyUri, 0);
+
+    assertEquals(2, cache.get().size());
+    assertTrue(cache.getKey(CIAM_KID).isPresent());
+    assertEquals(2, cache.get().size());
+    assertEquals(1, requests.get());
+  }
+
+  @Test
+  public void testUnknownKeyIsFetchedOnDemand() {
+    cache = new JwksKeyCache(new RestTemplate(), publicKeyUri, 0);
+    assertFalse(cache.getKey(KEYCLOAK_KID).isPresent());
+
+    keys = PublicKeyHelperTest.getKeyCloakKeys();
+
+    assertTrue(cache.getKey(KEYCLOAK_KID).isPresent());
+    assertEquals(2, requests.get());
+  }
+
+  @Test
+  public void testUnknownKeysAreFetchedAtMostOncePerInterval() {
+    cache = new JwksKeyCache(new RestTemplate(), publicKeyUri, 60000);
+    assertTrue(cache.getKey(CIAM_KID).isPresent());
+
+    keys = PublicKeyHelperTest.getKeyCloakKeys();
+
+    assertFalse(cache.getKey(KEYCLOAK_KID).isPresent());
+    assertFalse(cache.getKey("unknown").isPresent());
+    assertEquals(1, requests.get());
+  }
+
+  @Test
+  public void testLastKeysAreKeptIfEndpointFails() {
+    cache = new JwksKeyCache(new RestTemplate(), publicKeyUri, 0);
+    assertEquals(2, cache.get().size());
+
+    status = 503;
+
+    assertFalse(cache.getKey("unknown").isPresent());
+    assertTrue(cache.getKey(CIAM_KID).isPresent());
+    assertEquals(2, cache.get().size());
+    assertEquals(2, requests.get());
+  }
+
+  @Test
+  public void testKeysAreRefreshedInBackgroundBeforeExpiry() throws InterruptedException {
+    cacheControl = "public, max-age=0";
+    cache = new JwksKeyCache(new RestTemplate(), publicKeyUri, 100).start();
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (requests.get() < 3 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    assertTrue(requests.get() >= 3);
+  }
+
+  private void serveKeys(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    byte[] body = status == 200 ? toJson(keys).getBytes(StandardCharsets.UTF_8) : new byte[0];
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+    exchange.sendResponseHeaders(status, body.length > 0 ? body.length : -1);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private static String toJson(Keys keys) {
+    return Arrays.stream(keys.keys)
+        .map(key -> String.format("{\"kty\":\"RSA\",\"kid\":\"%s\",\"n\":\"%s\",\"e\":\"%s\"}",
+            key.kid, key.n, key.e))
+        .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+  }
+}
@@ -74,6 +74,12 @@ public class ElasticSearchConfiguration {
   @Value("${aws.aesEndpoint:https://search-vorto-test-i566tsfta74oi6s6hbzfwproui.eu-central-1.es.amazonaws.com}")
   private String aesEndpoint;
   
+  @Value("${repo.search.reindex.parallelism:4}")
+  private int reindexParallelism;
+
+  @Value("${repo.search.reindex.chunkSize:500}")
+  private int reindexChunkSize;
+
   private AWSCredentialsProvider credentialsProvider = new DefaultAWSCredentialsProviderChain();
 
   private static Logger logger = Logger.getLogger(ElasticSearchConfiguration.class);
@@ -90,7 +96,11 @@ public class ElasticSearchConfiguration {
   @Bean
   @Profile(value = { "prod", "int", "local-docker", "local-dev" })
   public ElasticSearchService elasticSearch() {
-    return new ElasticSearchService(client,repositoryFactory,tenantService);
+    ElasticSearchService elasticSearchService =
+        new ElasticSearchService(client, repositoryFactory, tenantService);
+    elasticSearchService.setReindexParallelism(reindexParallelism);
+    elasticSearchService.setReindexChunkSize(reindexChunkSize);
+    return elasticSearchService;
   }
   
   @Bean
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.server.config.config;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import org.apache.lucene.store.FSDirectory;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.search.LuceneSearchService;
+import org.eclipse.vorto.repository.tenant.ITenantService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Search Service Configuration for single node installations, keeping the search index on the
+ * local disk
+ *
+ */
+@Configuration
+@Profile(value = {"local-lucene"})
+public class LuceneSearchConfiguration {
+
+  @Value("${repo.search.lucene.indexDirectory:${user.home}/.vorto/search-index}")
+  private String indexDirectory;
+
+  @Autowired
+  private IModelRepositoryFactory repositoryFactory;
+
+  @Autowired
+  private ITenantService tenantService;
+
+  @Bean(destroyMethod = "close")
+  public LuceneSearchService luceneSearch() throws IOException {
+    return new LuceneSearchService(FSDirectory.open(Paths.get(indexDirectory)), repositoryFactory,
+        tenantService);
+  }
+}
@@ -49,6 +49,12 @@ public class RepositoryConfiguration extends BaseConfiguration {
 
   @Value("${repo.configFile}")
   private String repositoryConfigFile = null;
+
+  @Value("${repo.search.simple.parallelism:8}")
+  private int simpleSearchParallelism;
+
+  @Value("${repo.search.simple.tenantTimeoutMillis:30000}")
+  private long simpleSearchTenantTimeoutMillis;
   
   @Autowired
   private ITenantService tenantService;
@@ -77,7 +83,10 @@ public class RepositoryConfiguration extends BaseConfiguration {
   @Bean
   @Profile(value = {"local","local-test", "local-https", "local-dev-simplesearch"})
   public SimpleSearchService simpleSearch() {
-    return new SimpleSearchService(this.tenantService, this.repositoryFactory);
+    SimpleSearchService searchService = new SimpleSearchService(this.tenantService,
+        this.repositoryFactory, simpleSearchParallelism);
+    searchService.setTenantTimeoutMillis(simpleSearchTenantTimeoutMillis);
+    return searchService;
   }
   
   @Bean
@@ -12,8 +12,6 @@
  */
 package org.eclipse.vorto.utilities.reader;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -34,9 +32,7 @@ import org.eclipse.vorto.editor.infomodel.InformationModelStandaloneSetup;
 import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
 import org.eclipse.vorto.model.ModelType;
 import org.eclipse.xtext.EcoreUtil2;
-import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
-import com.google.inject.Injector;
 
 public class ModelWorkspaceReader {
 
@@ -45,6 +41,8 @@ public class ModelWorkspaceReader {
   private List<WorkspaceZipReader> zipReaders =
       new ArrayList<ModelWorkspaceReader.WorkspaceZipReader>();
 
+  private boolean parallel = false;
+
   public ModelWorkspaceReader() {
     this.fileReader = new WorkspaceFileReader();
   }
@@ -69,10 +67,19 @@ public class ModelWorkspaceReader {
     return this;
   }
 
+  /**
+   * Parses the files of this reader concurrently before linking them. Worthwhile for workspaces
+   * made up of many files, e.g. bulk imports.
+   */
+  public ModelWorkspaceReader parallel() {
+    this.parallel = true;
+    return this;
+  }
+
   public IModelWorkspace read() {
     DefaultModelWorkspace workspace = new DefaultModelWorkspace();
-    workspace.addModels(fileReader.read());
-    zipReaders.stream().forEach(x -> workspace.addModels(x.read()));
+    workspace.addModels(fileReader.read(parallel));
+    zipReaders.stream().forEach(x -> workspace.addModels(x.read(parallel)));
     return workspace;
   }
 
@@ -83,23 +90,20 @@ public class ModelWorkspaceReader {
       this.zis = zis;
     }
 
-    public List<Model> read() {
+    public List<Model> read(boolean parallel) {
       ZipEntry entry = null;
 
-      Injector injector = new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
-      XtextResourceSet resourceSet = injector.getInstance(XtextResourceSet.class);
-      resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
-      resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+      XtextResourceSet resourceSet = XtextResourceSetFactory.createResourceSet();
 
       List<Resource> infoModelResources = new ArrayList<>();
       try {
+        List<URI> uris = new ArrayList<>();
+        List<byte[]> contents = new ArrayList<>();
         while ((entry = zis.getNextEntry()) != null) {
-          Resource resource = resourceSet.createResource(URI.createURI("fake:/" + entry.getName()));
-          ByteArrayOutputStream baos = new ByteArrayOutputStream();
-          IOUtils.copy(zis, baos);
-          resource.load(new ByteArrayInputStream(baos.toByteArray()), resourceSet.getLoadOptions());
-          infoModelResources.add(resource);
+          uris.add(URI.createURI("fake:/" + entry.getName()));
+          contents.add(IOUtils.toByteArray(zis));
         }
+        infoModelResources.addAll(XtextResourceLoader.load(resourceSet, uris, contents, parallel));
       } catch (Exception ex) {
         throw new RuntimeException("Problem reading zip file", ex);
       }
@@ -118,23 +122,20 @@ public class ModelWorkspaceReader {
       files.add(new ModelFile(input, type));
     }
 
-    public List<Model> read() {
-      Injector injector = new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
-      XtextResourceSet resourceSet = injector.getInstance(XtextResourceSet.class);
-      resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
-      resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+    public List<Model> read(boolean parallel) {
+      XtextResourceSet resourceSet = XtextResourceSetFactory.createResourceSet();
 
       List<Resource> infoModelResources = new ArrayList<>();
 
       try {
+        List<URI> uris = new ArrayList<>();
+        List<byte[]> contents = new ArrayList<>();
         for (ModelFile modelFile : files) {
-          Resource resource = resourceSet.createResource(URI.createURI(
+          uris.add(URI.createURI(
               "fake:/" + UUID.randomUUID().toString() + modelFile.getType().getExtension()));
-          ByteArrayOutputStream baos = new ByteArrayOutputStream();
-          IOUtils.copy(modelFile.getIs(), baos);
-          resource.load(new ByteArrayInputStream(baos.toByteArray()), resourceSet.getLoadOptions());
-          infoModelResources.add(resource);
+          contents.add(IOUtils.toByteArray(modelFile.getIs()));
         }
+        infoModelResources.addAll(XtextResourceLoader.load(resourceSet, uris, contents, parallel));
       } catch (IOException ex) {
         throw new RuntimeException("Problem reading zip file", ex);
       }
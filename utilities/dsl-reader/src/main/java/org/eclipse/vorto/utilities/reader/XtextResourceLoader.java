@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.utilities.reader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+
+/**
+ * Loads a batch of DSL files into a resource set.
+ *
+ * In parallel mode, the files are split into chunks, each of which is parsed on a worker thread
+ * into a resource set of its own, without resolving any cross references. The parsed resources
+ * are then moved into the target resource set in the order they were given and only linked
+ * there, once all of them are available. Callers pass the files in dependency order where it is
+ * known, so that linking sees the referenced models first.
+ */
+public final class XtextResourceLoader {
+
+  private static final int MIN_FILES_PER_THREAD = 2;
+
+  private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+  private XtextResourceLoader() {
+  }
+
+  /**
+   * @param resourceSet the resource set to load the files into
+   * @param uris the uris of the resources to create
+   * @param contents the contents of the files, in the same order as the uris
+   * @param parallel whether independent files may be parsed concurrently
+   * @return the loaded resources in the order of the given uris. An element is null, if no
+   *         resource could be created for its uri.
+   * @throws IOException if one of the files could not be read
+   */
+  public static List<Resource> load(XtextResourceSet resourceSet, List<URI> uris,
+      List<byte[]> contents, boolean parallel) throws IOException {
+    int chunks = parallel ? Math.min(PARALLELISM,
+        (uris.size() + MIN_FILES_PER_THREAD - 1) / MIN_FILES_PER_THREAD) : 1;
+    if (chunks <= 1) {
+      return loadInto(resourceSet, uris, contents, resourceSet.getLoadOptions());
+    }
+
+    Map<Object, Object> parseOptions = new HashMap<>(resourceSet.getLoadOptions());
+    parseOptions.remove(XtextResource.OPTION_RESOLVE_ALL);
+
+    List<Future<List<Resource>>> parsed = new ArrayList<>(chunks);
+    int chunkSize = (uris.size() + chunks - 1) / chunks;
+    for (int from = 0; from < uris.size(); from += chunkSize) {
+      int to = Math.min(from + chunkSize, uris.size());
+      // created on the calling thread, so that language setup never happens on a worker
+      XtextResourceSet chunkResourceSet = XtextResourceSetFactory.createResourceSet();
+      List<URI> chunkUris = uris.subList(from, to);
+      List<byte[]> chunkContents = contents.subList(from, to);
+      parsed.add(ExecutorHolder.EXECUTOR
+          .submit(() -> loadInto(chunkResourceSet, chunkUris, chunkContents, parseOptions)));
+    }
+
+    List<Resource> resources = new ArrayList<>(uris.size());
+    for (Future<List<Resource>> chunk : parsed) {
+      resources.addAll(get(chunk));
+    }
+
+    for (Resource resource : resources) {
+      if (resource != null) {
+        resourceSet.getResources().add(resource);
+      }
+    }
+
+    if (Boolean.TRUE.equals(resourceSet.getLoadOptions().get(XtextResource.OPTION_RESOLVE_ALL))) {
+      for (Resource resource : resources) {
+        if (resource != null) {
+          EcoreUtil.resolveAll(resource);
+        }
+      }
+    }
+    return resources;
+  }
+
+  private static List<Resource> loadInto(XtextResourceSet resourceSet, List<URI> uris,
+      List<byte[]> contents, Map<?, ?> options) throws IOException {
+    List<Resource> resources = new ArrayList<>(uris.size());
+    for (int i = 0; i < uris.size(); i++) {
+      Resource resource = resourceSet.createResource(uris.get(i));
+      if (resource != null) {
+        resource.load(new ByteArrayInputStream(contents.get(i)), options);
+      }
+      resources.add(resource);
+    }
+    return resources;
+  }
+
+  private static List<Resource> get(Future<List<Resource>> chunk) throws IOException {
+    try {
+      return chunk.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while parsing model files", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      } else if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IOException("Problem parsing model files", e.getCause());
+    }
+  }
+
+  private static final class ExecutorHolder {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR =
+        Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+          Thread thread = new Thread(runnable, "dsl-parser-" + THREAD_COUNT.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+}
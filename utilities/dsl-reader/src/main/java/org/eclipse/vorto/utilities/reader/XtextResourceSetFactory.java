@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.utilities.reader;
+
+import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import com.google.inject.Injector;
+
+/**
+ * Creates resource sets for reading Vorto DSL files from a single, process wide injector.
+ *
+ * Creating the injector (and doing the EMF registration) is expensive, whereas resource sets are
+ * cheap to create. Resource sets are not recycled, because the models read into them keep using
+ * their resource set afterwards, e.g. for serializing them back to DSL.
+ */
+public final class XtextResourceSetFactory {
+
+  private XtextResourceSetFactory() {
+  }
+
+  /**
+   * @return the shared injector of the mapping language, which includes all other Vorto languages
+   */
+  public static Injector getInjector() {
+    return InjectorHolder.INJECTOR;
+  }
+
+  /**
+   * @return a new resource set, that resolves all references and reads files as UTF-8
+   */
+  public static XtextResourceSet createResourceSet() {
+    XtextResourceSet resourceSet = getInjector().getInstance(XtextResourceSet.class);
+    resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
+    resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+    return resourceSet;
+  }
+
+  private static final class InjectorHolder {
+    private static final Injector INJECTOR =
+        new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
+  }
+}
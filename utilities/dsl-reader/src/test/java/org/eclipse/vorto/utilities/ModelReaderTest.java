@@ -121,6 +121,36 @@ public class ModelReaderTest {
     assertEquals(10, workspace.get().size());
   }
 
+  @Test
+  public void testReadMultipleZipFilesInParallel() {
+    IModelWorkspace workspace = IModelWorkspace.newReader().parallel()
+        .addZip(new ZipInputStream(getClass().getClassLoader().getResourceAsStream("mappings.zip")))
+        .addZip(new ZipInputStream(getClass().getClassLoader().getResourceAsStream("models.zip")))
+        .read();
+
+    assertEquals(10, workspace.get().size());
+  }
+
+  @Test
+  public void testFlatInheritanceIMInParallel() {
+    IModelWorkspace workspace = IModelWorkspace.newReader().parallel()
+        .addFile(getClass().getClassLoader().getResourceAsStream("dsls/TestModel.infomodel"),
+            ModelType.InformationModel)
+        .addFile(getClass().getClassLoader().getResourceAsStream("dsls/SomeFb.fbmodel"),
+            ModelType.Functionblock)
+        .addFile(getClass().getClassLoader().getResourceAsStream("dsls/SuperFb.fbmodel"),
+            ModelType.Functionblock)
+        .addFile(getClass().getClassLoader().getResourceAsStream("dsls/SuperSuperFb.fbmodel"),
+            ModelType.Functionblock)
+        .read();
+
+    InformationModel infomodel =
+        ModelConversionUtils.convertToFlatHierarchy((InformationModel) workspace.get().get(0));
+    assertEquals("TestModel", infomodel.getName());
+    assertEquals(4, infomodel.getProperties().get(0).getType().getFunctionblock().getStatus()
+        .getProperties().size());
+  }
+
   @Test
   public void testFlatInheritanceFB() {
     IModelWorkspace workspace = IModelWorkspace.newReader()